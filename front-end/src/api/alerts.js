@@ -1,5 +1,5 @@
 // front-end/src/api/alerts.js
-import api from "../api";
+import api, { API_BASE } from "../api";
 
 // XSRF helpers (mirror approach used elsewhere)
 const getXsrfToken = () =>
@@ -25,6 +25,7 @@ export async function listAlerts({
   empCode,
   from,             // YYYY-MM-DD
   to,               // YYYY-MM-DD
+  cursor,           // X-Next-Cursor of the previous page
   limit = 200,
 } = {}) {
   const params = {};
@@ -41,12 +42,33 @@ export async function listAlerts({
   }
   if (from) params.from = from;
   if (to) params.to = to;
+  if (cursor) params.cursor = cursor;
   params.limit = Math.max(1, Math.min(+limit || 200, 2000));
 
   const res = await api.get("/api/v1/alerts", { params, withCredentials: true });
   return res.data;
 }
 
+/**
+ * Subscribe to pushed alert changes (SSE). `onChange` gets each
+ * { seq, action, type, ids, count, at }; a server "reset" (missed too much
+ * while disconnected) is reported as { action: "reset" }. The browser
+ * reconnects on its own and resumes via Last-Event-ID. Returns an unsubscribe fn.
+ */
+export function subscribeAlerts(onChange) {
+  if (typeof EventSource === "undefined") return () => {};
+  const es = new EventSource(`${API_BASE}/api/v1/alerts/stream`, { withCredentials: true });
+  es.addEventListener("alert", (ev) => {
+    try {
+      onChange?.(JSON.parse(ev.data));
+    } catch (_) {
+      // ignore malformed frames
+    }
+  });
+  es.addEventListener("reset", () => onChange?.({ action: "reset" }));
+  return () => es.close();
+}
+
 /** Fetch one alert by id */
 export async function getAlert(id) {
   const { data } = await api.get(`/api/v1/alerts/${id}`, { withCredentials: true });
@@ -79,6 +101,34 @@ export async function resolveAlert(id) {
   return data;
 }
 
+/**
+ * Bulk acknowledge / resolve. `selection` is { ids: [...] } or a filter
+ * { types, from, to, employeeId, empCode }. Resolves to the counts.
+ */
+export async function ackAlerts(selection, by = "system") {
+  await ensureXsrf();
+  const token = getXsrfToken();
+  const headers = token ? { "X-XSRF-TOKEN": decodeURIComponent(token) } : {};
+  const { data } = await api.post(
+    `/api/v1/alerts/bulk/ack`,
+    { ...selection, by },
+    { withCredentials: true, headers }
+  );
+  return data;
+}
+
+export async function resolveAlerts(selection) {
+  await ensureXsrf();
+  const token = getXsrfToken();
+  const headers = token ? { "X-XSRF-TOKEN": decodeURIComponent(token) } : {};
+  const { data } = await api.post(
+    `/api/v1/alerts/bulk/resolve`,
+    selection,
+    { withCredentials: true, headers }
+  );
+  return data;
+}
+
 /** Batch runners (optional) */
 export async function runNoHours(scope = "this-week") {
   const { data } = await api.post(`/api/v1/alerts/run/no-hours`, null, { params: { scope }, withCredentials: true });
@@ -35,6 +35,8 @@ export async function normalizePaycom() {
   return data;
 }
 
+// Manual full refresh. Imports no longer call this: the server re-evaluates
+// the imported employees/days once the import commits.
 export async function recomputeAlerts(
   scopes = ["MISSED_PUNCH_LAST_BUSINESS_DAY", "NO_HOURS_THIS_WEEK_CT"]
 ) {
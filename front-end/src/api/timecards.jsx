@@ -5,7 +5,6 @@ import styles from "../stylesheets/GanttView.module.css"; // reuse existing styl
 import {
   uploadPaycom,
   normalizePaycom,
-  recomputeAlerts,
   rebuildPredictions,
 } from "../api/timecards";
 
@@ -16,11 +15,9 @@ export default function TimecardsImport() {
 
   const [result, setResult] = useState(null);
   const [normalizeOut, setNormalizeOut] = useState(null);
-  const [alertsOut, setAlertsOut] = useState(null);
   const [rebuildOut, setRebuildOut] = useState(null);
 
   const [alsoNormalize, setAlsoNormalize] = useState(true);
-  const [alsoRecompute, setAlsoRecompute] = useState(true);
 
   const navigate = useNavigate();
 
@@ -34,7 +31,6 @@ export default function TimecardsImport() {
     setError(null);
     setResult(null);
     setNormalizeOut(null);
-    setAlertsOut(null);
     setRebuildOut(null);
 
     if (!file) {
@@ -51,10 +47,6 @@ export default function TimecardsImport() {
         const norm = await normalizePaycom();
         setNormalizeOut(norm);
       }
-      if (alsoRecompute) {
-        const alerts = await recomputeAlerts();
-        setAlertsOut(alerts);
-      }
     } catch (err) {
       setError(err?.response?.data?.message || err.message || "Upload failed");
     } finally {
@@ -117,15 +109,6 @@ export default function TimecardsImport() {
                 />{" "}
                 Normalize zero-dates/NULLs after upload
               </label>
-              <label style={{ fontSize: 13 }}>
-                <input
-                  type="checkbox"
-                  checked={alsoRecompute}
-                  onChange={(e) => setAlsoRecompute(e.target.checked)}
-                  disabled={busy}
-                />{" "}
-                Recompute alerts (Missed Punch + No-Hours Week)
-              </label>
             </div>
 
             <div style={{ marginTop: 12 }}>
@@ -213,19 +196,6 @@ export default function TimecardsImport() {
               </div>
             )}
 
-            {alertsOut && (
-              <div className={styles.metaBox} style={{ marginTop: 16 }}>
-                <div>
-                  <strong>Missed Punch created:</strong>{" "}
-                  {alertsOut.missedPunchCreated ?? 0}
-                </div>
-                <div>
-                  <strong>No-Hours Week created:</strong>{" "}
-                  {alertsOut.noHoursCreated ?? 0}
-                </div>
-              </div>
-            )}
-
             {rebuildOut && (
               <div className={styles.metaBox} style={{ marginTop: 16 }}>
                 <div>
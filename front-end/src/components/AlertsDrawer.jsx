@@ -1,5 +1,6 @@
 import React, { useEffect, useMemo, useState } from "react";
 import { useAlerts } from "../context/AlertsContext";
+import { subscribeAlerts } from "../api/alerts";
 import styles from "../stylesheets/AlertsDrawer.module.css";
 
 /**
@@ -53,6 +54,21 @@ export default function AlertsDrawer({ open, onClose }) {
     // eslint-disable-next-line react-hooks/exhaustive-deps
   }, [open]);
 
+  // while open, reload when the server pushes a change (coalesced)
+  useEffect(() => {
+    if (!open) return;
+    let timer = null;
+    const unsubscribe = subscribeAlerts(() => {
+      clearTimeout(timer);
+      timer = setTimeout(() => refreshList(), 500);
+    });
+    return () => {
+      clearTimeout(timer);
+      unsubscribe();
+    };
+    // eslint-disable-next-line react-hooks/exhaustive-deps
+  }, [open]);
+
   const toggle = (id) =>
     setSelected((s) =>
       s.includes(id) ? s.filter((x) => x !== id) : [...s, id]
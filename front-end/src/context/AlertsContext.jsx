@@ -5,7 +5,13 @@ import React, {
   useRef,
   useState,
 } from "react";
-import { ackAlert, listAlerts, resolveAlert } from "../api/alerts";
+import {
+  ackAlert,
+  ackAlerts,
+  listAlerts,
+  resolveAlert,
+  resolveAlerts,
+} from "../api/alerts";
 
 const AlertsCtx = createContext(null);
 
@@ -172,7 +178,7 @@ export function AlertsProvider({ children }) {
   async function ackBulk(ids) {
     if (!ids?.length) return;
     try {
-      await Promise.all(ids.map((id) => ackAlert(id, "ui")));
+      await ackAlerts({ ids }, "ui");
       const setIds = new Set(ids);
       setList((cur) =>
         cur.map((a) =>
@@ -188,7 +194,7 @@ export function AlertsProvider({ children }) {
   async function resolveBulk(ids) {
     if (!ids?.length) return;
     try {
-      await Promise.all(ids.map((id) => resolveAlert(id)));
+      await resolveAlerts({ ids });
       const setIds = new Set(ids);
       setList((cur) =>
         cur.map((a) =>
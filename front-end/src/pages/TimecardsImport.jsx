@@ -77,9 +77,7 @@ export default function TimecardsImport({ onExport, onOpenBatch }) {
 
   // optional extras
   const [normalizeOut, setNormalizeOut] = useState(null);
-  const [alertsOut, setAlertsOut] = useState(null);
   const [alsoNormalize, setAlsoNormalize] = useState(true);
-  const [alsoRecompute, setAlsoRecompute] = useState(true);
   const [replaceAll, setReplaceAll] = useState(false);
   const [rebuildOut, setRebuildOut] = useState(null);
 
@@ -130,21 +128,11 @@ export default function TimecardsImport({ onExport, onOpenBatch }) {
     return res.data; // { normalized:true, zeroDatesFixed:n }
   }
 
-  async function recomputeAlerts() {
-    const res = await postWithCsrf(
-      "/api/v1/alerts/refresh",
-      { scopes: ["MISSED_PUNCH_LAST_BUSINESS_DAY", "NO_HOURS_THIS_WEEK_CT"] },
-      { withCredentials: true }
-    );
-    return res.data; // { missedPunchCreated:n, noHoursCreated:n }
-  }
-
   async function onUpload(e) {
     e.preventDefault();
     setError(null);
     setResult(null);
     setNormalizeOut(null);
-    setAlertsOut(null);
     setRebuildOut(null);
     setUploadProgress(0);
     setProgressMessage("");
@@ -174,18 +162,8 @@ export default function TimecardsImport({ onExport, onOpenBatch }) {
         }
       }
 
-      // 3) optionally recompute alert detections
-      if (alsoRecompute) {
-        setProgressMessage("Recomputing alerts...");
-        setUploadProgress(0);
-        try {
-          const alerts = await recomputeAlerts();
-          setAlertsOut(alerts);
-        } catch (alertErr) {
-          console.warn("Alert recompute failed (non-critical):", alertErr);
-          // Continue anyway - alerts are optional
-        }
-      }
+      // alerts for the imported employees/days are re-evaluated server-side
+      // once the import commits (ImportAlertRefresher)
 
       setProgressMessage("All done!");
       setUploadProgress(100);
@@ -283,15 +261,6 @@ export default function TimecardsImport({ onExport, onOpenBatch }) {
                 />{" "}
                 Normalize zero-dates/NULLs after upload
               </label>
-              <label>
-                <input
-                  type="checkbox"
-                  checked={alsoRecompute}
-                  onChange={(e) => setAlsoRecompute(e.target.checked)}
-                  disabled={busy}
-                />{" "}
-                Recompute alerts (Missed Punch + No-Hours Week)
-              </label>
             </div>
 
             <div className={styles.buttonRow}>
@@ -399,20 +368,6 @@ export default function TimecardsImport({ onExport, onOpenBatch }) {
               </div>
             )}
 
-            {/* Alerts recompute summary */}
-            {alertsOut && (
-              <div className={styles.metaBox}>
-                <div>
-                  <strong>Missed Punch created:</strong>{" "}
-                  {alertsOut.missedPunchCreated ?? 0}
-                </div>
-                <div>
-                  <strong>No-Hours Week created:</strong>{" "}
-                  {alertsOut.noHoursCreated ?? 0}
-                </div>
-              </div>
-            )}
-
             {/* Gantt prediction rebuild summary (existing) */}
             {rebuildOut && (
               <div className={styles.metaBox}>
@@ -44,7 +44,7 @@ public class SecurityConfig {
                                 "Authorization", "Content-Type", "X-Requested-With", "Accept", "Origin",
                                 "X-CSRF-TOKEN", "X-XSRF-TOKEN", "XSRF-TOKEN" // ← allow common CSRF headers
                 ));
-                cfg.setExposedHeaders(List.of("Set-Cookie"));
+                cfg.setExposedHeaders(List.of("Set-Cookie", "X-Next-Cursor")); // alerts list keyset paging
 
                 UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
                 source.registerCorsConfiguration("/**", cfg);
@@ -64,11 +64,13 @@ public class SecurityConfig {
                                                 .ignoringRequestMatchers(
                                                                 "/api/v1/auth/**",
                                                                 "/api/v1/timecards/import",
+                                                                "/api/v1/timecards/import/zip",
                                                                 "/api/v1/timecards/normalize",
                                                                 "/api/v1/alerts/refresh",
                                                                 "/api/v1/timecards/predict/rebuild",
                                                                 "/api/v1/field-import/upload",
                                                                 "/api/v1/timecards/latest-by-emp",
+                                                                "/api/v2/timecards/latest-by-emp",
                                                                 "/api/v1/timecards/current-assignments/by-emp",
                                                                 "/api/v1/employee/details-by-emp",
                                                                 "/api/v1/batch-sync/**"))
@@ -0,0 +1,35 @@
+package com.cec.EmployeeDB.Config;
+
+import com.cec.EmployeeDB.Service.TimecardDataVersion;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Conditional GETs for the timecard reads: the ETag is the data version, so a
+ * matching If-None-Match is answered with 304 before the controller (and the
+ * database) is reached.
+ */
+@Component
+@RequiredArgsConstructor
+public class TimecardEtagInterceptor implements HandlerInterceptor {
+
+    private final TimecardDataVersion dataVersion;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+            @NonNull Object handler) {
+        if (!"GET".equals(request.getMethod())) {
+            return true;
+        }
+        String etag = dataVersion.etag();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        response.setHeader(HttpHeaders.ETAG, etag);
+        return !new ServletWebRequest(request, response).checkNotModified(etag);
+    }
+}
@@ -2,6 +2,7 @@ package com.cec.EmployeeDB.Config;
 
 import org.springframework.context.annotation.Configuration;
 import org.springframework.format.FormatterRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.lang.NonNull;
 import java.util.Objects;
@@ -10,13 +11,25 @@ import java.util.Objects;
 public class WebConfigurer implements WebMvcConfigurer {
 
     private final LocalDateFormatter localDateFormatter;
+    private final TimecardEtagInterceptor timecardEtagInterceptor;
 
-    public WebConfigurer(LocalDateFormatter localDateFormatter) {
+    public WebConfigurer(LocalDateFormatter localDateFormatter, TimecardEtagInterceptor timecardEtagInterceptor) {
         this.localDateFormatter = localDateFormatter;
+        this.timecardEtagInterceptor = timecardEtagInterceptor;
     }
 
     @Override
     public void addFormatters(@NonNull FormatterRegistry registry) {
         registry.addFormatter(Objects.requireNonNull(localDateFormatter, "localDateFormatter cannot be null"));
     }
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        // /options has its own content ETag (TimecardFilterOptions)
+        registry.addInterceptor(timecardEtagInterceptor).addPathPatterns(
+                "/api/v1/timecards/range",
+                "/api/v1/timecards/range/paged",
+                "/api/v1/timecards/spans",
+                "/api/v1/timecards/search");
+    }
 }
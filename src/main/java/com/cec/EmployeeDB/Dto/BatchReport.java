@@ -13,6 +13,7 @@ public class BatchReport {
   @Builder.Default private Totals totals = new Totals();
   @Builder.Default private List<ChangeRow> changes = new ArrayList<>();
   @Builder.Default private List<ErrorRow> errors = new ArrayList<>();
+  private Map<String, Long> phaseMillis; // import timings, when produced by a file ingest
 
   @Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
   public static class Totals {
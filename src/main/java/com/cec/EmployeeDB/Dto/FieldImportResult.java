@@ -11,6 +11,7 @@ public class FieldImportResult {
     private String message;
     private List<Map<String, Object>> updatedEmployees;
     private List<Map<String, Object>> insertedEmployees;
+    private Map<String, Long> phaseMillis;
 
     public FieldImportResult() {}
 
@@ -42,4 +43,7 @@ public class FieldImportResult {
 
     public List<Map<String, Object>> getInsertedEmployees() { return insertedEmployees; }
     public void setInsertedEmployees(List<Map<String, Object>> insertedEmployees) { this.insertedEmployees = insertedEmployees; }
+
+    public Map<String, Long> getPhaseMillis() { return phaseMillis; }
+    public void setPhaseMillis(Map<String, Long> phaseMillis) { this.phaseMillis = phaseMillis; }
 }
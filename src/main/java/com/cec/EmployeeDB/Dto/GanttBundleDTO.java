@@ -0,0 +1,24 @@
+package com.cec.EmployeeDB.Dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.*;
+
+import java.util.List;
+import java.util.Map;
+
+/** Everything the Gantt board needs for one date window, fetched in one request. */
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor @Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class GanttBundleDTO {
+  private String startDate;
+  private String endDate;
+  // Employee codes the per-employee parts (predictions, assignments) were computed for
+  private List<String> employeeCodes;
+  private List<TimecardDTO> timecards;
+  private List<TransferDto> transfers;
+  // key = empCode
+  private Map<String, LastWorkedPredictionDTO> predictions;
+  private List<CurrentAssignmentDTO> currentAssignments;
+  // part name -> message, for parts that failed (the rest are still returned)
+  private Map<String, String> errors;
+}
@@ -1,14 +1,33 @@
 package com.cec.EmployeeDB.Dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.*;
 
+import java.util.List;
+import java.util.Map;
+
 @Getter @Setter
 @Builder
 @NoArgsConstructor @AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class ImportResultDTO {
   private long batchId;
   private int total;
   private int inserted;
   private int duplicates;
   private int errors;
+  // CSV imports: staged rows skipped because their (employee, day) group was unchanged
+  private Integer unchanged;
+
+  // Multi-file (ZIP) imports: source entry name and failure message, per file
+  private String fileName;
+  private String error;
+  // Multi-file (ZIP) imports: one result per archive entry; top-level counts are the sums
+  private List<ImportResultDTO> files;
+  // Wall-clock ms per import phase (load_data, insert_select, ...) plus "total"
+  private Map<String, Long> phaseMillis;
+
+  public static ImportResultDTO empty() {
+    return ImportResultDTO.builder().batchId(0L).build();
+  }
 }
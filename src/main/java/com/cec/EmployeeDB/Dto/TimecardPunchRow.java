@@ -0,0 +1,22 @@
+// src/main/java/com/cec/EmployeeDB/Dto/TimecardPunchRow.java
+package com.cec.EmployeeDB.Dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** One punch row for the v2 timecard API; replaces the aliased maps of /raw and /by-emp. */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record TimecardPunchRow(
+        String eeCode,
+        LocalDate workDate,
+        LocalDateTime inPunch,
+        LocalDateTime outPunch,
+        String jobCode,
+        String jobDesc,
+        String activityCode,
+        String activityDesc,
+        BigDecimal hours) {
+}
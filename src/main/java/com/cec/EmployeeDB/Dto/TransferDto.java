@@ -1,5 +1,6 @@
 package com.cec.EmployeeDB.Dto;
 
+import com.cec.EmployeeDB.Entity.Transfer;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.math.BigDecimal;
@@ -54,4 +55,59 @@ public record TransferDto(
                 @JsonProperty("eff_key") LocalDate effKey,
                 @JsonProperty("from_jobsite_key") String fromJobsiteKey,
                 @JsonProperty("to_jobsite_key") String toJobsiteKey) {
+
+        /** Entity -> DTO; shared by the transfers API and the Gantt bundle. */
+        public static TransferDto from(Transfer t) {
+            if (t == null)
+                return null;
+
+            return new TransferDto(
+                    t.getTransferId(),
+                    t.getEmpCode(),
+                    t.getXid(),
+                    t.getEmpName(),
+                    t.getClassification(),
+                    t.getFromJobsite(),
+                    t.getToJobsite(),
+                    t.getEffectiveDate(),
+                    t.getRateHourly(),
+                    t.getRateType() != null ? t.getRateType().name() : null,
+                    t.getEvaluationScore(),
+                    t.getNotes(),
+                    t.getEmail(),
+                    t.getLicense1(),
+                    t.getLicense2(),
+                    t.getLicense3(),
+                    t.getLicense4(),
+                    t.getContactPhone(),
+                    t.getLocationCity(),
+                    t.getLocationState(),
+                    t.getSheetDate(),
+                    t.getLastPayChange(),
+                    t.getHireDate(),
+                    t.getBadging(),
+                    t.getLevel1Status(),
+                    t.getScissorLiftStatus(),
+                    t.getCorrectiveAction(),
+                    t.getLanguage(),
+                    t.getGroup(),
+                    t.getNewGroup(),
+                    t.getJobsitesOfInterest(),
+                    t.getUpdates(),
+                    t.getNewHireFollowUp(),
+                    t.getOsha10Date(),
+                    t.getOsha30Date(),
+                    t.getTransferStatus(),
+                    t.getTerm(),
+                    t.getPerDiem(),
+                    t.getSourceFile(),
+                    t.getTravelPreference(),
+                    t.getIsArchived(),
+                    t.getCreatedAt(),
+                    t.getUpdatedAt(),
+                    t.getEmpCodeNormKey(),
+                    t.getEffKey(),
+                    t.getFromJobsiteKey(),
+                    t.getToJobsiteKey());
+        }
 }
@@ -0,0 +1,20 @@
+// src/main/java/com/cec/EmployeeDB/Dto/WeekDetailRow.java
+package com.cec.EmployeeDB.Dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/** One row of an employee week (v2 /week-detail). */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record WeekDetailRow(
+        LocalDate workDate,
+        String projectCode,
+        String projectDesc,
+        String activity,
+        LocalDateTime inPunch,
+        LocalDateTime outPunch,
+        BigDecimal hours) {
+}
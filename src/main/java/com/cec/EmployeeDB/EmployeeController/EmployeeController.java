@@ -20,6 +20,7 @@ import com.cec.EmployeeDB.Repo.EmployeeFileRepository;
 import com.cec.EmployeeDB.Repo.EmployeeRepo;
 import com.cec.EmployeeDB.Service.EmployeeDetailsService;
 import com.cec.EmployeeDB.Service.EmployeeService;
+import com.cec.EmployeeDB.Service.TimecardDataVersion;
 import com.cec.EmployeeDB.payloadresponse.LoginMessage;
 import jakarta.persistence.EntityNotFoundException;
 import org.slf4j.Logger;
@@ -50,17 +51,20 @@ public class EmployeeController {
     private final EmployeeRepo employeeRepo;
     // field
     private final EmployeeDetailsService employeeDetailsService;
+    private final TimecardDataVersion timecardVersion;
 
     // constructor: add the new param and assign
     public EmployeeController(
             @Qualifier("employeeServiceImpl") EmployeeService employeeService,
             EmployeeFileRepository employeeFileRepository,
             EmployeeRepo employeeRepo,
-            EmployeeDetailsService employeeDetailsService) {
+            EmployeeDetailsService employeeDetailsService,
+            TimecardDataVersion timecardVersion) {
         this.employeeService = employeeService;
         this.employeeFileRepository = employeeFileRepository;
         this.employeeRepo = employeeRepo;
         this.employeeDetailsService = employeeDetailsService;
+        this.timecardVersion = timecardVersion;
     }
 
     @InitBinder
@@ -309,6 +313,7 @@ public class EmployeeController {
         }
 
         employeeRepo.save(Objects.requireNonNull(e, "employee cannot be null"));
+        timecardVersion.bumpAfterCommit();
         return ResponseEntity.ok(Map.of("status", "ok"));
     }
 
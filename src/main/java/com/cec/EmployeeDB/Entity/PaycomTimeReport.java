@@ -14,7 +14,8 @@ import java.time.LocalDate;
          @Index(name="idx_paycom_earncode", columnList="earn_code"),
          @Index(name="idx_paycom_home_job", columnList="home_job_code"),
          @Index(name="idx_paycom_dist_job", columnList="dist_job_code"),
-         @Index(name="idx_paycom_work_date", columnList="work_date")
+         @Index(name="idx_paycom_work_date", columnList="work_date"),
+         @Index(name="idx_paycom_import_batch", columnList="import_batch_id")
        },
        uniqueConstraints = {
          @UniqueConstraint(name="ux_paycom_rowhash", columnNames = "raw_row_hash")
@@ -0,0 +1,27 @@
+package com.cec.EmployeeDB.Entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/** Week bucket row for a punch (see V4__timecard_week_buckets.sql); maintained by TimecardWeekBuckets. */
+@Entity
+@Table(name = "timecard_punch_week")
+@IdClass(TimecardPunchWeek.Key.class)
+@Getter @Setter @NoArgsConstructor @AllArgsConstructor
+public class TimecardPunchWeek {
+
+  @Id @Column(name = "week_start", nullable = false)
+  private LocalDate weekStart;
+
+  @Id @Column(name = "punch_id", nullable = false)
+  private Long punchId;
+
+  @Data @NoArgsConstructor @AllArgsConstructor
+  public static class Key implements Serializable {
+    private LocalDate weekStart;
+    private Long punchId;
+  }
+}
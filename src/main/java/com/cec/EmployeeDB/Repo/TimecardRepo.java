@@ -1,7 +1,9 @@
 package com.cec.EmployeeDB.Repo;
 
 import com.cec.EmployeeDB.Entity.Timecard;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.*;
@@ -10,13 +12,16 @@ import org.springframework.data.repository.query.Param;
 public interface TimecardRepo extends JpaRepository<Timecard, Long> {
 
     // ANY overlap with the window
-    // Uses JPQL for proper entity mapping, relies on database indexes for performance
+    // Candidates come from the week buckets (PK lookup on timecard_punch_week);
+    // weeks = TimecardWeekBuckets.punchWeeks(from, to). The exact predicate is re-applied.
     @Query("""
         select t from Timecard t
-        where t.inPunchTime < :to
+        where t.id in (select w.punchId from TimecardPunchWeek w where w.weekStart in :weeks)
+          and t.inPunchTime < :to
           and (t.outPunchTime is null or t.outPunchTime >= :from)
     """)
     Page<Timecard> findOverlapping(@Param("from") LocalDateTime from,
                                    @Param("to") LocalDateTime to,
+                                   @Param("weeks") Collection<LocalDate> weeks,
                                    Pageable pageable);
 }
@@ -0,0 +1,358 @@
+// src/main/java/com/cec/EmployeeDB/Service/EmployeePunchCache.java
+package com.cec.EmployeeDB.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Last N weeks of punches per employee, for the employee drawer
+ * ({@code /week-detail}, {@code /raw}, {@code /by-emp}, {@code /latest-by-emp}).
+ *
+ * One query loads an employee; the endpoints then slice the snapshot in
+ * memory. Snapshots are column arrays (epoch days/seconds, hundredths of an
+ * hour, dictionary-coded strings) sorted like the SQL paths
+ * ({@code work_date, in_punch_time}). Bounded LRU; entries are dropped when an
+ * import batch touches the employee or one of their punches is deleted, or
+ * after the TTL as a safety net.
+ */
+@Component
+@RequiredArgsConstructor
+public class EmployeePunchCache {
+
+    private static final String LOAD_SQL = """
+            SELECT
+              t.ee_code,
+              t.work_date,
+              t.in_punch_time,
+              t.out_punch_time,
+              COALESCE(t.dist_job_code, t.home_job_code, t.allocation_code)            AS job_code,
+              COALESCE(t.dist_job_desc, t.home_job_desc, t.dist_department_desc,
+                       t.home_department_desc)                                          AS job_desc,
+              COALESCE(t.dist_activity_code, t.home_activity_code)                      AS activity_code,
+              COALESCE(t.dist_activity_desc, t.home_activity_desc, t.earn_code)        AS activity_desc,
+              t.dist_job_code,
+              t.dist_job_desc,
+              t.earn_hours,
+              COALESCE(t.earn_hours, t.units, 0)                                        AS week_hours
+            FROM paycom_time_report t
+            WHERE UPPER(t.ee_code) = UPPER(?)
+              AND t.work_date >= ?
+            ORDER BY t.work_date, t.in_punch_time
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    @Value("${app.timecards.punch-cache.weeks:12}")
+    private int weeks;
+
+    @Value("${app.timecards.punch-cache.max-employees:500}")
+    private int maxEmployees;
+
+    @Value("${app.timecards.punch-cache.ttl-minutes:30}")
+    private long ttlMinutes;
+
+    // Bumped on every invalidation so a load racing an import is not stored
+    private final AtomicLong generation = new AtomicLong();
+
+    private final Map<String, Snapshot> entries = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Snapshot> eldest) {
+            return size() > Math.max(1, maxEmployees);
+        }
+    };
+
+    /**
+     * Snapshot for {@code eeCode} if it covers {@code from}; loads on miss.
+     * Returns null when {@code from} is older than the cached window, so the
+     * caller should fall back to its own query.
+     */
+    public Snapshot covering(String eeCode, LocalDate from) {
+        if (from == null || from.isBefore(windowStart())) {
+            return null;
+        }
+        return recent(eeCode);
+    }
+
+    /** Snapshot of the whole cached window for {@code eeCode}; loads on miss. */
+    public Snapshot recent(String eeCode) {
+        if (eeCode == null || eeCode.isBlank()) {
+            return null;
+        }
+        Snapshot cached = peek(eeCode);
+        if (cached != null) {
+            return cached;
+        }
+        long gen = generation.get();
+        Snapshot loaded = load(eeCode, windowStart(), System.currentTimeMillis());
+        synchronized (entries) {
+            if (generation.get() == gen) {
+                entries.put(key(eeCode), loaded);
+            }
+        }
+        return loaded;
+    }
+
+    /** Cached snapshot only; never hits the database. */
+    public Snapshot peek(String eeCode) {
+        if (eeCode == null) return null;
+        synchronized (entries) {
+            Snapshot s = entries.get(key(eeCode));
+            return s != null && s.loadedAtMillis + ttlMinutes * 60_000 > System.currentTimeMillis() ? s : null;
+        }
+    }
+
+    private LocalDate windowStart() {
+        return LocalDate.now().minusWeeks(Math.max(1, weeks));
+    }
+
+    public void evict(String eeCode) {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.remove(key(eeCode));
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onImported(TimecardsImportedEvent e) {
+        if (e.replacedAll()) {
+            clear();
+            return;
+        }
+        generation.incrementAndGet();
+        synchronized (entries) {
+            for (String ee : e.eeCodes()) {
+                entries.remove(key(ee));
+            }
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPunchDeleted(TimecardPunchDeletedEvent e) {
+        if (e.eeCode() == null) {
+            clear();
+        } else {
+            evict(e.eeCode());
+        }
+    }
+
+    private static String key(String eeCode) {
+        return eeCode.trim().toUpperCase(Locale.ROOT);
+    }
+
+    private Snapshot load(String eeCode, LocalDate from, long now) {
+        Snapshot.Builder b = new Snapshot.Builder(from, now);
+        jdbc.query(LOAD_SQL, rs -> {
+            Timestamp in = rs.getTimestamp("in_punch_time");
+            Timestamp out = rs.getTimestamp("out_punch_time");
+            b.add(rs.getString("ee_code"),
+                    rs.getObject("work_date", LocalDate.class),
+                    in != null ? in.toLocalDateTime() : null,
+                    out != null ? out.toLocalDateTime() : null,
+                    rs.getString("job_code"),
+                    rs.getString("job_desc"),
+                    rs.getString("activity_code"),
+                    rs.getString("activity_desc"),
+                    rs.getString("dist_job_code"),
+                    rs.getString("dist_job_desc"),
+                    rs.getBigDecimal("earn_hours"),
+                    rs.getBigDecimal("week_hours"));
+        }, eeCode, Date.valueOf(from));
+        return b.build();
+    }
+
+    /** Immutable, array-backed punches for one employee, ordered by work date then in-punch. */
+    public static final class Snapshot {
+        public static final int EE_CODE = 0, JOB_CODE = 1, JOB_DESC = 2, ACTIVITY_CODE = 3,
+                ACTIVITY_DESC = 4, DIST_JOB_CODE = 5, DIST_JOB_DESC = 6;
+        private static final int STRING_COLS = 7;
+        private static final long NONE = Long.MIN_VALUE;
+        // MySQL's DATETIME -> getString() rendering, used by the endpoints that pass punches through verbatim
+        private static final DateTimeFormatter SQL_DATETIME = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+        final LocalDate from;
+        final long loadedAtMillis;
+        private final int size;
+        private final int[] day;
+        private final long[] inSec;
+        private final long[] outSec;
+        private final long[] earnCents;
+        private final long[] weekCents;
+        private final int[][] str;
+        private final String[] dict;
+
+        private Snapshot(Builder b) {
+            this.from = b.from;
+            this.loadedAtMillis = b.loadedAtMillis;
+            this.size = b.size;
+            this.day = Arrays.copyOf(b.day, size);
+            this.inSec = Arrays.copyOf(b.inSec, size);
+            this.outSec = Arrays.copyOf(b.outSec, size);
+            this.earnCents = Arrays.copyOf(b.earnCents, size);
+            this.weekCents = Arrays.copyOf(b.weekCents, size);
+            this.str = new int[STRING_COLS][];
+            for (int c = 0; c < STRING_COLS; c++) {
+                this.str[c] = Arrays.copyOf(b.str[c], size);
+            }
+            this.dict = b.dict.toArray(String[]::new);
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /** Index of the first row with work_date >= start. */
+        public int lowerBound(LocalDate start) {
+            return bound(start.toEpochDay());
+        }
+
+        /** Index one past the last row with work_date <= end. */
+        public int upperBound(LocalDate end) {
+            return bound(end.toEpochDay() + 1);
+        }
+
+        private int bound(long epochDay) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (day[mid] < epochDay) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        public LocalDate workDate(int i) {
+            return LocalDate.ofEpochDay(day[i]);
+        }
+
+        public String text(int col, int i) {
+            int code = str[col][i];
+            return code < 0 ? null : dict[code];
+        }
+
+        public LocalDateTime in(int i) {
+            return time(inSec[i]);
+        }
+
+        public LocalDateTime out(int i) {
+            return time(outSec[i]);
+        }
+
+        /** Punch as {@code ResultSet.getString} would render it ("yyyy-MM-dd HH:mm:ss"). */
+        public String inRaw(int i) {
+            return inSec[i] == NONE ? null : SQL_DATETIME.format(in(i));
+        }
+
+        public String outRaw(int i) {
+            return outSec[i] == NONE ? null : SQL_DATETIME.format(out(i));
+        }
+
+        /** earn_hours (nullable). */
+        public BigDecimal earnHours(int i) {
+            return earnCents[i] == NONE ? null : BigDecimal.valueOf(earnCents[i], 2);
+        }
+
+        /** COALESCE(earn_hours, units, 0). */
+        public BigDecimal weekHours(int i) {
+            return BigDecimal.valueOf(weekCents[i], 2);
+        }
+
+        private static LocalDateTime time(long sec) {
+            return sec == NONE ? null : LocalDateTime.ofEpochSecond(sec, 0, ZoneOffset.UTC);
+        }
+
+        static final class Builder {
+            private final LocalDate from;
+            private final long loadedAtMillis;
+            private int size;
+            private int[] day = new int[64];
+            private long[] inSec = new long[64];
+            private long[] outSec = new long[64];
+            private long[] earnCents = new long[64];
+            private long[] weekCents = new long[64];
+            private final int[][] str = new int[STRING_COLS][64];
+            private final List<String> dict = new ArrayList<>();
+            private final Map<String, Integer> codes = new HashMap<>();
+
+            Builder(LocalDate from, long loadedAtMillis) {
+                this.from = from;
+                this.loadedAtMillis = loadedAtMillis;
+            }
+
+            void add(String eeCode, LocalDate workDate, LocalDateTime in, LocalDateTime out,
+                     String jobCode, String jobDesc, String activityCode, String activityDesc,
+                     String distJobCode, String distJobDesc, BigDecimal earnHours, BigDecimal weekHours) {
+                if (workDate == null) return;
+                if (size == day.length) grow();
+                day[size] = (int) workDate.toEpochDay();
+                inSec[size] = in == null ? NONE : in.toEpochSecond(ZoneOffset.UTC);
+                outSec[size] = out == null ? NONE : out.toEpochSecond(ZoneOffset.UTC);
+                earnCents[size] = earnHours == null ? NONE : cents(earnHours);
+                weekCents[size] = weekHours == null ? 0 : cents(weekHours);
+                str[EE_CODE][size] = code(eeCode);
+                str[JOB_CODE][size] = code(jobCode);
+                str[JOB_DESC][size] = code(jobDesc);
+                str[ACTIVITY_CODE][size] = code(activityCode);
+                str[ACTIVITY_DESC][size] = code(activityDesc);
+                str[DIST_JOB_CODE][size] = code(distJobCode);
+                str[DIST_JOB_DESC][size] = code(distJobDesc);
+                size++;
+            }
+
+            Snapshot build() {
+                return new Snapshot(this);
+            }
+
+            private static long cents(BigDecimal v) {
+                return v.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValue();
+            }
+
+            private int code(String s) {
+                if (s == null) return -1;
+                return codes.computeIfAbsent(s, k -> {
+                    dict.add(k);
+                    return dict.size() - 1;
+                });
+            }
+
+            private void grow() {
+                int n = day.length * 2;
+                day = Arrays.copyOf(day, n);
+                inSec = Arrays.copyOf(inSec, n);
+                outSec = Arrays.copyOf(outSec, n);
+                earnCents = Arrays.copyOf(earnCents, n);
+                weekCents = Arrays.copyOf(weekCents, n);
+                for (int c = 0; c < STRING_COLS; c++) {
+                    str[c] = Arrays.copyOf(str[c], n);
+                }
+            }
+        }
+    }
+}
@@ -38,12 +38,14 @@ public class EmployeeServiceImpl implements EmployeeService {
     private final EmployeeRepo employeeRepo;
     private final SupervisorRepository supervisorRepository;
     private final PasswordEncoder passwordEncoder;
+    private final TimecardDataVersion timecardVersion;
 
     public EmployeeServiceImpl(SupervisorRepository supervisorRepository, EmployeeRepo employeeRepo,
-            PasswordEncoder passwordEncoder) {
+            PasswordEncoder passwordEncoder, TimecardDataVersion timecardVersion) {
         this.supervisorRepository = supervisorRepository;
         this.employeeRepo = employeeRepo;
         this.passwordEncoder = passwordEncoder;
+        this.timecardVersion = timecardVersion;
     }
 
     // ---------------------- helpers ----------------------
@@ -215,6 +217,7 @@ public class EmployeeServiceImpl implements EmployeeService {
             // DO NOT call employee.setFilesForEmployee(...) here; files are handled by
             // EmployeeFile* flows.
             employeeRepo.save(employee);
+            timecardVersion.bumpAfterCommit();
             logger.info("Successfully added employee: {}", employee.getDisplayName());
             return "Employee added successfully";
         } catch (IllegalArgumentException e) {
@@ -325,6 +328,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         e.setLastBatchId(pick(employeeDTO.getLastBatchId(), e.getLastBatchId()));
 
         employeeRepo.save(e);
+        timecardVersion.bumpAfterCommit();
         return "Employee updated successfully";
     }
 
@@ -383,6 +387,7 @@ public class EmployeeServiceImpl implements EmployeeService {
         if (!employeeRepo.existsById(employeeId))
             throw new EntityNotFoundException("Employee not found: " + employeeId);
         employeeRepo.deleteById(employeeId);
+        timecardVersion.bumpAfterCommit();
     }
 
     @Override
@@ -4,6 +4,7 @@ import com.cec.EmployeeDB.batch.dto.BatchChangeRow;
 import com.cec.EmployeeDB.batch.dto.BatchReport;
 import com.cec.EmployeeDB.batch.dto.BatchTotals;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,6 +18,7 @@ import java.util.*;
 public class FieldBatchSyncServiceImpl implements FieldBatchSyncService {
 
     private final JdbcTemplate jdbc;
+    private final ApplicationEventPublisher events;
 
     // ---------------------------
     // PREVIEW (DIFF ONLY)
@@ -569,6 +571,8 @@ public class FieldBatchSyncServiceImpl implements FieldBatchSyncService {
                 """;
 
         int updated = jdbc.update(sql);
+        // same roster change as a field import: timecard version, filter options and alert bitmaps follow it
+        events.publishEvent(new FieldImportedEvent("field_import", updated, inserted));
 
         // Best-effort counts for status transitions using import data vs existing
         int deactivated = 0;
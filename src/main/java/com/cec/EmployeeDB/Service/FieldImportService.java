@@ -1,7 +1,9 @@
 package com.cec.EmployeeDB.Service;
 
 import com.cec.EmployeeDB.Dto.FieldImportResult;
+import com.cec.EmployeeDB.util.StagingTables;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -17,6 +19,8 @@ import java.util.*;
 public class FieldImportService {
 
     private final JdbcTemplate jdbcTemplate;
+    private final ImportMetrics metrics;
+    private final ApplicationEventPublisher events;
 
     @Transactional
     public FieldImportResult importCsv(MultipartFile file) throws IOException {
@@ -24,9 +28,12 @@ public class FieldImportService {
             throw new IllegalArgumentException("CSV file is required");
         }
 
+        ImportMetrics.Run timing = metrics.start("field", file.getOriginalFilename());
+
         // 1) Save upload to a temp file (name can be anything from Paycom)
         Path tempFile = Files.createTempFile("field_import_", ".csv");
         file.transferTo(Objects.requireNonNull(tempFile.toFile()));
+        timing.lap("temp_copy");
 
         // Path for MySQL (escape backslashes for Windows paths)
         String mysqlPath = tempFile.toAbsolutePath().toString().replace("\\", "\\\\");
@@ -35,6 +42,9 @@ public class FieldImportService {
         if (originalName == null)
             originalName = tempFile.getFileName().toString();
 
+        // Private staging table for this import (dropped in finally)
+        String stage = null;
+
         long rowsLoaded = 0L;
         int rowsUpdated = 0;
         int rowsInserted = 0;
@@ -48,11 +58,11 @@ public class FieldImportService {
             jdbcTemplate.execute("SET SESSION sql_mode = REPLACE(@@SESSION.sql_mode, 'STRICT_TRANS_TABLES', '')");
             jdbcTemplate.execute("SET SESSION sql_mode = REPLACE(@@SESSION.sql_mode, 'STRICT_ALL_TABLES', '')");
 
-            jdbcTemplate.update("TRUNCATE TABLE field_import");
+            stage = StagingTables.createSessionCopy(jdbcTemplate, "field_import");
 
             // 3) LOAD DATA LOCAL INFILE – **dynamic path**, columns fixed
             String loadSql = "LOAD DATA LOCAL INFILE '" + mysqlPath + "'\n" +
-                    "INTO TABLE field_import\n" +
+                    "INTO TABLE `" + stage + "`\n" +
                     "CHARACTER SET utf8mb4\n" +
                     "FIELDS TERMINATED BY ',' ENCLOSED BY '\"' ESCAPED BY ''\n" +
                     "LINES TERMINATED BY '\\r\\n'\n" +
@@ -314,9 +324,10 @@ public class FieldImportService {
                     ";";
 
             jdbcTemplate.update(loadSql);
+            timing.lap("load_data");
 
             // 4) Count rows loaded into staging
-            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM field_import", Long.class);
+            Long count = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM `" + stage + "`", Long.class);
             if (count != null) {
                 rowsLoaded = count;
             }
@@ -324,7 +335,7 @@ public class FieldImportService {
             // 4.5) Identify employees to be inserted (NEW employees not in field table)
             insertedEmployees = jdbcTemplate.query(
                 "SELECT fi.employee_code, fi.employee_name, fi.position_title, fi.department_desc, fi.employee_status " +
-                "FROM field_import fi " +
+                "FROM `" + stage + "` fi " +
                 "LEFT JOIN field f ON f.employee_code_norm = fi.employee_code_norm " +
                 "WHERE f.employee_code_norm IS NULL " +
                 "  AND fi.employee_code_norm IS NOT NULL " +
@@ -373,7 +384,7 @@ public class FieldImportService {
                 "  f.last_worked_date AS old_last_worked_date, " +
                 "  f.termination_date AS old_termination_date " +
                 "FROM field f " +
-                "JOIN field_import fi ON f.employee_code_norm = fi.employee_code_norm",
+                "JOIN `" + stage + "` fi ON f.employee_code_norm = fi.employee_code_norm",
                 (rs, rowNum) -> {
                     Map<String, Object> emp = new LinkedHashMap<>();
                     emp.put("employeeCode", rs.getString("employee_code"));
@@ -471,9 +482,11 @@ public class FieldImportService {
                 }
             );
 
+            timing.lap("preview");
+
             // 5) Merge into field (same UPDATE that just worked for you)
             String updateSql = "UPDATE field f\n" +
-                    "JOIN field_import fi ON f.employee_code_norm = fi.employee_code_norm\n" +
+                    "JOIN `" + stage + "` fi ON f.employee_code_norm = fi.employee_code_norm\n" +
                     "SET\n" +
                     "  f.employee_code    = fi.employee_code,\n" +
                     "  f.tixid            = fi.tixid,\n" +
@@ -623,6 +636,7 @@ public class FieldImportService {
                     ";";
 
             rowsUpdated = jdbcTemplate.update(updateSql);
+            timing.lap("update");
 
             // 6) INSERT new employees not already in field table
             // Note: employee_code_norm, badge_num_norm, tixid_norm are GENERATED columns - MySQL computes them
@@ -701,7 +715,7 @@ public class FieldImportService {
                     "  END,\n" +
                     "  fi.ess_language_preference,\n" +
                     "  fi.ess_language_preference\n" +
-                    "FROM field_import fi\n" +
+                    "FROM `" + stage + "` fi\n" +
                     "LEFT JOIN field f ON f.employee_code_norm = fi.employee_code_norm\n" +
                     "WHERE f.employee_code_norm IS NULL\n" +
                     "  AND fi.employee_code_norm IS NOT NULL\n" +
@@ -709,12 +723,14 @@ public class FieldImportService {
                     ";";
 
             rowsInserted = jdbcTemplate.update(insertSql);
+            timing.lap("insert");
 
             // 7) restore sql_mode
             // 7) restore sql_mode
             jdbcTemplate.execute("SET SESSION sql_mode = @old_sql_mode");
 
         } finally {
+            StagingTables.drop(jdbcTemplate, stage);
             try {
                 Files.deleteIfExists(tempFile);
             } catch (IOException ignore) {
@@ -728,9 +744,11 @@ public class FieldImportService {
         result.setRowsInserted(rowsInserted);
         result.setUpdatedEmployees(updatedEmployees);
         result.setInsertedEmployees(insertedEmployees);
+        result.setPhaseMillis(timing.finish(null, rowsLoaded, rowsInserted, 0));
         result.setMessage(
                 "Loaded " + rowsLoaded + " rows into field_import; updated " + rowsUpdated + 
                 " employees, inserted " + rowsInserted + " new employees in field.");
+        events.publishEvent(new FieldImportedEvent(originalName, rowsUpdated, rowsInserted));
 
         return result;
     }
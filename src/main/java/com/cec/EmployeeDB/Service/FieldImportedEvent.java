@@ -0,0 +1,10 @@
+// src/main/java/com/cec/EmployeeDB/Service/FieldImportedEvent.java
+package com.cec.EmployeeDB.Service;
+
+/**
+ * Published by {@link FieldImportService} and {@link FieldBatchSyncServiceImpl#apply()}
+ * after the field roster is updated;
+ * listen with {@code @TransactionalEventListener} to see committed rows.
+ */
+public record FieldImportedEvent(String fileName, int rowsUpdated, int rowsInserted) {
+}
@@ -0,0 +1,107 @@
+// src/main/java/com/cec/EmployeeDB/Service/GanttBundleService.java
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Dto.CurrentAssignmentDTO;
+import com.cec.EmployeeDB.Dto.GanttBundleDTO;
+import com.cec.EmployeeDB.Dto.LastWorkedPredictionDTO;
+import com.cec.EmployeeDB.Dto.TimecardDTO;
+import com.cec.EmployeeDB.Dto.TransferDto;
+import com.cec.EmployeeDB.Repo.TransferRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Gantt page data in one round trip.
+ *
+ * Timecards and transfers are read in parallel on virtual threads; the union
+ * of their employee codes (or the caller's list) then drives predictions and
+ * current assignments, also in parallel. A failing part is reported under
+ * {@code errors} instead of failing the whole bundle.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GanttBundleService {
+
+    private final TimecardsService timecardsService;
+    private final PredictionCache predictionCache;
+    private final TransferRepository transferRepo;
+
+    public GanttBundleDTO load(LocalDate start, LocalDate end, int limit, List<String> empCodes,
+                               boolean includePredictions, int assignmentDays) {
+        Map<String, String> errors = new ConcurrentHashMap<>();
+
+        try (ExecutorService vt = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<List<TimecardDTO>> timecardsF = vt.submit(() -> timecardsService.findInRange(start, end, limit));
+            Future<List<TransferDto>> transfersF = vt.submit(() -> transferRepo.findTransfersInRange(start, end)
+                    .stream().map(TransferDto::from).toList());
+
+            List<TimecardDTO> timecards = join("timecards", timecardsF, errors);
+            List<TransferDto> transfers = join("transfers", transfersF, errors);
+
+            List<String> codes = employeeCodes(empCodes, timecards, transfers);
+
+            Future<Map<String, LastWorkedPredictionDTO>> predictionsF = includePredictions && !codes.isEmpty()
+                    ? vt.submit(() -> predictionCache.getAll(codes))
+                    : null;
+            Future<List<CurrentAssignmentDTO>> assignmentsF = codes.isEmpty() ? null
+                    : vt.submit(() -> timecardsService.currentAssignmentsFor(codes, assignmentDays));
+
+            return GanttBundleDTO.builder()
+                    .startDate(start.toString())
+                    .endDate(end.toString())
+                    .employeeCodes(codes)
+                    .timecards(timecards)
+                    .transfers(transfers)
+                    .predictions(predictionsF != null ? join("predictions", predictionsF, errors) : Map.of())
+                    .currentAssignments(assignmentsF != null ? join("currentAssignments", assignmentsF, errors) : List.of())
+                    .errors(errors.isEmpty() ? null : errors)
+                    .build();
+        }
+    }
+
+    private static List<String> employeeCodes(List<String> requested, Collection<TimecardDTO> timecards,
+                                              Collection<TransferDto> transfers) {
+        TreeSet<String> codes = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+        if (requested != null && !requested.isEmpty()) {
+            requested.stream().filter(Objects::nonNull).map(String::trim).filter(s -> !s.isEmpty()).forEach(codes::add);
+            return List.copyOf(codes);
+        }
+        if (timecards != null) {
+            timecards.stream().map(TimecardDTO::getEmployeeCode).filter(s -> s != null && !s.isBlank())
+                    .map(String::trim).forEach(codes::add);
+        }
+        if (transfers != null) {
+            transfers.stream().map(TransferDto::empCode).filter(s -> s != null && !s.isBlank())
+                    .map(String::trim).forEach(codes::add);
+        }
+        return List.copyOf(codes);
+    }
+
+    private static <T> T join(String part, Future<T> f, Map<String, String> errors) {
+        try {
+            return f.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            errors.put(part, "interrupted");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            log.warn("Gantt bundle part {} failed: {}", part, cause.getMessage());
+            errors.put(part, String.valueOf(cause.getMessage()));
+        }
+        return null;
+    }
+}
@@ -0,0 +1,240 @@
+// src/main/java/com/cec/EmployeeDB/Service/GanttStreamService.java
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Dto.TimecardDTO;
+import com.cec.EmployeeDB.Entity.Timecard;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+/**
+ * Progressive Gantt rows over Server-Sent Events.
+ *
+ * Punches overlapping the window are read employee by employee from a
+ * streaming result set and sent as {@code rows} events of whole employees.
+ * Each event id is the last employee code in the chunk, so a reconnect with
+ * {@code Last-Event-ID} resumes after it. When the client goes away the
+ * running statement is cancelled.
+ *
+ * Every open stream pins a pooled connection for its whole run, so the number
+ * of concurrent streams is capped below the Hikari pool; past the cap a new
+ * stream is refused with 503 and the client falls back to {@code /range}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class GanttStreamService {
+
+    private static final String SQL = """
+            SELECT t.id, t.ee_code, t.first_name, t.last_name, t.allocation_code, t.in_punch_time, t.out_punch_time,
+                   t.dist_job_code, t.dist_job_desc, t.dist_section_code, t.dist_section_desc, t.home_allocation,
+                   t.home_department_desc, t.dist_department_desc, t.dist_activity_code, t.dist_activity_desc
+            FROM paycom_time_report t
+            WHERE t.id IN (SELECT w.punch_id FROM timecard_punch_week w WHERE w.week_start IN (%s))
+              AND t.in_punch_time < ?
+              AND (t.out_punch_time IS NULL OR t.out_punch_time >= ?)
+              %s
+            ORDER BY t.ee_code, t.in_punch_time
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    @Value("${app.timecards.gantt-stream.timeout-ms:600000}")
+    private long timeoutMs;
+
+    // kept below the Hikari pool so requests and other jobs still get connections
+    @Value("${app.timecards.gantt-stream.max-concurrent:3}")
+    private int maxConcurrent;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int hikariPoolSize;
+
+    private volatile Semaphore streams;
+
+    /**
+     * @param afterEeCode resume point (exclusive), typically the Last-Event-ID header
+     * @param chunkRows   a chunk is flushed at the first employee boundary past this many rows
+     */
+    public SseEmitter stream(LocalDate start, LocalDate end, String afterEeCode, int chunkRows) {
+        Semaphore permits = streams();
+        if (!permits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many Gantt streams open; retry later or use /range");
+        }
+        try {
+            return start(start, end, afterEeCode, chunkRows, permits);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    private SseEmitter start(LocalDate start, LocalDate end, String afterEeCode, int chunkRows, Semaphore permits) {
+        SseEmitter emitter = newEmitter(timeoutMs);
+        AtomicBoolean cancelled = new AtomicBoolean();
+        AtomicReference<Statement> running = new AtomicReference<>();
+        Runnable cancel = () -> {
+            if (cancelled.compareAndSet(false, true)) {
+                Statement st = running.get();
+                if (st != null) {
+                    try {
+                        st.cancel();
+                    } catch (SQLException ignored) {
+                    }
+                }
+            }
+        };
+        emitter.onCompletion(cancel);
+        emitter.onTimeout(cancel);
+        emitter.onError(e -> cancel.run());
+
+        Thread.ofVirtual().name("gantt-sse").start(() -> {
+            try {
+                int[] totals = run(start, end, afterEeCode, Math.max(1, chunkRows), emitter, cancelled, running);
+                emitter.send(SseEmitter.event().name("done").data(Map.of("rows", totals[0], "employees", totals[1])));
+                emitter.complete();
+            } catch (CancellationException e) {
+                log.debug("Gantt stream cancelled by client");
+            } catch (Exception e) {
+                if (cancelled.get()) {
+                    log.debug("Gantt stream stopped: {}", e.getMessage());
+                    return;
+                }
+                log.warn("Gantt stream failed: {}", e.getMessage());
+                try {
+                    emitter.send(SseEmitter.event().name("error").data(Objects.toString(e.getMessage(), "error")));
+                } catch (IOException ignored) {
+                }
+                emitter.completeWithError(e);
+            } finally {
+                permits.release();
+            }
+        });
+        return emitter;
+    }
+
+    private Semaphore streams() {
+        Semaphore s = streams;
+        if (s == null) {
+            synchronized (this) {
+                if (streams == null) {
+                    streams = new Semaphore(Math.max(1, Math.min(maxConcurrent, hikariPoolSize - 2)));
+                }
+                s = streams;
+            }
+        }
+        return s;
+    }
+
+    // seam for tests
+    SseEmitter newEmitter(long timeout) {
+        return new SseEmitter(timeout);
+    }
+
+    private int[] run(LocalDate start, LocalDate end, String afterEeCode, int chunkRows, SseEmitter emitter,
+                      AtomicBoolean cancelled, AtomicReference<Statement> running) {
+        LocalDateTime from = start.atStartOfDay();
+        LocalDateTime to = end.plusDays(1).atStartOfDay();
+        List<LocalDate> weeks = TimecardWeekBuckets.punchWeeks(from, to);
+        boolean resume = afterEeCode != null && !afterEeCode.isBlank();
+        String sql = SQL.formatted(weeks.stream().map(w -> "?").collect(Collectors.joining(",")),
+                resume ? "AND t.ee_code > ?" : "");
+
+        List<TimecardDTO> chunk = new ArrayList<>(chunkRows + 64);
+        String[] lastEe = {null};
+        int[] totals = {0, 0};
+
+        jdbc.query(con -> {
+            PreparedStatement ps = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            ps.setFetchSize(Integer.MIN_VALUE);
+            int i = 1;
+            for (LocalDate w : weeks) {
+                ps.setObject(i++, w);
+            }
+            ps.setObject(i++, to);
+            ps.setObject(i++, from);
+            if (resume) {
+                ps.setString(i, afterEeCode.trim());
+            }
+            running.set(ps);
+            return ps;
+        }, (RowCallbackHandler) rs -> {
+            if (cancelled.get()) {
+                throw new CancellationException();
+            }
+            String ee = rs.getString("ee_code");
+            if (!Objects.equals(ee, lastEe[0])) {
+                if (chunk.size() >= chunkRows) {
+                    send(emitter, lastEe[0], chunk, cancelled);
+                }
+                lastEe[0] = ee;
+                totals[1]++;
+            }
+            chunk.add(TimecardsServiceImpl.toDto(toTimecard(rs)));
+            totals[0]++;
+        });
+        if (!chunk.isEmpty()) {
+            send(emitter, lastEe[0], chunk, cancelled);
+        }
+        return totals;
+    }
+
+    private static void send(SseEmitter emitter, String lastEe, List<TimecardDTO> chunk, AtomicBoolean cancelled) {
+        try {
+            emitter.send(SseEmitter.event().id(Objects.toString(lastEe, "")).name("rows").data(List.copyOf(chunk)));
+            chunk.clear();
+        } catch (IOException | IllegalStateException e) {
+            cancelled.set(true);
+            throw new CancellationException();
+        }
+    }
+
+    private static Timecard toTimecard(ResultSet rs) throws SQLException {
+        Timecard t = new Timecard();
+        t.setId(rs.getLong("id"));
+        t.setEmployeeCode(rs.getString("ee_code"));
+        t.setFirstName(rs.getString("first_name"));
+        t.setLastName(rs.getString("last_name"));
+        t.setAllocationCode(rs.getString("allocation_code"));
+        t.setInPunchTime(localDateTime(rs.getTimestamp("in_punch_time")));
+        t.setOutPunchTime(localDateTime(rs.getTimestamp("out_punch_time")));
+        t.setDistJobCode(rs.getString("dist_job_code"));
+        t.setDistJobDesc(rs.getString("dist_job_desc"));
+        t.setDistSectionCode(rs.getString("dist_section_code"));
+        t.setDistSectionDesc(rs.getString("dist_section_desc"));
+        t.setHomeAllocation(rs.getString("home_allocation"));
+        t.setHomeDepartmentDesc(rs.getString("home_department_desc"));
+        t.setDistDepartmentDesc(rs.getString("dist_department_desc"));
+        t.setDistActivityCode(rs.getString("dist_activity_code"));
+        t.setDistActivityDesc(rs.getString("dist_activity_desc"));
+        return t;
+    }
+
+    private static LocalDateTime localDateTime(Timestamp ts) {
+        return ts != null ? ts.toLocalDateTime() : null;
+    }
+}
@@ -22,12 +22,15 @@ import java.util.Map;
 public class ImportFileService {
   private final JdbcTemplate jdbc;
   private final BatchSyncConfig cfg;
+  private final ImportMetrics metrics;
 
   @Transactional
   public BatchReport ingest(MultipartFile file) {
     var report = BatchReport.start(true);
     String table = cfg.getImport().getTable();
+    var timing = metrics.start("batch-sync-file", file.getOriginalFilename());
     jdbc.execute("TRUNCATE TABLE " + table);
+    timing.lap("truncate");
 
     int staged = 0;
     try (InputStream is = file.getInputStream()) {
@@ -37,12 +40,14 @@ public class ImportFileService {
       } else {
         staged = loadXlsx(is);
       }
+      timing.lap("stage_rows");
       report.getTotals().setInserted(staged);
     } catch (Exception e) {
       report.getTotals().setErrors(report.getTotals().getErrors() + 1);
       report.getErrors().add(BatchReport.ErrorRow.builder()
         .rowId("-").code("INGEST").message(e.getMessage()).build());
     }
+    report.setPhaseMillis(timing.finish(null, staged, staged, 0));
     report.finish();
     return report;
   }
@@ -0,0 +1,97 @@
+// src/main/java/com/cec/EmployeeDB/Service/ImportMetrics.java
+package com.cec.EmployeeDB.Service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-phase timing for the CSV/XLSX importers.
+ *
+ * Each phase is a Micrometer timer {@code import.phase{importer,phase}}; the
+ * rows/sec of the latest run is the gauge {@code import.rows.per.second{importer}}.
+ * {@link Run#finish} also writes one {@code import_batch} audit row.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class ImportMetrics {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final MeterRegistry registry;
+    private final JdbcTemplate jdbc;
+
+    private final Map<String, AtomicLong> lastRowRate = new ConcurrentHashMap<>();
+
+    public Run start(String importer, String fileName) {
+        return new Run(importer, fileName);
+    }
+
+    public final class Run {
+        private final String importer;
+        private final String fileName;
+        private final long startedNanos = System.nanoTime();
+        private long lapNanos = startedNanos;
+        private final Map<String, Long> phaseMillis = new LinkedHashMap<>();
+
+        private Run(String importer, String fileName) {
+            this.importer = importer;
+            this.fileName = fileName;
+        }
+
+        /** Close the phase running since the previous lap (or start). */
+        public void lap(String phase) {
+            long now = System.nanoTime();
+            long nanos = now - lapNanos;
+            lapNanos = now;
+            Timer.builder("import.phase")
+                    .tags("importer", importer, "phase", phase)
+                    .register(registry)
+                    .record(nanos, TimeUnit.NANOSECONDS);
+            phaseMillis.merge(phase, TimeUnit.NANOSECONDS.toMillis(nanos), Long::sum);
+        }
+
+        public Map<String, Long> phaseMillis() {
+            return phaseMillis;
+        }
+
+        /** Record totals + rate and write the audit row; returns the phase breakdown (incl. "total"). */
+        public Map<String, Long> finish(Long batchId, long rows, int inserted, int duplicates) {
+            long totalMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
+            Double rate = totalMs > 0 ? rows * 1000.0 / totalMs : null;
+            registry.timer("import.total", Tags.of("importer", importer)).record(totalMs, TimeUnit.MILLISECONDS);
+            registry.counter("import.rows", Tags.of("importer", importer)).increment(rows);
+            if (rate != null) {
+                lastRowRate.computeIfAbsent(importer, k -> registry.gauge("import.rows.per.second",
+                        Tags.of("importer", k), new AtomicLong())).set(Math.round(rate));
+            }
+
+            Map<String, Long> out = new LinkedHashMap<>(phaseMillis);
+            out.put("total", totalMs);
+            try {
+                jdbc.update("""
+                        INSERT INTO import_batch
+                          (importer, batch_id, file_name, total_rows, inserted_rows, duplicate_rows,
+                           total_ms, rows_per_sec, phase_ms)
+                        VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                        """, importer, batchId, fileName, rows, inserted, duplicates,
+                        totalMs, rate, MAPPER.writeValueAsString(phaseMillis));
+            } catch (Exception ex) {
+                log.warn("import_batch audit write failed for {}: {}", importer, ex.getMessage());
+            }
+            return out;
+        }
+    }
+}
@@ -0,0 +1,234 @@
+// src/main/java/com/cec/EmployeeDB/Service/JobProjectResolver.java
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Entity.JobToProjectMap;
+import com.cec.EmployeeDB.Repo.JobToProjectMapRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Shared, immutable view of job_to_project_map.
+ *
+ * Job codes resolve through an exact map first, then through a prefix trie
+ * built from pattern rows whose job_code ends in {@code *} or {@code %}
+ * (longest prefix wins). Department codes and descriptions use plain maps.
+ * All keys are case-insensitive; among rows for the same key the highest
+ * confidence_boost wins, the lowest id on ties.
+ *
+ * The index is built on first use and swapped as a whole when a content
+ * fingerprint of the table changes, so readers never see a partial reload.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class JobProjectResolver {
+
+    private static final String FINGERPRINT_SQL = """
+            SELECT CONCAT(COUNT(*), ':', COALESCE(MAX(id), 0), ':', COALESCE(SUM(CRC32(CONCAT_WS('|', id,
+                     COALESCE(job_code, '~'), COALESCE(department_code, '~'), COALESCE(department_desc, '~'),
+                     project_key, confidence_boost, active))), 0))
+            FROM job_to_project_map
+            """;
+
+    private final JobToProjectMapRepository mapRepo;
+    private final JdbcTemplate jdbc;
+
+    private volatile Index index;
+    private volatile String fingerprint;
+
+    /** Current snapshot; loads it on first call. */
+    public Index index() {
+        Index i = index;
+        if (i != null) {
+            return i;
+        }
+        synchronized (this) {
+            if (index == null) {
+                reload();
+            }
+            return index;
+        }
+    }
+
+    /** Project key for a job code, or null when no active row maps it. */
+    public String projectForJob(String jobCode) {
+        return jobCode == null || jobCode.isBlank() ? null : index().byJob(jobCode.trim());
+    }
+
+    public synchronized void reload() {
+        long t0 = System.currentTimeMillis();
+        String fp = readFingerprint();
+        Index next = new Index(mapRepo.findAll());
+        index = next;
+        fingerprint = fp;
+        log.info("Job-to-project index loaded: {} exact, {} prefix, {} dept rows in {} ms",
+                next.exactCount(), next.prefixCount(), next.deptCount(), System.currentTimeMillis() - t0);
+    }
+
+    @Scheduled(fixedDelayString = "${app.predictions.job-map.poll-ms:60000}",
+            initialDelayString = "${app.predictions.job-map.poll-ms:60000}")
+    public void reloadIfChanged() {
+        if (index == null) {
+            return;
+        }
+        try {
+            String fp = readFingerprint();
+            if (!fp.equals(fingerprint)) {
+                reload();
+            }
+        } catch (DataAccessException e) {
+            log.debug("Job-to-project fingerprint check failed: {}", e.getMessage());
+        }
+    }
+
+    private String readFingerprint() {
+        return jdbc.queryForObject(FINGERPRINT_SQL, String.class);
+    }
+
+    /**
+     * First {@code XX00-00} style job code in free text, upper-cased; same
+     * result as {@code \b[A-Za-z]{2}\d{2}-\d{2}\b} with {@code find()}, without
+     * a regex engine in the per-row mapping path.
+     */
+    public static String jobCodeIn(String s) {
+        if (s == null) {
+            return null;
+        }
+        int n = s.length();
+        for (int i = 0; i + 7 <= n; i++) {
+            if (isAsciiLetter(s.charAt(i)) && isAsciiLetter(s.charAt(i + 1))
+                    && isDigit(s.charAt(i + 2)) && isDigit(s.charAt(i + 3))
+                    && s.charAt(i + 4) == '-'
+                    && isDigit(s.charAt(i + 5)) && isDigit(s.charAt(i + 6))
+                    && (i == 0 || !isWord(s.charAt(i - 1)))
+                    && (i + 7 == n || !isWord(s.charAt(i + 7)))) {
+                return s.substring(i, i + 7).toUpperCase(Locale.ROOT);
+            }
+        }
+        return null;
+    }
+
+    private static boolean isAsciiLetter(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z');
+    }
+
+    private static boolean isDigit(char c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private static boolean isWord(char c) {
+        return isAsciiLetter(c) || isDigit(c) || c == '_';
+    }
+
+    /** Immutable lookup tables built from one read of job_to_project_map. */
+    public static final class Index {
+        private final Map<String, JobToProjectMap> exactJob = new HashMap<>();
+        private final Node prefixRoot = new Node();
+        private final Map<String, JobToProjectMap> byDeptCode = new HashMap<>();
+        private final Map<String, JobToProjectMap> byDeptDesc = new HashMap<>();
+        private int prefixCount;
+
+        public Index(Collection<JobToProjectMap> rows) {
+            rows.stream()
+                    .filter(m -> Boolean.TRUE.equals(m.getActive()) && m.getProjectKey() != null)
+                    .sorted(Comparator.comparing(JobToProjectMap::getId, Comparator.nullsLast(Comparator.naturalOrder())))
+                    .forEach(this::add);
+        }
+
+        private void add(JobToProjectMap m) {
+            String job = m.getJobCode();
+            if (job != null && !job.isBlank()) {
+                String key = key(job);
+                if (key.endsWith("*") || key.endsWith("%")) {
+                    Node node = prefixRoot;
+                    for (char c : key.substring(0, key.length() - 1).toCharArray()) {
+                        node = node.children.computeIfAbsent(c, cc -> new Node());
+                    }
+                    if (node.mapping == null) {
+                        prefixCount++;
+                    }
+                    node.mapping = better(node.mapping, m);
+                } else {
+                    exactJob.merge(key, m, Index::better);
+                }
+            }
+            if (m.getDepartmentCode() != null) {
+                byDeptCode.merge(key(m.getDepartmentCode()), m, Index::better);
+            }
+            if (m.getDepartmentDesc() != null) {
+                byDeptDesc.merge(key(m.getDepartmentDesc()), m, Index::better);
+            }
+        }
+
+        private static JobToProjectMap better(JobToProjectMap current, JobToProjectMap candidate) {
+            return current == null || boost(candidate) > boost(current) ? candidate : current;
+        }
+
+        private static int boost(JobToProjectMap m) {
+            return m.getConfidenceBoost() != null ? m.getConfidenceBoost() : 0;
+        }
+
+        private static String key(String s) {
+            return s.trim().toLowerCase(Locale.ROOT);
+        }
+
+        private static String project(JobToProjectMap m) {
+            return m != null ? m.getProjectKey() : null;
+        }
+
+        public String byJob(String jobCode) {
+            String key = key(jobCode);
+            JobToProjectMap exact = exactJob.get(key);
+            if (exact != null) {
+                return exact.getProjectKey();
+            }
+            JobToProjectMap longest = prefixRoot.mapping;
+            Node node = prefixRoot;
+            for (int i = 0; i < key.length() && node != null; i++) {
+                node = node.children.get(key.charAt(i));
+                if (node != null && node.mapping != null) {
+                    longest = node.mapping;
+                }
+            }
+            return project(longest);
+        }
+
+        /** Department code first; the description is only tried when the code maps nothing. */
+        public String byDept(String deptCode, String deptDesc) {
+            if (deptCode != null && !deptCode.isBlank()) {
+                String viaCode = project(byDeptCode.get(key(deptCode)));
+                if (viaCode != null) {
+                    return viaCode;
+                }
+            }
+            return deptDesc != null && !deptDesc.isBlank() ? project(byDeptDesc.get(key(deptDesc))) : null;
+        }
+
+        int exactCount() {
+            return exactJob.size();
+        }
+
+        int prefixCount() {
+            return prefixCount;
+        }
+
+        int deptCount() {
+            return byDeptCode.size() + byDeptDesc.size();
+        }
+
+        private static final class Node {
+            private final Map<Character, Node> children = new HashMap<>(4);
+            private JobToProjectMap mapping;
+        }
+    }
+}
@@ -26,6 +26,7 @@ public class KpiServiceImpl implements KpiService {
     private static final Map<String, Object> NO_PARAMS = Map.of();
     private final EmployeeRepo employeeRepo;
     private final NamedParameterJdbcTemplate jdbc;
+    private final TimecardHoursIndex hoursIndex;
 
     @Override
     public KpiDashboardDTO getDashboardKpis() {
@@ -164,6 +165,14 @@ public class KpiServiceImpl implements KpiService {
 
     @SuppressWarnings("null")
     private ProjectHoursScope getProjectHoursScope() {
+        TimecardHoursIndex.Cells cells = hoursIndex.cells();
+        if (cells != null) {
+            LocalDate first = cells.firstDay();
+            LocalDate last = cells.lastDay();
+            return new ProjectHoursScope(first != null ? first.toString() : null,
+                    last != null ? last.toString() : null,
+                    cells.totals(null, null).earnHours());
+        }
         try {
             String sql = """
                 SELECT 
@@ -284,6 +293,17 @@ public class KpiServiceImpl implements KpiService {
             LocalDate firstOfMonth = now.withDayOfMonth(1);
             LocalDate startOfWeek = now.minusDays(now.getDayOfWeek().getValue() - 1); // Monday start
 
+            TimecardHoursIndex.Cells cells = hoursIndex.cells();
+            if (cells != null) {
+                return new TimecardInsights(
+                    cells.totals(null, null).rows(),
+                    cells.totals(firstOfMonth, null).rows(),
+                    cells.totals(startOfWeek, null).rows(),
+                    cells.totals(fourWeeksAgo, null).averageEarnHours(),
+                    cells.employeeCount()
+                );
+            }
+
             String sql = """
                 SELECT
                     COUNT(*) as total_entries,
@@ -0,0 +1,160 @@
+// src/main/java/com/cec/EmployeeDB/Service/PredictionCache.java
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Dto.LastWorkedPredictionDTO;
+import com.cec.EmployeeDB.Entity.EmployeeProjectPrediction;
+import com.cec.EmployeeDB.Repo.EmployeeProjectPredictionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Read-through cache over employee_project_prediction for the /predict
+ * endpoints and the Gantt bundle.
+ *
+ * Entries live until their {@code expires_at}. Employees not in memory are
+ * read in one {@code IN} query; only those with no stored row at all are
+ * computed inline. An expired entry is still returned and recomputed once in
+ * the background (stale-while-revalidate). Employees without a prediction are
+ * remembered for {@code app.predictions.cache.miss-ttl-minutes}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PredictionCache {
+
+    record Entry(LastWorkedPredictionDTO dto, LocalDateTime expiresAt) {
+        boolean expired(LocalDateTime now) {
+            return expiresAt == null || !expiresAt.isAfter(now);
+        }
+    }
+
+    private final EmployeeProjectPredictionRepository predRepo;
+    private final TimecardPredictionService predictionService;
+
+    @Value("${app.predictions.cache.miss-ttl-minutes:60}")
+    private long missTtlMinutes;
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher = Executors.newVirtualThreadPerTaskExecutor();
+
+    public LastWorkedPredictionDTO get(String empCode) {
+        return getAll(List.of(empCode)).get(empCode);
+    }
+
+    /** Keyed by the codes as passed in, like {@link TimecardPredictionService#predictForEmpList}. */
+    public Map<String, LastWorkedPredictionDTO> getAll(Collection<String> empCodes) {
+        Map<String, LastWorkedPredictionDTO> out = new HashMap<>();
+        if (empCodes == null)
+            return out;
+        LocalDateTime now = LocalDateTime.now();
+
+        Map<String, List<String>> missing = new LinkedHashMap<>(); // key -> codes as passed in
+        for (String code : empCodes) {
+            if (code == null || code.isBlank())
+                continue;
+            Entry e = entries.get(key(code));
+            if (e == null) {
+                missing.computeIfAbsent(key(code), k -> new ArrayList<>()).add(code);
+                continue;
+            }
+            if (e.expired(now)) {
+                refreshAsync(code.trim());
+            }
+            out.put(code, e.dto());
+        }
+        if (missing.isEmpty()) {
+            return out;
+        }
+
+        List<String> ids = missing.values().stream().map(codes -> codes.get(0).trim()).toList();
+        for (EmployeeProjectPrediction p : predRepo.findAllById(ids)) {
+            String key = key(p.getEmpCode());
+            Entry loaded = new Entry(toDto(p), p.getExpiresAt());
+            // a refresh that finished meanwhile is newer than the stored row
+            Entry e = entries.merge(key, loaded, (current, fromDb) -> current);
+            if (e.expired(now)) {
+                refreshAsync(p.getEmpCode());
+            }
+            List<String> codes = missing.remove(key);
+            if (codes != null) {
+                codes.forEach(c -> out.put(c, e.dto()));
+            }
+        }
+
+        // nothing stored yet: compute now (predictForEmp persists what it finds)
+        missing.values().forEach(codes -> {
+            LastWorkedPredictionDTO dto = load(codes.get(0).trim());
+            codes.forEach(c -> out.put(c, dto));
+        });
+        return out;
+    }
+
+    @EventListener
+    public void onPredictionsUpdated(PredictionsUpdatedEvent e) {
+        if (e.empCodes() == null) {
+            entries.clear();
+        } else {
+            e.empCodes().forEach(code -> entries.remove(key(code)));
+        }
+    }
+
+    private LastWorkedPredictionDTO load(String empCode) {
+        LastWorkedPredictionDTO dto = predictionService.predictForEmp(empCode);
+        LocalDateTime expiresAt = dto.getProjectKey() != null && dto.getAsOf() != null
+                ? dto.getAsOf().plus(TimecardPredictionService.PREDICTION_TTL)
+                : LocalDateTime.now().plusMinutes(missTtlMinutes);
+        entries.put(key(empCode), new Entry(dto, expiresAt));
+        return dto;
+    }
+
+    private void refreshAsync(String empCode) {
+        String key = key(empCode);
+        if (!refreshing.add(key)) {
+            return;
+        }
+        refresher.execute(() -> {
+            try {
+                load(empCode);
+            } catch (RuntimeException ex) {
+                log.warn("Prediction refresh for {} failed: {}", empCode, ex.toString());
+            } finally {
+                refreshing.remove(key);
+            }
+        });
+    }
+
+    private static LastWorkedPredictionDTO toDto(EmployeeProjectPrediction p) {
+        return LastWorkedPredictionDTO.builder()
+                .empCode(p.getEmpCode()).projectKey(p.getProjectKey())
+                .confidence(p.getConfidence() != null ? p.getConfidence() : 0)
+                .method(p.getMethod()).asOf(p.getAsOf()).explanation(p.getExplanation())
+                .build();
+    }
+
+    private static String key(String empCode) {
+        return empCode.trim().toUpperCase(Locale.ROOT);
+    }
+
+    @PreDestroy
+    void close() {
+        refresher.shutdownNow();
+    }
+}
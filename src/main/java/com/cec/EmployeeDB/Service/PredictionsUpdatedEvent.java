@@ -0,0 +1,17 @@
+// src/main/java/com/cec/EmployeeDB/Service/PredictionsUpdatedEvent.java
+package com.cec.EmployeeDB.Service;
+
+import java.util.Set;
+
+/**
+ * Published by {@link TimecardPredictionService} after it rewrote stored
+ * predictions outside of a single-employee call.
+ *
+ * @param empCodes employees whose rows changed; null means any employee (full rebuild)
+ */
+public record PredictionsUpdatedEvent(Set<String> empCodes) {
+
+    public static PredictionsUpdatedEvent all() {
+        return new PredictionsUpdatedEvent(null);
+    }
+}
@@ -0,0 +1,166 @@
+// src/main/java/com/cec/EmployeeDB/Service/ReactiveTimecardReader.java
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Dto.TimecardDTO;
+import com.cec.EmployeeDB.Dto.TimecardSpanDTO;
+import com.cec.EmployeeDB.Entity.Timecard;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.ConnectionFactoryOptions;
+import io.r2dbc.spi.Readable;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Non-blocking timecard/span reads over R2DBC (r2dbc-mysql), emitted as a
+ * {@link Flux} so rows are pulled from MySQL only as fast as the client reads.
+ *
+ * The pool is created lazily and deliberately NOT exposed as a
+ * {@code ConnectionFactory} bean: Boot's JDBC DataSource auto-config backs off
+ * when one exists, and the rest of the app is JDBC/JPA. R2DBC auto-config is
+ * excluded in application.properties for the same reason.
+ */
+@Slf4j
+@Component
+public class ReactiveTimecardReader {
+
+    private static final String RANGE_SQL = """
+            SELECT id, ee_code, first_name, last_name, allocation_code, in_punch_time, out_punch_time,
+                   dist_job_code, dist_job_desc, dist_section_code, dist_section_desc, home_allocation,
+                   home_department_desc, dist_department_desc, dist_activity_code, dist_activity_desc
+            FROM paycom_time_report
+            WHERE in_punch_time < :to
+              AND (out_punch_time IS NULL OR out_punch_time >= :from)
+            ORDER BY in_punch_time DESC
+            LIMIT :limit
+            """;
+
+    @Value("${app.timecards.reactive.url:}")
+    private String url;
+
+    @Value("${spring.datasource.username:}")
+    private String username;
+
+    @Value("${spring.datasource.password:}")
+    private String password;
+
+    @Value("${app.timecards.reactive.pool-max:8}")
+    private int poolMax;
+
+    @Value("${app.timecards.use-cache:true}")
+    private boolean useCache;
+
+    private volatile DatabaseClient client;
+    private volatile ConnectionPool pool;
+
+    /** Same rows and mapping as {@code TimecardsService.findInRange}, newest first. */
+    public Flux<TimecardDTO> range(LocalDate start, LocalDate end, int limit) {
+        return client().sql(RANGE_SQL)
+                .bind("from", start.atStartOfDay())
+                .bind("to", end.plusDays(1).atStartOfDay())
+                .bind("limit", limit)
+                .map(ReactiveTimecardReader::toTimecard)
+                .all()
+                .map(TimecardsServiceImpl::toDto);
+    }
+
+    /** Same rows as {@code TimecardQueryService.fetchSpans}. */
+    public Flux<TimecardSpanDTO> spans(LocalDate start, LocalDate end, String emp, int limit) {
+        String sql = "SELECT ee_code, start_date, end_date_excl, dist_job_code, dist_job_desc, "
+                + "       dist_activity_code, dist_activity_desc, allocation_code, home_allocation, total_hours "
+                + "  FROM " + (useCache ? "timecard_spans_cache" : "v_timecard_spans")
+                + " WHERE start_date < :end AND end_date_excl > :start "
+                + (emp != null && !emp.isBlank() ? " AND ee_code = :emp " : "")
+                + " ORDER BY end_date_excl DESC, start_date DESC LIMIT :limit";
+        DatabaseClient.GenericExecuteSpec spec = client().sql(sql)
+                .bind("end", end)
+                .bind("start", start)
+                .bind("limit", limit);
+        if (emp != null && !emp.isBlank()) {
+            spec = spec.bind("emp", emp);
+        }
+        return spec.map(ReactiveTimecardReader::toSpan).all();
+    }
+
+    private static Timecard toTimecard(Readable r) {
+        Timecard t = new Timecard();
+        t.setId(r.get("id", Long.class));
+        t.setEmployeeCode(r.get("ee_code", String.class));
+        t.setFirstName(r.get("first_name", String.class));
+        t.setLastName(r.get("last_name", String.class));
+        t.setAllocationCode(r.get("allocation_code", String.class));
+        t.setInPunchTime(r.get("in_punch_time", LocalDateTime.class));
+        t.setOutPunchTime(r.get("out_punch_time", LocalDateTime.class));
+        t.setDistJobCode(r.get("dist_job_code", String.class));
+        t.setDistJobDesc(r.get("dist_job_desc", String.class));
+        t.setDistSectionCode(r.get("dist_section_code", String.class));
+        t.setDistSectionDesc(r.get("dist_section_desc", String.class));
+        t.setHomeAllocation(r.get("home_allocation", String.class));
+        t.setHomeDepartmentDesc(r.get("home_department_desc", String.class));
+        t.setDistDepartmentDesc(r.get("dist_department_desc", String.class));
+        t.setDistActivityCode(r.get("dist_activity_code", String.class));
+        t.setDistActivityDesc(r.get("dist_activity_desc", String.class));
+        return t;
+    }
+
+    private static TimecardSpanDTO toSpan(Readable r) {
+        return TimecardSpanDTO.builder()
+                .eeCode(r.get("ee_code", String.class))
+                .startDate(r.get("start_date", LocalDate.class))
+                .endDateExcl(r.get("end_date_excl", LocalDate.class))
+                .distJobCode(r.get("dist_job_code", String.class))
+                .distJobDesc(r.get("dist_job_desc", String.class))
+                .distActivityCode(r.get("dist_activity_code", String.class))
+                .distActivityDesc(r.get("dist_activity_desc", String.class))
+                .allocationCode(r.get("allocation_code", String.class))
+                .homeAllocation(r.get("home_allocation", String.class))
+                .totalHours(Optional.ofNullable(r.get("total_hours", BigDecimal.class)).orElse(BigDecimal.ZERO))
+                .build();
+    }
+
+    private DatabaseClient client() {
+        DatabaseClient c = client;
+        if (c != null) {
+            return c;
+        }
+        synchronized (this) {
+            if (client == null) {
+                if (url == null || url.isBlank()) {
+                    throw new IllegalStateException("app.timecards.reactive.url is not configured");
+                }
+                ConnectionFactoryOptions options = ConnectionFactoryOptions.parse(url).mutate()
+                        .option(ConnectionFactoryOptions.USER, username)
+                        .option(ConnectionFactoryOptions.PASSWORD, password)
+                        .build();
+                pool = new ConnectionPool(ConnectionPoolConfiguration
+                        .builder(ConnectionFactories.get(options))
+                        .name("timecards-r2dbc")
+                        .maxSize(Math.max(1, poolMax))
+                        .maxIdleTime(Duration.ofMinutes(10))
+                        .build());
+                client = DatabaseClient.create(pool);
+                log.info("Reactive timecard reader pool started (max {})", poolMax);
+            }
+            return client;
+        }
+    }
+
+    @PreDestroy
+    void close() {
+        ConnectionPool p = pool;
+        if (p != null) {
+            p.dispose();
+        }
+    }
+}
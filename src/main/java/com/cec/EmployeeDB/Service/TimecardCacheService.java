@@ -2,18 +2,29 @@
 package com.cec.EmployeeDB.Service;
 
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.sql.Date;
+import java.util.Collection;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TimecardCacheService {
 
     private final JdbcTemplate jdbc;
+    private final NamedParameterJdbcTemplate named;
+    private final CacheManager cacheManager;
+    private final TimecardDataVersion dataVersion;
+    private final TimecardWeekBuckets weekBuckets;
 
     public record RefreshResult(int deleted, int inserted) {}
 
@@ -26,6 +37,7 @@ public class TimecardCacheService {
         Date endSql   = Date.valueOf(end);
         Date startSql = Date.valueOf(start);
 
+        weekBuckets.unindexSpans(start, end);
         int deleted = jdbc.update(
             "DELETE FROM timecard_spans_cache " +
             "WHERE start_date < ? AND end_date_excl > ?",
@@ -43,6 +55,34 @@ public class TimecardCacheService {
             endSql, startSql
         );
 
+        weekBuckets.indexSpans(start, end);
+        dataVersion.bumpAfterCommit();
         return new RefreshResult(deleted, inserted);
     }
+
+    /**
+     * Post-import refresh: rebuild spans for the work-date window covered by the
+     * given import batches and drop cached range queries. Never throws.
+     */
+    public void refreshForBatches(Collection<Long> batchIds) {
+        if (batchIds == null || batchIds.isEmpty()) {
+            return;
+        }
+        try {
+            var window = named.queryForMap("""
+                    SELECT MIN(work_date) AS min_d, MAX(work_date) AS max_d
+                    FROM paycom_time_report
+                    WHERE import_batch_id IN (:ids)
+                    """, new MapSqlParameterSource("ids", batchIds));
+            if (window.get("min_d") instanceof Date minD && window.get("max_d") instanceof Date maxD) {
+                refreshWindow(minD.toLocalDate(), maxD.toLocalDate().plusDays(1));
+            }
+        } catch (Exception ex) {
+            log.warn("Post-import spans cache refresh failed: {}", ex.getMessage());
+        }
+        Cache range = cacheManager.getCache("timecardRange");
+        if (range != null) {
+            range.clear();
+        }
+    }
 }
@@ -0,0 +1,68 @@
+// src/main/java/com/cec/EmployeeDB/Service/TimecardDataVersion.java
+package com.cec.EmployeeDB.Service;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDate;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Monotonic version of the timecard read model, bumped after every committed
+ * import, spans-cache refresh, punch delete and employee/roster write (names,
+ * status and projects are joined into the timecard reads). Seeded from the start time so tags issued
+ * before a restart never match afterwards.
+ */
+@Component
+public class TimecardDataVersion {
+
+    private final AtomicLong version = new AtomicLong(System.currentTimeMillis());
+
+    public long current() {
+        return version.get();
+    }
+
+    /**
+     * Strong ETag for the current version. The day is included because the
+     * read endpoints default their windows to "today".
+     */
+    public String etag() {
+        return "\"tc-" + Long.toString(version.get(), 36) + "-" + LocalDate.now().toEpochDay() + "\"";
+    }
+
+    public void bump() {
+        version.incrementAndGet();
+    }
+
+    /** Bump once the surrounding transaction commits (immediately if there is none). */
+    public void bumpAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    bump();
+                }
+            });
+        } else {
+            bump();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTimecardsImported(TimecardsImportedEvent e) {
+        bump();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFieldImported(FieldImportedEvent e) {
+        bump();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onPunchDeleted(TimecardPunchDeletedEvent e) {
+        bump();
+    }
+}
@@ -0,0 +1,229 @@
+// src/main/java/com/cec/EmployeeDB/Service/TimecardExportService.java
+package com.cec.EmployeeDB.Service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Bulk punch export (CSV or NDJSON) for payroll audits.
+ *
+ * Rows are read through a forward-only, streaming MySQL result set
+ * (fetch size {@code Integer.MIN_VALUE}) and written straight to the response
+ * stream, so memory stays flat no matter how many rows match. When the
+ * client goes away the statement is cancelled, so closing the result set does
+ * not drain the remaining rows.
+ */
+@Service
+@RequiredArgsConstructor
+public class TimecardExportService {
+
+    public enum Format { CSV, NDJSON }
+
+    static final String[] COLUMNS = {
+            "ee_code", "last_name", "first_name", "work_date", "in_punch_time", "out_punch_time",
+            "earn_code", "earn_hours", "job_code", "job_desc", "activity_code", "activity_desc",
+            "home_department", "import_batch_id"
+    };
+
+    private static final String BASE_SQL = """
+            SELECT
+              t.ee_code,
+              t.last_name,
+              t.first_name,
+              t.work_date,
+              t.in_punch_time,
+              t.out_punch_time,
+              t.earn_code,
+              t.earn_hours,
+              COALESCE(t.dist_job_code, t.home_job_code, t.allocation_code) AS job_code,
+              COALESCE(t.dist_job_desc, t.home_job_desc)                     AS job_desc,
+              COALESCE(t.dist_activity_code, t.home_activity_code)           AS activity_code,
+              COALESCE(t.dist_activity_desc, t.home_activity_desc)           AS activity_desc,
+              t.home_department,
+              t.import_batch_id
+            FROM paycom_time_report t
+            WHERE t.work_date BETWEEN ? AND ?
+            """;
+
+    private static final JsonFactory JSON = new JsonFactory();
+
+    private final JdbcTemplate jdbc;
+
+    /**
+     * Stream every punch in [start, end] (inclusive) matching the optional
+     * employee codes (case/space-insensitive) and job code. Does not close {@code out}.
+     */
+    public void export(LocalDate start, LocalDate end, List<String> eeCodes, String jobCode,
+                       Format format, OutputStream out) throws IOException {
+        StringBuilder sql = new StringBuilder(BASE_SQL);
+        List<Object> args = new ArrayList<>();
+        args.add(Date.valueOf(start));
+        args.add(Date.valueOf(end));
+        List<String> codes = eeCodes == null ? List.of() : eeCodes.stream()
+                .filter(Objects::nonNull)
+                .map(c -> c.trim().toUpperCase(Locale.ROOT))
+                .filter(c -> !c.isEmpty())
+                .distinct()
+                .toList();
+        if (!codes.isEmpty()) {
+            sql.append("  AND UPPER(TRIM(t.ee_code)) IN (").append(String.join(",", Collections.nCopies(codes.size(), "?"))).append(")\n");
+            args.addAll(codes);
+        }
+        if (jobCode != null && !jobCode.isBlank()) {
+            sql.append("  AND COALESCE(t.dist_job_code, t.home_job_code, t.allocation_code) = ?\n");
+            args.add(jobCode.trim());
+        }
+        sql.append("ORDER BY t.work_date, t.ee_code, t.in_punch_time");
+
+        RowSink sink = format == Format.NDJSON ? new NdjsonSink(out) : new CsvSink(out);
+        AtomicReference<Statement> running = new AtomicReference<>();
+        try {
+            jdbc.query(con -> {
+                PreparedStatement ps = con.prepareStatement(sql.toString(),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                // Connector/J: row-by-row streaming instead of buffering the whole result
+                ps.setFetchSize(Integer.MIN_VALUE);
+                for (int i = 0; i < args.size(); i++) {
+                    ps.setObject(i + 1, args.get(i));
+                }
+                running.set(ps);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                Object[] row = new Object[COLUMNS.length];
+                for (int i = 0; i < COLUMNS.length; i++) {
+                    row[i] = value(rs, i + 1);
+                }
+                try {
+                    sink.write(row);
+                } catch (IOException e) {
+                    // Client went away: kill the query, otherwise closing the streaming result set reads it to the end
+                    cancel(running.get());
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        sink.flush();
+    }
+
+    private static void cancel(Statement st) {
+        if (st != null) {
+            try {
+                st.cancel();
+            } catch (SQLException ignored) {
+            }
+        }
+    }
+
+    private static Object value(ResultSet rs, int col) throws SQLException {
+        Object v = rs.getObject(col);
+        if (v instanceof Timestamp ts) return ts.toLocalDateTime().toString();
+        if (v instanceof Date d) return d.toLocalDate().toString();
+        if (v instanceof TemporalAccessor t) return t.toString();
+        return v;
+    }
+
+    private interface RowSink {
+        void write(Object[] row) throws IOException;
+
+        void flush() throws IOException;
+    }
+
+    static final class CsvSink implements RowSink {
+        private final Writer w;
+
+        CsvSink(OutputStream out) throws IOException {
+            this.w = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+            writeRow(w, COLUMNS);
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            writeRow(w, row);
+        }
+
+        @Override
+        public void flush() throws IOException {
+            w.flush();
+        }
+    }
+
+    static final class NdjsonSink implements RowSink {
+        private final JsonGenerator g;
+
+        NdjsonSink(OutputStream out) throws IOException {
+            this.g = JSON.createGenerator(out, JsonEncoding.UTF8);
+            // One object per line
+            this.g.setRootValueSeparator(new SerializedString("\n"));
+            this.g.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        }
+
+        @Override
+        public void write(Object[] row) throws IOException {
+            g.writeStartObject();
+            for (int i = 0; i < COLUMNS.length; i++) {
+                Object v = row[i];
+                if (v == null) g.writeNullField(COLUMNS[i]);
+                else if (v instanceof BigDecimal bd) g.writeNumberField(COLUMNS[i], bd);
+                else if (v instanceof Long l) g.writeNumberField(COLUMNS[i], l);
+                else if (v instanceof Integer n) g.writeNumberField(COLUMNS[i], n);
+                else g.writeStringField(COLUMNS[i], v.toString());
+            }
+            g.writeEndObject();
+        }
+
+        @Override
+        public void flush() throws IOException {
+            g.writeRaw('\n');
+            g.flush();
+        }
+    }
+
+    /** RFC 4180 row: quote fields containing separators, quotes or line breaks. */
+    static void writeRow(Writer w, Object[] row) throws IOException {
+        for (int i = 0; i < row.length; i++) {
+            if (i > 0) w.write(',');
+            Object v = row[i];
+            if (v == null) continue;
+            String s = v instanceof BigDecimal bd ? bd.toPlainString() : v.toString();
+            if (s.indexOf(',') >= 0 || s.indexOf('"') >= 0 || s.indexOf('\n') >= 0 || s.indexOf('\r') >= 0) {
+                w.write('"');
+                w.write(s.replace("\"", "\"\""));
+                w.write('"');
+            } else {
+                w.write(s);
+            }
+        }
+        w.write("\r\n");
+    }
+}
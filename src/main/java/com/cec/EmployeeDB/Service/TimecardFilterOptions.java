@@ -0,0 +1,132 @@
+// src/main/java/com/cec/EmployeeDB/Service/TimecardFilterOptions.java
+package com.cec.EmployeeDB.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Dropdown dictionaries for the Timecards page, built once and then served
+ * from memory. Timecard and field imports drop the snapshot; a TTL covers the
+ * rolling 90-day project window. The ETag is a digest of the values, so a
+ * rebuild that finds the same data keeps the same tag.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimecardFilterOptions {
+
+    public record Snapshot(Map<String, List<String>> values, String etag, long builtAtMillis) {
+    }
+
+    private final JdbcTemplate jdbc;
+
+    @Value("${app.timecards.options.ttl-minutes:60}")
+    private long ttlMinutes;
+
+    private volatile Snapshot current;
+
+    public Snapshot get() {
+        Snapshot s = current;
+        if (s != null && !expired(s)) {
+            return s;
+        }
+        synchronized (this) {
+            s = current;
+            if (s == null || expired(s)) {
+                s = build();
+                current = s;
+            }
+            return s;
+        }
+    }
+
+    public void invalidate() {
+        current = null;
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTimecardsImported(TimecardsImportedEvent e) {
+        invalidate();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onFieldImported(FieldImportedEvent e) {
+        invalidate();
+    }
+
+    private boolean expired(Snapshot s) {
+        return System.currentTimeMillis() - s.builtAtMillis() > ttlMinutes * 60_000L;
+    }
+
+    private Snapshot build() {
+        List<String> projects = jdbc.query(
+                """
+                SELECT DISTINCT COALESCE(dist_job_code, home_job_code)
+                FROM paycom_time_report
+                WHERE work_date >= DATE_SUB(CURDATE(), INTERVAL 90 DAY)
+                  AND COALESCE(dist_job_code, home_job_code) IS NOT NULL
+                ORDER BY 1
+                LIMIT 500
+                """,
+                (rs, i) -> rs.getString(1));
+
+        List<String> titles = jdbc.query(
+                """
+                SELECT DISTINCT COALESCE(business_title, position_title)
+                FROM field
+                WHERE COALESCE(business_title, position_title) IS NOT NULL
+                ORDER BY 1
+                LIMIT 500
+                """,
+                (rs, i) -> rs.getString(1));
+
+        List<String> groups = jdbc.query(
+                """
+                SELECT DISTINCT work_group
+                FROM field
+                WHERE work_group IS NOT NULL
+                ORDER BY 1
+                LIMIT 300
+                """,
+                (rs, i) -> rs.getString(1));
+
+        Map<String, List<String>> values = new LinkedHashMap<>();
+        values.put("projects", List.copyOf(projects));
+        values.put("businessTitles", List.copyOf(titles));
+        values.put("workGroups", List.copyOf(groups));
+        log.debug("Rebuilt timecard filter options ({} projects)", projects.size());
+        return new Snapshot(Collections.unmodifiableMap(values), etag(values), System.currentTimeMillis());
+    }
+
+    static String etag(Map<String, List<String>> values) {
+        try {
+            MessageDigest md = MessageDigest.getInstance("SHA-256");
+            values.forEach((k, list) -> {
+                md.update(k.getBytes(StandardCharsets.UTF_8));
+                md.update((byte) 0);
+                for (String v : list) {
+                    md.update(v.getBytes(StandardCharsets.UTF_8));
+                    md.update((byte) 1);
+                }
+                md.update((byte) 2);
+            });
+            return "\"" + HexFormat.of().formatHex(md.digest(), 0, 12) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
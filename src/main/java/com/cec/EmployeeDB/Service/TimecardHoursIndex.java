@@ -0,0 +1,339 @@
+// src/main/java/com/cec/EmployeeDB/Service/TimecardHoursIndex.java
+package com.cec.EmployeeDB.Service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * In-memory hours per (employee, work day, project), aggregated from
+ * paycom_time_report into parallel primitive arrays sorted by day.
+ *
+ * Loaded in the background once the app is ready, patched after every
+ * committed import or punch delete (only the touched employees and dates are
+ * re-read) and rebuilt nightly. {@link #cells()} is null until the first load finishes;
+ * callers fall back to SQL in that case.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TimecardHoursIndex {
+
+    private static final String LOAD_SQL = """
+            SELECT
+              UPPER(TRIM(t.ee_code))                                         AS ee,
+              t.work_date                                                     AS wd,
+              COALESCE(t.dist_job_code, t.home_job_code, t.allocation_code)  AS project,
+              COUNT(*)                                                        AS n,
+              COUNT(t.earn_hours)                                             AS earn_n,
+              COALESCE(SUM(t.earn_hours), 0)                                  AS earn,
+              SUM(COALESCE(t.earn_hours, t.units, 0))                         AS hours
+            FROM paycom_time_report t
+            %s
+            GROUP BY 1, 2, 3
+            ORDER BY 2
+            """;
+
+    private final NamedParameterJdbcTemplate jdbc;
+
+    @Value("${app.timecards.hours-index.enabled:true}")
+    private boolean enabled;
+
+    private volatile Cells cells;
+
+    /** Current snapshot, or null while the index is disabled or still loading. */
+    public Cells cells() {
+        return cells;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void warm() {
+        if (enabled) {
+            Thread.ofVirtual().name("hours-index-load").start(this::reload);
+        }
+    }
+
+    @Scheduled(cron = "${app.timecards.hours-index.rebuild-cron:0 30 3 * * *}")
+    public void nightly() {
+        if (enabled) {
+            reload();
+        }
+    }
+
+    public synchronized void reload() {
+        try {
+            long t0 = System.nanoTime();
+            Cells fresh = query("", new MapSqlParameterSource());
+            cells = fresh;
+            log.info("Hours index loaded: {} cells, {} employees in {} ms",
+                    fresh.size(), fresh.employeeCount(), (System.nanoTime() - t0) / 1_000_000);
+        } catch (Exception ex) {
+            log.warn("Hours index load failed: {}", ex.getMessage());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onImported(TimecardsImportedEvent e) {
+        Cells current = cells;
+        if (!enabled || current == null) {
+            return;
+        }
+        if (e.replacedAll()) {
+            reload();
+            return;
+        }
+        if (e.eeCodes().isEmpty() || e.minDate() == null || e.maxDate() == null) {
+            return;
+        }
+        try {
+            Set<String> codes = new HashSet<>();
+            e.eeCodes().forEach(c -> codes.add(c.trim().toUpperCase(Locale.ROOT)));
+            patch(current, codes, e.minDate(), e.maxDate());
+        } catch (Exception ex) {
+            log.warn("Hours index patch for batches {} failed, reloading: {}", e.batchIds(), ex.getMessage());
+            reload();
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public synchronized void onPunchDeleted(TimecardPunchDeletedEvent e) {
+        Cells current = cells;
+        if (!enabled || current == null) {
+            return;
+        }
+        // undated punches live in the UNDATED bucket, which replace() cannot target
+        if (e.eeCode() == null || e.workDate() == null) {
+            reload();
+            return;
+        }
+        try {
+            patch(current, Set.of(e.eeCode().trim().toUpperCase(Locale.ROOT)), e.workDate(), e.workDate());
+        } catch (Exception ex) {
+            log.warn("Hours index patch for deleted punch {} failed, reloading: {}", e.id(), ex.getMessage());
+            reload();
+        }
+    }
+
+    private void patch(Cells current, Set<String> codes, LocalDate from, LocalDate to) {
+        Cells patch = query("WHERE UPPER(TRIM(t.ee_code)) IN (:codes) AND t.work_date BETWEEN :from AND :to",
+                new MapSqlParameterSource()
+                        .addValue("codes", codes)
+                        .addValue("from", from)
+                        .addValue("to", to));
+        cells = current.replace(codes, from, to, patch);
+    }
+
+    private Cells query(String where, MapSqlParameterSource params) {
+        Cells.Builder b = new Cells.Builder();
+        jdbc.query(LOAD_SQL.formatted(where), params, rs -> {
+            b.add(rs.getString("ee"), parseDay(rs.getString("wd")), rs.getString("project"),
+                    rs.getInt("n"), rs.getInt("earn_n"), rs.getFloat("earn"), rs.getFloat("hours"));
+        });
+        return b.build();
+    }
+
+    /** Zero and missing dates are kept (they count as rows) under {@link Cells#UNDATED}. */
+    private static int parseDay(String wd) {
+        if (wd == null || wd.startsWith("0000")) {
+            return Cells.UNDATED;
+        }
+        return (int) LocalDate.parse(wd.substring(0, 10)).toEpochDay();
+    }
+
+    /**
+     * Immutable, day-sorted cell arrays. Employee and project codes are
+     * dictionary-encoded; range queries binary-search the day column and scan.
+     */
+    public static final class Cells {
+
+        public static final int UNDATED = Integer.MIN_VALUE;
+
+        private final String[] employees;
+        private final String[] projects;
+        private final int[] day;
+        private final int[] emp;
+        private final int[] project;
+        private final int[] rows;
+        private final int[] earnRows;
+        private final float[] earnHours;
+        private final float[] hours;
+        private final int size;
+        private final int employeeCount;
+
+        private Cells(String[] employees, String[] projects, int[] day, int[] emp, int[] project,
+                      int[] rows, int[] earnRows, float[] earnHours, float[] hours, int size) {
+            this.employees = employees;
+            this.projects = projects;
+            this.day = day;
+            this.emp = emp;
+            this.project = project;
+            this.rows = rows;
+            this.earnRows = earnRows;
+            this.earnHours = earnHours;
+            this.hours = hours;
+            this.size = size;
+            BitSet seen = new BitSet(employees.length);
+            for (int i = 0; i < size; i++) {
+                seen.set(emp[i]);
+            }
+            this.employeeCount = seen.cardinality();
+        }
+
+        public int size() {
+            return size;
+        }
+
+        /** Distinct employees with at least one row. */
+        public int employeeCount() {
+            return employeeCount;
+        }
+
+        public LocalDate firstDay() {
+            int i = lowerBound(UNDATED + 1);
+            return i < size ? LocalDate.ofEpochDay(day[i]) : null;
+        }
+
+        public LocalDate lastDay() {
+            return size > 0 && day[size - 1] != UNDATED ? LocalDate.ofEpochDay(day[size - 1]) : null;
+        }
+
+        /** Sums over work days in [from, to]; null bounds are open, and only a fully open range includes undated rows. */
+        public Totals totals(LocalDate from, LocalDate to) {
+            int lo = from == null && to == null ? 0 : lowerBound(from == null ? UNDATED + 1 : (int) from.toEpochDay());
+            int hi = to == null ? size : upperBound((int) to.toEpochDay());
+            long n = 0, earnN = 0;
+            double earn = 0, h = 0;
+            for (int i = lo; i < hi; i++) {
+                n += rows[i];
+                earnN += earnRows[i];
+                earn += earnHours[i];
+                h += hours[i];
+            }
+            return new Totals(n, earnN, earn, h);
+        }
+
+        /** First index with day >= d. */
+        int lowerBound(int d) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (day[mid] < d) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        /** First index with day > d. */
+        int upperBound(int d) {
+            int lo = 0, hi = size;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (day[mid] <= d) lo = mid + 1;
+                else hi = mid;
+            }
+            return lo;
+        }
+
+        /**
+         * Copy without the cells of {@code codes} dated [from, to], merged
+         * (by day) with {@code patch}, which must cover exactly that slice.
+         */
+        Cells replace(Set<String> codes, LocalDate from, LocalDate to, Cells patch) {
+            int lo = (int) from.toEpochDay(), hi = (int) to.toEpochDay();
+            Builder b = new Builder();
+            int j = 0;
+            for (int i = 0; i < size; i++) {
+                while (j < patch.size && patch.day[j] < day[i]) {
+                    patch.copyTo(j++, b);
+                }
+                boolean replaced = day[i] >= lo && day[i] <= hi && codes.contains(employees[emp[i]]);
+                if (!replaced) {
+                    copyTo(i, b);
+                }
+            }
+            while (j < patch.size) {
+                patch.copyTo(j++, b);
+            }
+            return b.build();
+        }
+
+        private void copyTo(int i, Builder b) {
+            b.add(employees[emp[i]], day[i], project[i] < 0 ? null : projects[project[i]],
+                    rows[i], earnRows[i], earnHours[i], hours[i]);
+        }
+
+        /** Appends cells in ascending day order. */
+        static final class Builder {
+            private final Map<String, Integer> empIds = new HashMap<>();
+            private final Map<String, Integer> projectIds = new HashMap<>();
+            private int[] day = new int[1024];
+            private int[] emp = new int[1024];
+            private int[] project = new int[1024];
+            private int[] rows = new int[1024];
+            private int[] earnRows = new int[1024];
+            private float[] earnHours = new float[1024];
+            private float[] hours = new float[1024];
+            private int size;
+
+            void add(String ee, int d, String projectCode, int n, int earnN, float earn, float h) {
+                if (size == day.length) {
+                    int cap = size * 2;
+                    day = Arrays.copyOf(day, cap);
+                    emp = Arrays.copyOf(emp, cap);
+                    project = Arrays.copyOf(project, cap);
+                    rows = Arrays.copyOf(rows, cap);
+                    earnRows = Arrays.copyOf(earnRows, cap);
+                    earnHours = Arrays.copyOf(earnHours, cap);
+                    hours = Arrays.copyOf(hours, cap);
+                }
+                day[size] = d;
+                emp[size] = empIds.computeIfAbsent(ee == null ? "" : ee, k -> empIds.size());
+                project[size] = projectCode == null ? -1 : projectIds.computeIfAbsent(projectCode, k -> projectIds.size());
+                rows[size] = n;
+                earnRows[size] = earnN;
+                earnHours[size] = earn;
+                hours[size] = h;
+                size++;
+            }
+
+            Cells build() {
+                String[] employees = new String[empIds.size()];
+                empIds.forEach((k, v) -> employees[v] = k);
+                String[] projects = new String[projectIds.size()];
+                projectIds.forEach((k, v) -> projects[v] = k);
+                return new Cells(employees, projects, Arrays.copyOf(day, size), Arrays.copyOf(emp, size),
+                        Arrays.copyOf(project, size), Arrays.copyOf(rows, size), Arrays.copyOf(earnRows, size),
+                        Arrays.copyOf(earnHours, size), Arrays.copyOf(hours, size), size);
+            }
+        }
+    }
+
+    /**
+     * @param rows      punch rows (COUNT(*))
+     * @param earnRows  rows with a non-null earn_hours
+     * @param earnHours SUM(earn_hours)
+     * @param hours     SUM(COALESCE(earn_hours, units, 0))
+     */
+    public record Totals(long rows, long earnRows, double earnHours, double hours) {
+        public double averageEarnHours() {
+            return earnRows == 0 ? 0.0 : earnHours / earnRows;
+        }
+    }
+}
@@ -2,28 +2,38 @@ package com.cec.EmployeeDB.Service;
 
 import com.cec.EmployeeDB.Dto.ImportResultDTO;
 import com.cec.EmployeeDB.Entity.PaycomTimeReport;
+import com.cec.EmployeeDB.util.StagingTables;
+import com.mysql.cj.jdbc.JdbcStatement;
 import lombok.RequiredArgsConstructor;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.InputStreamSource;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCallback;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.InputStream;
 import java.math.BigDecimal;
 import java.security.MessageDigest;
 import java.time.LocalDateTime;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.StandardCopyOption;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Service
 @RequiredArgsConstructor
 public class TimecardImportService {
   private final JdbcTemplate jdbcTemplate;
+  private final ImportMetrics metrics;
+  private final ApplicationEventPublisher events;
+  private final TimecardWeekBuckets weekBuckets;
 
   // Defensive alias map for your 44+ headers (case/space tolerant)
   private static final Map<String, String> ALIAS = Map.ofEntries(
@@ -142,6 +152,63 @@ public class TimecardImportService {
                 )
       """;
 
+  // Shared template table; each import stages into its own TEMPORARY clone of it
+  private static final String STAGE_TABLE = "paycom_time_report_stage";
+
+  // raw_row_hash of a staged row (alias pts); also the input to the day-group fingerprints
+  private static final String ROW_HASH_EXPR = """
+    SHA1(
+        CONCAT_WS(
+            '|',
+            COALESCE(TRIM(pts.ee_code), ''),
+            COALESCE(TRIM(pts.last_name), ''),
+            COALESCE(TRIM(pts.first_name), ''),
+            COALESCE(TRIM(pts.home_department), ''),
+            COALESCE(TRIM(pts.home_allocation), ''),
+            COALESCE(TRIM(pts.pay_class), ''),
+            COALESCE(TRIM(pts.badge), ''),
+            COALESCE(TRIM(pts.in_punch_time), ''),
+            COALESCE(TRIM(pts.out_punch_time), ''),
+            COALESCE(TRIM(pts.allocation_code), ''),
+            COALESCE(TRIM(pts.earn_code), ''),
+            COALESCE(TRIM(pts.earn_hours), ''),
+            COALESCE(TRIM(pts.dollars), ''),
+            COALESCE(TRIM(pts.employee_approved), ''),
+            COALESCE(TRIM(pts.supervisor_approved), ''),
+            COALESCE(TRIM(pts.tax_profile), ''),
+            COALESCE(TRIM(pts.home_department_desc), ''),
+            COALESCE(TRIM(pts.home_payroll_profile_code), ''),
+            COALESCE(TRIM(pts.home_payroll_profile_desc), ''),
+            COALESCE(TRIM(pts.home_job_code), ''),
+            COALESCE(TRIM(pts.home_job_desc), ''),
+            COALESCE(TRIM(pts.home_section_code), ''),
+            COALESCE(TRIM(pts.home_section_desc), ''),
+            COALESCE(TRIM(pts.home_activity_code), ''),
+            COALESCE(TRIM(pts.home_activity_desc), ''),
+            COALESCE(TRIM(pts.home_user_access_code), ''),
+            COALESCE(TRIM(pts.home_user_access_desc), ''),
+            COALESCE(TRIM(pts.home_sub_department_code), ''),
+            COALESCE(TRIM(pts.home_sub_department_desc), ''),
+            COALESCE(TRIM(pts.dist_department_desc), ''),
+            COALESCE(TRIM(pts.dist_payroll_profile_code), ''),
+            COALESCE(TRIM(pts.dist_payroll_profile_desc), ''),
+            COALESCE(TRIM(pts.dist_job_code), ''),
+            COALESCE(TRIM(pts.dist_job_desc), ''),
+            COALESCE(TRIM(pts.dist_section_code), ''),
+            COALESCE(TRIM(pts.dist_section_desc), ''),
+            COALESCE(TRIM(pts.dist_activity_code), ''),
+            COALESCE(TRIM(pts.dist_activity_desc), ''),
+            COALESCE(TRIM(pts.dist_user_access_code), ''),
+            COALESCE(TRIM(pts.dist_user_access_desc), ''),
+            COALESCE(TRIM(pts.dist_sub_department_code), ''),
+            COALESCE(TRIM(pts.dist_sub_department_desc), ''),
+            COALESCE(TRIM(pts.work_location), ''),
+            COALESCE(TRIM(pts.dist_allocation_code), '')
+        )
+    )
+      """;
+
+  // Caller appends "FROM <stage> pts" (per-import staging table)
   private static final String INSERT_FROM_STAGE_SQL = """
         INSERT IGNORE INTO paycom_time_report (
             ee_code,
@@ -251,57 +318,26 @@ public class TimecardImportService {
             NULLIF(TRIM(pts.work_location), '') AS distributed_department_code,
             CAST(NULLIF(TRIM(pts.dist_allocation_code), '') AS DECIMAL(10,2)) AS units,
             @batch_id AS import_batch_id,
-            SHA1(
-                CONCAT_WS(
-                    '|',
-                    COALESCE(TRIM(pts.ee_code), ''),
-                    COALESCE(TRIM(pts.last_name), ''),
-                    COALESCE(TRIM(pts.first_name), ''),
-                    COALESCE(TRIM(pts.home_department), ''),
-                    COALESCE(TRIM(pts.home_allocation), ''),
-                    COALESCE(TRIM(pts.pay_class), ''),
-                    COALESCE(TRIM(pts.badge), ''),
-                    COALESCE(TRIM(pts.in_punch_time), ''),
-                    COALESCE(TRIM(pts.out_punch_time), ''),
-                    COALESCE(TRIM(pts.allocation_code), ''),
-                    COALESCE(TRIM(pts.earn_code), ''),
-                    COALESCE(TRIM(pts.earn_hours), ''),
-                    COALESCE(TRIM(pts.dollars), ''),
-                    COALESCE(TRIM(pts.employee_approved), ''),
-                    COALESCE(TRIM(pts.supervisor_approved), ''),
-                    COALESCE(TRIM(pts.tax_profile), ''),
-                    COALESCE(TRIM(pts.home_department_desc), ''),
-                    COALESCE(TRIM(pts.home_payroll_profile_code), ''),
-                    COALESCE(TRIM(pts.home_payroll_profile_desc), ''),
-                    COALESCE(TRIM(pts.home_job_code), ''),
-                    COALESCE(TRIM(pts.home_job_desc), ''),
-                    COALESCE(TRIM(pts.home_section_code), ''),
-                    COALESCE(TRIM(pts.home_section_desc), ''),
-                    COALESCE(TRIM(pts.home_activity_code), ''),
-                    COALESCE(TRIM(pts.home_activity_desc), ''),
-                    COALESCE(TRIM(pts.home_user_access_code), ''),
-                    COALESCE(TRIM(pts.home_user_access_desc), ''),
-                    COALESCE(TRIM(pts.home_sub_department_code), ''),
-                    COALESCE(TRIM(pts.home_sub_department_desc), ''),
-                    COALESCE(TRIM(pts.dist_department_desc), ''),
-                    COALESCE(TRIM(pts.dist_payroll_profile_code), ''),
-                    COALESCE(TRIM(pts.dist_payroll_profile_desc), ''),
-                    COALESCE(TRIM(pts.dist_job_code), ''),
-                    COALESCE(TRIM(pts.dist_job_desc), ''),
-                    COALESCE(TRIM(pts.dist_section_code), ''),
-                    COALESCE(TRIM(pts.dist_section_desc), ''),
-                    COALESCE(TRIM(pts.dist_activity_code), ''),
-                    COALESCE(TRIM(pts.dist_activity_desc), ''),
-                    COALESCE(TRIM(pts.dist_user_access_code), ''),
-                    COALESCE(TRIM(pts.dist_user_access_desc), ''),
-                    COALESCE(TRIM(pts.dist_sub_department_code), ''),
-                    COALESCE(TRIM(pts.dist_sub_department_desc), ''),
-                    COALESCE(TRIM(pts.work_location), ''),
-                    COALESCE(TRIM(pts.dist_allocation_code), '')
-                )
-            ) AS raw_row_hash
-        FROM paycom_time_report_stage pts
+            """ + ROW_HASH_EXPR + """
+             AS raw_row_hash
       """;
+  // Day groups written by a non-CSV path: their stored fingerprint no longer describes the table
+  static final String FORGET_BATCH_FINGERPRINTS_SQL = """
+      DELETE f FROM timecard_day_fingerprint f
+      JOIN (
+        SELECT DISTINCT TRIM(ee_code) AS ee_code, DATE(in_punch_time) AS work_date
+        FROM paycom_time_report
+        WHERE import_batch_id = ? AND in_punch_time IS NOT NULL
+      ) d ON f.ee_code = d.ee_code AND f.work_date = d.work_date
+      """;
+
+  // Batch ids are millisecond timestamps; keep them unique when imports run concurrently
+  private static final AtomicLong LAST_BATCH_ID = new AtomicLong();
+
+  static long nextBatchId() {
+    return LAST_BATCH_ID.updateAndGet(prev -> Math.max(prev + 1, System.currentTimeMillis()));
+  }
+
   /**
    * Main import method that handles both CSV and XLSX files
    * @param file The file to import
@@ -309,31 +345,139 @@ public class TimecardImportService {
    */
   @Transactional
   public ImportResultDTO importCsv(MultipartFile file, boolean replaceAll) throws Exception {
-    String filename = file.getOriginalFilename();
+    return importSource(file.getOriginalFilename(), file, replaceAll);
+  }
+
+  /**
+   * Import one CSV/XLSX payload from any stream source (upload part, ZIP entry, ...).
+   * @param filename Used only to pick the parser (.xlsx vs CSV)
+   */
+  @Transactional
+  public ImportResultDTO importSource(String filename, InputStreamSource source, boolean replaceAll) throws Exception {
+    return importSource(filename, source, replaceAll, true);
+  }
+
+  /**
+   * As above; with {@code publish=false} no {@link TimecardsImportedEvent} is sent,
+   * so a caller importing several payloads can announce them together via
+   * {@link #publishImported(Collection, boolean)} once all are committed.
+   */
+  @Transactional
+  public ImportResultDTO importSource(String filename, InputStreamSource source, boolean replaceAll,
+                                      boolean publish) throws Exception {
     if (filename != null && filename.toLowerCase().endsWith(".xlsx")) {
-      return importXlsx(file);
+      return importXlsx(filename, source, publish);
     }
 
-    long batchId = System.currentTimeMillis();
+    long batchId = nextBatchId();
+    ImportMetrics.Run timing = metrics.start("timecard-csv", filename);
     if (replaceAll) {
       jdbcTemplate.execute("TRUNCATE TABLE paycom_time_report");
+      weekBuckets.clearPunches();
+      jdbcTemplate.execute("TRUNCATE TABLE timecard_day_fingerprint");
+      timing.lap("truncate");
     }
 
-    int staged = loadCsvIntoStage(file);
-    normalizeZeroDatesInStage();
-    jdbcTemplate.update("SET @batch_id := ?", batchId);
-    int inserted = jdbcTemplate.update(INSERT_FROM_STAGE_SQL);
-    int duplicates = Math.max(staged - inserted, 0);
+    // Private staging table for this import; concurrent uploads never share rows
+    String stage = StagingTables.createSessionCopy(jdbcTemplate, STAGE_TABLE);
+    timing.lap("stage_create");
+    try {
+      int staged = loadCsvIntoStage(source, stage);
+      timing.lap("load_data");
+      normalizeZeroDatesInStage(stage);
+      timing.lap("zero_dates");
+      int unchanged = dropUnchangedDayGroups(stage, batchId);
+      timing.lap("fingerprints");
+      jdbcTemplate.update("SET @batch_id := ?", batchId);
+      int inserted = jdbcTemplate.update(INSERT_FROM_STAGE_SQL + " FROM `" + stage + "` pts");
+      timing.lap("insert_select");
+      weekBuckets.indexBatch(batchId);
+      timing.lap("week_buckets");
+      int duplicates = Math.max(staged - unchanged - inserted, 0);
+      if (publish) {
+        publishImported(List.of(batchId), replaceAll);
+      }
 
-    return ImportResultDTO.builder()
-        .batchId(batchId)
-        .total(staged)
-        .inserted(inserted)
-        .duplicates(duplicates)
-        .errors(0)
-        .build();
+      return ImportResultDTO.builder()
+          .batchId(batchId)
+          .total(staged)
+          .inserted(inserted)
+          .duplicates(duplicates)
+          .unchanged(unchanged)
+          .errors(0)
+          .phaseMillis(timing.finish(batchId, staged, inserted, duplicates))
+          .build();
+    } finally {
+      StagingTables.drop(jdbcTemplate, stage);
+    }
   }
   
+  /**
+   * Delta step: fingerprint every (employee, punch day) group in the stage and
+   * delete the groups whose fingerprint matches the one stored by an earlier
+   * import, since all of their rows already went through INSERT IGNORE. New
+   * and changed groups stay and their fingerprints are stored. Rows without
+   * an in-punch are never skipped.
+   * @return staged rows removed as unchanged
+   */
+  private int dropUnchangedDayGroups(String stage, long batchId) {
+    String groups = StagingTables.createSessionAs(jdbcTemplate, "timecard_stage_fp", ("""
+        SELECT h.ee_code, h.work_date,
+               CONCAT_WS(':', COUNT(*),
+                         BIT_XOR(CONV(SUBSTRING(h.row_hash, 1, 16), 16, 10)),
+                         BIT_XOR(CONV(SUBSTRING(h.row_hash, 17, 16), 16, 10)),
+                         SUM(CONV(SUBSTRING(h.row_hash, 33, 8), 16, 10))) AS fingerprint,
+               COUNT(*) AS row_count
+        FROM (
+          SELECT TRIM(pts.ee_code) AS ee_code,
+                 DATE(STR_TO_DATE(TRIM(pts.in_punch_time), '%%Y-%%m-%%d %%H:%%i:%%s')) AS work_date,
+                 """ + ROW_HASH_EXPR + """
+                 AS row_hash
+          FROM `%s` pts
+        ) h
+        GROUP BY h.ee_code, h.work_date
+        """).formatted(stage));
+    try {
+      int unchanged = jdbcTemplate.update("""
+          DELETE pts FROM `%s` pts
+          JOIN `%s` g
+            ON g.ee_code = TRIM(pts.ee_code)
+           AND g.work_date = DATE(STR_TO_DATE(TRIM(pts.in_punch_time), '%%Y-%%m-%%d %%H:%%i:%%s'))
+          JOIN timecard_day_fingerprint f
+            ON f.ee_code = g.ee_code
+           AND f.work_date = g.work_date
+           AND f.fingerprint = g.fingerprint
+          """.formatted(stage, groups));
+      jdbcTemplate.update("""
+          INSERT INTO timecard_day_fingerprint (ee_code, work_date, fingerprint, row_count, batch_id)
+          SELECT g.ee_code, g.work_date, g.fingerprint, g.row_count, ?
+          FROM `%s` g
+          WHERE g.ee_code IS NOT NULL AND g.ee_code <> '' AND g.work_date IS NOT NULL
+          ON DUPLICATE KEY UPDATE
+            batch_id    = IF(fingerprint = VALUES(fingerprint), batch_id, VALUES(batch_id)),
+            row_count   = VALUES(row_count),
+            fingerprint = VALUES(fingerprint)
+          """.formatted(groups), batchId);
+      return unchanged;
+    } finally {
+      StagingTables.drop(jdbcTemplate, groups);
+    }
+  }
+
+  /**
+   * A punch deleted outside an import: forget its day's fingerprint, otherwise
+   * a re-export of that day is skipped as unchanged and the punch never comes
+   * back. Runs synchronously, inside the deleting transaction.
+   */
+  @EventListener
+  public void onPunchDeleted(TimecardPunchDeletedEvent e) {
+    if (e.eeCode() == null || e.workDate() == null) {
+      return;
+    }
+    jdbcTemplate.update("DELETE FROM timecard_day_fingerprint WHERE ee_code = ? AND work_date = ?",
+        e.eeCode().trim(), e.workDate());
+  }
+
   /**
    * Backward compatibility - defaults to not replacing all
    */
@@ -341,18 +485,36 @@ public class TimecardImportService {
     return importCsv(file, false);
   }
 
-  @SuppressWarnings("null")
-  private int loadCsvIntoStage(MultipartFile file) throws Exception {
-    Path tmp = Files.createTempFile("paycom-timecards-", ".csv");
-    try {
-      Files.copy(file.getInputStream(), tmp, StandardCopyOption.REPLACE_EXISTING);
-      String abs = tmp.toAbsolutePath().toString().replace("\\", "\\\\");
-
-      jdbcTemplate.execute("TRUNCATE TABLE paycom_time_report_stage");
+  /** Tell listeners (after commit) which employees/dates these batches touched. */
+  public void publishImported(Collection<Long> batchIds, boolean replacedAll) {
+    if (batchIds.isEmpty()) {
+      return;
+    }
+    Set<String> eeCodes = new HashSet<>();
+    LocalDate[] window = new LocalDate[2];
+    new NamedParameterJdbcTemplate(jdbcTemplate).query("""
+        SELECT ee_code, MIN(work_date) AS min_d, MAX(work_date) AS max_d
+        FROM paycom_time_report
+        WHERE import_batch_id IN (:batchIds)
+        GROUP BY ee_code
+        """, new MapSqlParameterSource("batchIds", batchIds), rs -> {
+      eeCodes.add(rs.getString("ee_code"));
+      LocalDate min = rs.getObject("min_d", LocalDate.class);
+      LocalDate max = rs.getObject("max_d", LocalDate.class);
+      if (min != null && (window[0] == null || min.isBefore(window[0]))) window[0] = min;
+      if (max != null && (window[1] == null || max.isAfter(window[1]))) window[1] = max;
+    });
+    events.publishEvent(new TimecardsImportedEvent(List.copyOf(batchIds), eeCodes, window[0], window[1], replacedAll));
+  }
 
-      String sql = String.format("""
-          LOAD DATA LOCAL INFILE '%s'
-          INTO TABLE paycom_time_report_stage
+  /**
+   * Streams the CSV straight into LOAD DATA LOCAL INFILE via Connector/J's
+   * local-infile stream hook, so no temp-file copy is written first.
+   */
+  private int loadCsvIntoStage(InputStreamSource source, String stage) throws Exception {
+    final String sql = String.format("""
+          LOAD DATA LOCAL INFILE 'stream'
+          INTO TABLE `%s`
           CHARACTER SET utf8mb4
           FIELDS TERMINATED BY ',' 
           ENCLOSED BY '"'
@@ -360,35 +522,38 @@ public class TimecardImportService {
           LINES TERMINATED BY '\\r\\n'
           IGNORE 1 LINES
           %s
-          """, abs, LOAD_STAGE_COLUMNS);
-
-      return jdbcTemplate.update(sql);
-    } finally {
-      try { Files.deleteIfExists(tmp); } catch (Exception ignore) {}
+          """, stage, LOAD_STAGE_COLUMNS);
+
+    try (InputStream in = source.getInputStream()) {
+      Integer loaded = jdbcTemplate.execute((StatementCallback<Integer>) st -> {
+        st.unwrap(JdbcStatement.class).setLocalInfileInputStream(in);
+        return st.executeUpdate(sql);
+      });
+      return loaded != null ? loaded : 0;
     }
   }
 
-  private void normalizeZeroDatesInStage() {
+  private void normalizeZeroDatesInStage(String stage) {
     jdbcTemplate.update("""
-        UPDATE paycom_time_report_stage
+        UPDATE `%s`
         SET in_punch_time = NULL
         WHERE in_punch_time = '0000-00-00 00:00:00'
            OR in_punch_time = '0000-00-00'
-        """);
+        """.formatted(stage));
     jdbcTemplate.update("""
-        UPDATE paycom_time_report_stage
+        UPDATE `%s`
         SET out_punch_time = NULL
         WHERE out_punch_time = '0000-00-00 00:00:00'
            OR out_punch_time = '0000-00-00'
-        """);
+        """.formatted(stage));
   }
 
   /**
    * Import XLSX file with batch inserts for better performance
    */
-  @Transactional
-  private ImportResultDTO importXlsx(MultipartFile file) throws Exception {
-    long batchId = System.currentTimeMillis();
+  private ImportResultDTO importXlsx(String filename, InputStreamSource file, boolean publish) throws Exception {
+    long batchId = nextBatchId();
+    ImportMetrics.Run timing = metrics.start("timecard-xlsx", filename);
     int total=0, inserted=0, duplicates=0, errors=0;
 
     List<PaycomTimeReport> batchBuffer = new ArrayList<>(500); // Batch size 500
@@ -396,13 +561,16 @@ public class TimecardImportService {
     try (var in = file.getInputStream();
          Workbook workbook = new XSSFWorkbook(in)) {
       
+      timing.lap("parse_workbook");
       Sheet sheet = workbook.getSheetAt(0);
       Iterator<Row> rowIterator = sheet.iterator();
       
       if (!rowIterator.hasNext()) {
         return ImportResultDTO.builder()
             .batchId(batchId).total(0).inserted(0)
-            .duplicates(0).errors(0).build();
+            .duplicates(0).errors(0)
+            .phaseMillis(timing.finish(batchId, 0, 0, 0))
+            .build();
       }
 
       // Read header row
@@ -438,10 +606,23 @@ public class TimecardImportService {
         inserted += result[0];
         duplicates += result[1];
       }
+      timing.lap("map_and_insert");
+    }
+    if (inserted > 0) {
+      // the next CSV re-export of these days must not be skipped against a stale fingerprint
+      jdbcTemplate.update(FORGET_BATCH_FINGERPRINTS_SQL, batchId);
+      timing.lap("fingerprints");
+    }
+    weekBuckets.indexBatch(batchId);
+    timing.lap("week_buckets");
+    if (publish) {
+      publishImported(List.of(batchId), false);
     }
     return ImportResultDTO.builder()
         .batchId(batchId).total(total).inserted(inserted)
-        .duplicates(duplicates).errors(errors).build();
+        .duplicates(duplicates).errors(errors)
+        .phaseMillis(timing.finish(batchId, total, inserted, duplicates))
+        .build();
   }
 
   /**
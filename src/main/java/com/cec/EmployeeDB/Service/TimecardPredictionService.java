@@ -2,36 +2,112 @@ package com.cec.EmployeeDB.Service;
 
 import com.cec.EmployeeDB.Dto.LastWorkedPredictionDTO;
 import com.cec.EmployeeDB.Entity.EmployeeProjectPrediction;
-import com.cec.EmployeeDB.Entity.JobToProjectMap;
 import com.cec.EmployeeDB.Entity.PaycomTimeReport;
 import com.cec.EmployeeDB.Repo.EmployeeProjectPredictionRepository;
-import com.cec.EmployeeDB.Repo.JobToProjectMapRepository;
 import com.cec.EmployeeDB.Repo.PaycomTimeReportRepository;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
 import java.time.*;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class TimecardPredictionService {
     private final PaycomTimeReportRepository paycomRepo;
-    private final JobToProjectMapRepository mapRepo;
+    private final JobProjectResolver resolver;
     private final EmployeeProjectPredictionRepository predRepo;
+    private final JdbcTemplate jdbc;
+    private final ApplicationEventPublisher events;
+
+    @Value("${app.predictions.rebuild.batch-size:1000}")
+    private int rebuildBatchSize;
+
+    @Value("${app.predictions.rebuild.shards:8}")
+    private int rebuildShards;
+
+    // kept below the Hikari pool so requests and other jobs still get connections
+    @Value("${app.predictions.rebuild.max-connections:4}")
+    private int rebuildMaxConnections;
+
+    @Value("${spring.datasource.hikari.maximum-pool-size:10}")
+    private int hikariPoolSize;
+
+    // imports arriving within this delay are refreshed together
+    @Value("${app.predictions.refresh.debounce-ms:5000}")
+    private long refreshDebounceMs;
+
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    private final Set<String> pendingRefresh = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean refreshScheduled = new AtomicBoolean();
 
     // Earn codes to ignore for "worked at" logic (tune for your Paycom set)
     private static final Set<String> EXCLUDE_EARN = Set.of("PTO", "VAC", "HOL", "TRAIN", "ORIENT", "BEREAV");
 
+    private static final int LOOKBACK_DAYS = 28;
+
+    /** Stored predictions are considered current for this long (employee_project_prediction.expires_at). */
+    static final Duration PREDICTION_TTL = Duration.ofDays(7);
+
+    // Same rows and order as PaycomTimeReportRepository.findByEmpAndDateRange, for a set of employees (%s)
+    private static final String REBUILD_SCAN_SQL = """
+            SELECT ee_code, work_date, in_punch_time, earn_code, earn_hours,
+                   dist_job_code, home_job_code, distributed_department_code,
+                   home_department, home_department_desc, dist_department_desc
+            FROM paycom_time_report
+            WHERE work_date BETWEEN ? AND ?
+              AND %s
+            ORDER BY ee_code, work_date DESC, in_punch_time DESC
+            """;
+
+    private static final String DISTINCT_CODES_SQL = """
+            SELECT DISTINCT ee_code FROM paycom_time_report
+            WHERE work_date BETWEEN ? AND ? AND ee_code IS NOT NULL
+            ORDER BY ee_code
+            """;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO employee_project_prediction
+              (emp_code, project_key, confidence, method, as_of, source, explanation, expires_at)
+            VALUES (?, ?, ?, ?, ?, 'timecard', ?, ?)
+            ON DUPLICATE KEY UPDATE
+              project_key = VALUES(project_key), confidence = VALUES(confidence), method = VALUES(method),
+              as_of = VALUES(as_of), source = VALUES(source), explanation = VALUES(explanation),
+              expires_at = VALUES(expires_at)
+            """;
+
+    /** Outcome of the prediction rules for one employee. */
+    record Decision(String projectKey, int confidence, String method, String explanation) {
+    }
+
     public LastWorkedPredictionDTO predictForEmp(String empCode) {
         // look back 28 days for enough data
         LocalDate end = LocalDate.now(ZoneId.systemDefault());
-        LocalDate start = end.minusDays(28);
+        LocalDate start = end.minusDays(LOOKBACK_DAYS);
 
         List<PaycomTimeReport> rows = paycomRepo.findByEmpAndDateRange(empCode, start, end);
         rows = rows.stream()
-                .filter(r -> r.getEarnCode() == null || !EXCLUDE_EARN.contains(r.getEarnCode().toUpperCase()))
+                .filter(TimecardPredictionService::qualifies)
                 .collect(Collectors.toList());
 
         if (rows.isEmpty()) {
@@ -41,41 +117,66 @@ public class TimecardPredictionService {
                     .explanation("No qualifying timecard rows in last 28 days").build();
         }
 
-        // Mapping helper
-        var mapCache = new HashMap<String, String>(); // key -> projectKey
+        JobProjectResolver.Index lookup = resolver.index();
 
-        java.util.function.Function<PaycomTimeReport, String> mapProject = r -> {
-            // 1) Prefer DIST job code if present
-            if (notBlank(r.getDistJobCode())) {
-                String k = "job:" + r.getDistJobCode();
-                return mapCache.computeIfAbsent(k, kk -> mapByJob(r.getDistJobCode()));
-            }
-            // 2) Fallback HOME job code
-            if (notBlank(r.getHomeJobCode())) {
-                String k = "job:" + r.getHomeJobCode();
-                return mapCache.computeIfAbsent(k, kk -> mapByJob(r.getHomeJobCode()));
-            }
-            // 3) Try distributed/home depts
-            if (notBlank(r.getDistributedDepartmentCode())) {
-                String k = "dept:" + r.getDistributedDepartmentCode();
-                return mapCache.computeIfAbsent(k, kk -> mapByDept(r.getDistributedDepartmentCode(), null));
-            }
-            if (notBlank(r.getHomeDepartment())) {
-                String k = "dept:" + r.getHomeDepartment();
-                return mapCache.computeIfAbsent(k, kk -> mapByDept(r.getHomeDepartment(), r.getHomeDepartmentDesc()));
-            }
-            // 4) Try dist/home department *desc* matching
-            if (notBlank(r.getDistDepartmentDesc())) {
-                String k = "desc:" + r.getDistDepartmentDesc().toLowerCase();
-                return mapCache.computeIfAbsent(k, kk -> mapByDept(null, r.getDistDepartmentDesc()));
-            }
-            if (notBlank(r.getHomeDepartmentDesc())) {
-                String k = "desc:" + r.getHomeDepartmentDesc().toLowerCase();
-                return mapCache.computeIfAbsent(k, kk -> mapByDept(null, r.getHomeDepartmentDesc()));
-            }
-            return null;
-        };
+        Decision d = decide(rows, r -> mapProject(r, lookup), end);
+        if (d == null) {
+            return LastWorkedPredictionDTO.builder()
+                    .empCode(empCode).projectKey(null).confidence(0)
+                    .method("none").asOf(LocalDateTime.now())
+                    .explanation("No mappable rows in window").build();
+        }
 
+        // Upsert cache
+        EmployeeProjectPrediction pred = EmployeeProjectPrediction.builder()
+                .empCode(empCode).projectKey(d.projectKey()).confidence(d.confidence())
+                .method(d.method()).asOf(LocalDateTime.now()).source("timecard")
+                .explanation(d.explanation()).expiresAt(LocalDateTime.now().plus(PREDICTION_TTL))
+                .build();
+        predRepo.save(Objects.requireNonNull(pred));
+
+        return LastWorkedPredictionDTO.builder()
+                .empCode(empCode).projectKey(d.projectKey()).confidence(d.confidence())
+                .method(d.method()).asOf(pred.getAsOf()).explanation(d.explanation()).build();
+    }
+
+    static boolean qualifies(PaycomTimeReport r) {
+        return r.getEarnCode() == null || !EXCLUDE_EARN.contains(r.getEarnCode().toUpperCase());
+    }
+
+    /** Job code first (dist, then home), then department code, then department description. */
+    static String mapProject(PaycomTimeReport r, JobProjectResolver.Index lookup) {
+        // 1) Prefer DIST job code if present
+        if (notBlank(r.getDistJobCode())) {
+            return lookup.byJob(r.getDistJobCode());
+        }
+        // 2) Fallback HOME job code
+        if (notBlank(r.getHomeJobCode())) {
+            return lookup.byJob(r.getHomeJobCode());
+        }
+        // 3) Try distributed/home depts
+        if (notBlank(r.getDistributedDepartmentCode())) {
+            return lookup.byDept(r.getDistributedDepartmentCode(), null);
+        }
+        if (notBlank(r.getHomeDepartment())) {
+            return lookup.byDept(r.getHomeDepartment(), r.getHomeDepartmentDesc());
+        }
+        // 4) Try dist/home department *desc* matching
+        if (notBlank(r.getDistDepartmentDesc())) {
+            return lookup.byDept(null, r.getDistDepartmentDesc());
+        }
+        if (notBlank(r.getHomeDepartmentDesc())) {
+            return lookup.byDept(null, r.getHomeDepartmentDesc());
+        }
+        return null;
+    }
+
+    /**
+     * Applies the recency and weekly-majority rules to one employee's qualifying
+     * rows (newest first) as of {@code end}; null when nothing maps to a project.
+     */
+    static Decision decide(List<PaycomTimeReport> rows, java.util.function.Function<PaycomTimeReport, String> mapProject,
+                           LocalDate end) {
         // A) Recency rule (last day with >= 2.0 hours)
         Optional<PaycomTimeReport> mostRecent = rows.stream()
                 .filter(r -> r.getEarnHours() != null && r.getEarnHours().doubleValue() >= 2.0)
@@ -90,7 +191,7 @@ public class TimecardPredictionService {
         String recencyProject = mostRecent.map(mapProject).orElse(null);
         Integer recencyConf = null;
         if (mostRecent.isPresent() && recencyProject != null) {
-            long days = Duration.between(mostRecent.get().getWorkDate().atStartOfDay(), LocalDate.now().atStartOfDay())
+            long days = Duration.between(mostRecent.get().getWorkDate().atStartOfDay(), end.atStartOfDay())
                     .toDays();
             int freshness = (int) Math.max(40, 100 - days * 5); // decay 5 pts/day
             recencyConf = Math.min(90, freshness);
@@ -126,76 +227,25 @@ public class TimecardPredictionService {
         Integer weeklyConf = weeklyProject == null ? null : Math.min(95, 60 + weeklySharePct / 2);
 
         // Choose best
-        String project;
-        int confidence;
-        String method;
-        String explanation;
-
         int recencyConfVal = recencyConf != null ? recencyConf.intValue() : 0;
         int weeklyConfVal = weeklyConf != null ? weeklyConf.intValue() : 0;
 
         if (weeklyProject != null && weeklySharePct >= 60) {
-            project = weeklyProject;
-            confidence = weeklyConfVal;
-            method = "weekly-majority";
-            explanation = "Last completed week majority: " + weeklySharePct + "% of hours";
+            return new Decision(weeklyProject, weeklyConfVal, "weekly-majority",
+                    "Last completed week majority: " + weeklySharePct + "% of hours");
         } else if (recencyProject != null) {
-            project = recencyProject;
-            confidence = recencyConfVal;
-            method = "recency";
-            explanation = "Most recent day with >=2.0 hrs";
+            return new Decision(recencyProject, recencyConfVal, "recency", "Most recent day with >=2.0 hrs");
         } else if (weeklyProject != null) {
-            project = weeklyProject;
-            confidence = Math.max(50, weeklyConfVal);
-            method = "weekly-majority";
-            explanation = "Weekly plurality (no strong majority)";
-        } else {
-
-            return LastWorkedPredictionDTO.builder()
-                    .empCode(empCode).projectKey(null).confidence(0)
-                    .method("none").asOf(LocalDateTime.now())
-                    .explanation("No mappable rows in window").build();
+            return new Decision(weeklyProject, Math.max(50, weeklyConfVal), "weekly-majority",
+                    "Weekly plurality (no strong majority)");
         }
-
-        // Upsert cache
-        EmployeeProjectPrediction pred = EmployeeProjectPrediction.builder()
-                .empCode(empCode).projectKey(project).confidence(confidence)
-                .method(method).asOf(LocalDateTime.now()).source("timecard")
-                .explanation(explanation).expiresAt(LocalDateTime.now().plusDays(7))
-                .build();
-        predRepo.save(Objects.requireNonNull(pred));
-
-        return LastWorkedPredictionDTO.builder()
-                .empCode(empCode).projectKey(project).confidence(confidence)
-                .method(method).asOf(pred.getAsOf()).explanation(explanation).build();
+        return null;
     }
 
-    private boolean notBlank(String s) {
+    private static boolean notBlank(String s) {
         return s != null && !s.trim().isEmpty();
     }
 
-    private String mapByJob(String jobCode) {
-        return mapRepo.findByActiveTrueAndJobCode(jobCode).stream()
-                .max(Comparator.comparingInt(JobToProjectMap::getConfidenceBoost))
-                .map(JobToProjectMap::getProjectKey).orElse(null);
-    }
-
-    private String mapByDept(String deptCode, String deptDesc) {
-        if (notBlank(deptCode)) {
-            String viaCode = mapRepo.findByActiveTrueAndDepartmentCode(deptCode).stream()
-                    .max(Comparator.comparingInt(JobToProjectMap::getConfidenceBoost))
-                    .map(JobToProjectMap::getProjectKey).orElse(null);
-            if (viaCode != null)
-                return viaCode;
-        }
-        if (notBlank(deptDesc)) {
-            return mapRepo.findByActiveTrueAndDepartmentDescIgnoreCase(deptDesc).stream()
-                    .max(Comparator.comparingInt(JobToProjectMap::getConfidenceBoost))
-                    .map(JobToProjectMap::getProjectKey).orElse(null);
-        }
-        return null;
-    }
-
     public Map<String, LastWorkedPredictionDTO> predictForEmpList(Collection<String> empCodes) {
         Map<String, LastWorkedPredictionDTO> out = new HashMap<>();
         if (empCodes == null)
@@ -215,15 +265,256 @@ public class TimecardPredictionService {
         return rebuildAllPredictions(start, end);
     }
 
+    /**
+     * Streams the last 28 days of punches once, split into contiguous
+     * employee-code shards that run on virtual threads. Each employee is
+     * decided at its boundary with the same rules as {@link #predictForEmp};
+     * employees only count when they have any row in [start, end], matching the
+     * old per-employee loop. A shard holds one connection at a time (scan, then
+     * upserts) and a semaphore keeps the number of busy shards below the Hikari
+     * pool size. A failing employee or shard is logged and skipped, the rest of
+     * the run carries on.
+     */
     private int rebuildAllPredictions(LocalDate start, LocalDate end) {
-        List<String> codes = paycomRepo.findDistinctEmpCodesInWindow(start, end);
-        int wrote = 0;
-        for (String code : codes) {
-            var dto = predictForEmp(code);
-            if (dto.getProjectKey() != null && dto.getConfidence() > 0) {
-                wrote++;
+        if (!rebuilding.compareAndSet(false, true)) {
+            log.info("Prediction rebuild already running; skipped");
+            return 0;
+        }
+        try {
+            long t0 = System.nanoTime();
+            JobProjectResolver.Index lookup = resolver.index();
+            LocalDate scanStart = end.minusDays(LOOKBACK_DAYS);
+            LocalDateTime asOf = LocalDateTime.now();
+
+            List<String> codes = jdbc.queryForList(DISTINCT_CODES_SQL, String.class, scanStart, end);
+            int shardCount = Math.max(1, Math.min(rebuildShards, codes.size()));
+            int permits = Math.max(1, Math.min(rebuildMaxConnections, hikariPoolSize - 2));
+            Semaphore connections = new Semaphore(permits);
+            AtomicInteger done = new AtomicInteger();
+
+            List<Future<ShardResult>> futures = new ArrayList<>(shardCount);
+            try (ExecutorService vt = Executors.newVirtualThreadPerTaskExecutor()) {
+                for (int i = 0; i < shardCount && !codes.isEmpty(); i++) {
+                    int shard = i + 1;
+                    String lo = codes.get(i * codes.size() / shardCount);
+                    String hi = codes.get((i + 1) * codes.size() / shardCount - 1);
+                    futures.add(vt.submit(() -> {
+                        ShardResult r;
+                        try {
+                            connections.acquire();
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return new ShardResult(0, 0, 0, 0, "interrupted");
+                        }
+                        try {
+                            r = scan("shard " + shard, "ee_code >= ? AND ee_code <= ?", List.of(lo, hi),
+                                    scanStart, start, end, asOf, lookup);
+                        } finally {
+                            connections.release();
+                        }
+                        log.info("Prediction rebuild shard {}/{} [{} .. {}]: {} rows, {} employees, {} written, {} failed{} ({}/{} done)",
+                                shard, shardCount, lo, hi, r.rows(), r.employees(), r.written(), r.failed(),
+                                r.error() != null ? ", aborted: " + r.error() : "", done.incrementAndGet(), shardCount);
+                        return r;
+                    }));
+                }
+            }
+
+            long rows = 0, employees = 0, written = 0, failed = 0, failedShards = 0;
+            for (Future<ShardResult> f : futures) {
+                ShardResult r = f.resultNow();
+                rows += r.rows();
+                employees += r.employees();
+                written += r.written();
+                failed += r.failed();
+                failedShards += r.error() != null ? 1 : 0;
+            }
+            long ms = Math.max(1, (System.nanoTime() - t0) / 1_000_000);
+            log.info("Prediction rebuild: {} rows scanned, {} employees, {} predictions written, {} failed, {} shards ({} aborted, {} concurrent) in {} ms ({} rows/s)",
+                    rows, employees, written, failed, shardCount, failedShards, permits, ms, rows * 1000 / ms);
+            events.publishEvent(PredictionsUpdatedEvent.all());
+            return (int) written;
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    record ShardResult(long rows, int employees, int written, int failed, String error) {
+    }
+
+    /**
+     * Queues the employees an import touched and refreshes them shortly after
+     * on a virtual thread, so a burst of imports costs one pass. An import that
+     * replaced everything triggers a full rebuild instead.
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onTimecardsImported(TimecardsImportedEvent e) {
+        if (e.replacedAll()) {
+            Thread.ofVirtual().name("prediction-rebuild").start(() -> rebuildAllPredictions(LOOKBACK_DAYS));
+            return;
+        }
+        if (e.eeCodes() == null || e.eeCodes().isEmpty()) {
+            return;
+        }
+        pendingRefresh.addAll(e.eeCodes());
+        if (refreshScheduled.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("prediction-refresh").start(this::drainPendingRefresh);
+        }
+    }
+
+    private void drainPendingRefresh() {
+        try {
+            Thread.sleep(Math.max(0, refreshDebounceMs));
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+        }
+        // codes queued from here on schedule another drain
+        refreshScheduled.set(false);
+        List<String> codes = new ArrayList<>(pendingRefresh);
+        pendingRefresh.removeAll(codes);
+        try {
+            refreshPredictions(codes);
+        } catch (RuntimeException ex) {
+            log.warn("Prediction refresh for {} employees failed: {}", codes.size(), ex.toString());
+        }
+    }
+
+    /** Recomputes and stores predictions for just these employees, with the rebuild's scan and rules. */
+    public int refreshPredictions(Collection<String> empCodes) {
+        List<String> codes = empCodes.stream()
+                .filter(Objects::nonNull).map(String::trim).filter(c -> !c.isEmpty())
+                .distinct().toList();
+        if (codes.isEmpty()) {
+            return 0;
+        }
+        long t0 = System.nanoTime();
+        JobProjectResolver.Index lookup = resolver.index();
+        LocalDate end = LocalDate.now();
+        LocalDate scanStart = end.minusDays(LOOKBACK_DAYS);
+        LocalDateTime asOf = LocalDateTime.now();
+        int chunkSize = Math.max(1, rebuildBatchSize);
+
+        int employees = 0, written = 0, failed = 0;
+        for (int from = 0; from < codes.size(); from += chunkSize) {
+            List<Object> chunk = new ArrayList<>(codes.subList(from, Math.min(codes.size(), from + chunkSize)));
+            String in = chunk.stream().map(c -> "?").collect(Collectors.joining(","));
+            ShardResult r = scan("refresh", "ee_code IN (" + in + ")", chunk, scanStart, scanStart, end, asOf, lookup);
+            employees += r.employees();
+            written += r.written();
+            failed += r.failed() + (r.error() != null ? chunk.size() : 0);
+        }
+        log.info("Prediction refresh: {} imported employees, {} with rows, {} written, {} failed in {} ms",
+                codes.size(), employees, written, failed, (System.nanoTime() - t0) / 1_000_000);
+        events.publishEvent(new PredictionsUpdatedEvent(Set.copyOf(codes)));
+        return written;
+    }
+
+    /**
+     * Scans and decides the employees matched by {@code empFilter}, then upserts;
+     * uses one connection at a time. Employees count only with a row on or
+     * after {@code start}.
+     */
+    private ShardResult scan(String label, String empFilter, List<Object> empArgs, LocalDate scanStart,
+                             LocalDate start, LocalDate end, LocalDateTime asOf, JobProjectResolver.Index lookup) {
+        List<Object[]> pending = new ArrayList<>();
+        List<PaycomTimeReport> empRows = new ArrayList<>();
+        String[] emp = {null};
+        LocalDate[] empLatest = {null};
+        long[] rows = {0};
+        int[] counts = new int[2]; // employees, failed
+
+        Runnable flushEmployee = () -> {
+            if (emp[0] != null && empLatest[0] != null && !empLatest[0].isBefore(start) && !empRows.isEmpty()) {
+                counts[0]++;
+                try {
+                    Decision d = decide(empRows, r -> mapProject(r, lookup), end);
+                    if (d != null && d.confidence() > 0) {
+                        pending.add(new Object[] { emp[0], d.projectKey(), d.confidence(), d.method(),
+                                Timestamp.valueOf(asOf), d.explanation(), Timestamp.valueOf(asOf.plus(PREDICTION_TTL)) });
+                    }
+                } catch (RuntimeException e) {
+                    counts[1]++;
+                    log.warn("Prediction rebuild: employee {} skipped: {}", emp[0], e.toString());
+                }
+            }
+            empRows.clear();
+            empLatest[0] = null;
+        };
+
+        try {
+            jdbc.query(con -> {
+                PreparedStatement ps = con.prepareStatement(REBUILD_SCAN_SQL.formatted(empFilter),
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(Integer.MIN_VALUE);
+                ps.setObject(1, scanStart);
+                ps.setObject(2, end);
+                int i = 3;
+                for (Object arg : empArgs) {
+                    ps.setObject(i++, arg);
+                }
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                rows[0]++;
+                String ee = rs.getString("ee_code");
+                if (emp[0] == null || !emp[0].equalsIgnoreCase(ee)) {
+                    flushEmployee.run();
+                    emp[0] = ee;
+                }
+                PaycomTimeReport r = toRow(rs);
+                if (r.getWorkDate() != null && (empLatest[0] == null || r.getWorkDate().isAfter(empLatest[0]))) {
+                    empLatest[0] = r.getWorkDate();
+                }
+                if (qualifies(r)) {
+                    empRows.add(r);
+                }
+            });
+            flushEmployee.run();
+            int[] upserted = upsert(pending);
+            return new ShardResult(rows[0], counts[0], upserted[0], counts[1] + upserted[1], null);
+        } catch (RuntimeException e) {
+            log.warn("Prediction rebuild {} failed: {}", label, e.toString());
+            return new ShardResult(rows[0], counts[0], 0, counts[1], String.valueOf(e.getMessage()));
+        }
+    }
+
+    /** Multi-row upserts; a failing batch is retried row by row. Returns {written, failed}. */
+    private int[] upsert(List<Object[]> pending) {
+        int written = 0, failed = 0;
+        int batchSize = Math.max(1, rebuildBatchSize);
+        for (int from = 0; from < pending.size(); from += batchSize) {
+            List<Object[]> batch = pending.subList(from, Math.min(pending.size(), from + batchSize));
+            try {
+                jdbc.batchUpdate(UPSERT_SQL, batch);
+                written += batch.size();
+            } catch (RuntimeException batchError) {
+                for (Object[] args : batch) {
+                    try {
+                        jdbc.update(UPSERT_SQL, args);
+                        written++;
+                    } catch (RuntimeException e) {
+                        failed++;
+                        log.warn("Prediction rebuild: upsert for {} failed: {}", args[0], e.toString());
+                    }
+                }
             }
         }
-        return wrote;
+        return new int[] { written, failed };
+    }
+
+    private static PaycomTimeReport toRow(ResultSet rs) throws SQLException {
+        Timestamp in = rs.getTimestamp("in_punch_time");
+        return PaycomTimeReport.builder()
+                .eeCode(rs.getString("ee_code"))
+                .workDate(rs.getObject("work_date", LocalDate.class))
+                .inPunchTime(in != null ? in.toLocalDateTime() : null)
+                .earnCode(rs.getString("earn_code"))
+                .earnHours(rs.getBigDecimal("earn_hours"))
+                .distJobCode(rs.getString("dist_job_code"))
+                .homeJobCode(rs.getString("home_job_code"))
+                .distributedDepartmentCode(rs.getString("distributed_department_code"))
+                .homeDepartment(rs.getString("home_department"))
+                .homeDepartmentDesc(rs.getString("home_department_desc"))
+                .distDepartmentDesc(rs.getString("dist_department_desc"))
+                .build();
     }
 }
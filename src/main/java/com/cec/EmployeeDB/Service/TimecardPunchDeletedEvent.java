@@ -0,0 +1,14 @@
+// src/main/java/com/cec/EmployeeDB/Service/TimecardPunchDeletedEvent.java
+package com.cec.EmployeeDB.Service;
+
+import java.time.LocalDate;
+
+/**
+ * Published when a single paycom_time_report row is deleted outside an import
+ * (orphan punch cleanup); listen with {@code @TransactionalEventListener}.
+ *
+ * @param eeCode   employee code of the deleted punch, as stored
+ * @param workDate its work_date (null when it had none)
+ */
+public record TimecardPunchDeletedEvent(long id, String eeCode, LocalDate workDate) {
+}
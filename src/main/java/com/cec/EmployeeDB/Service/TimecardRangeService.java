@@ -3,6 +3,7 @@ package com.cec.EmployeeDB.Service;
 
 import com.cec.EmployeeDB.Dto.TimecardSpanDTO;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.RowMapper;
 import org.springframework.stereotype.Service;
@@ -20,6 +21,9 @@ public class TimecardRangeService {
 
     private final JdbcTemplate jdbc;
 
+    @Value("${app.timecards.use-cache:true}")
+    private boolean useCache;
+
     // Map a row from v_timecard_spans to the DTO using the builder
     private static final @org.springframework.lang.NonNull RowMapper<TimecardSpanDTO> MAPPER = new RowMapper<>() {
         @Override
@@ -44,8 +48,8 @@ public class TimecardRangeService {
     };
 
     /**
-     * Fetch spans from the view. We use inclusive start and exclusive end in the
-     * DTO,
+     * Fetch spans from the cache (week-bucketed) or the view. We use inclusive
+     * start and exclusive end in the DTO,
      * so a bar from Mon..Fri will have endDateExcl=Sat.
      */
     public List<TimecardSpanDTO> fetchSpans(LocalDate start, LocalDate end, String emp) {
@@ -55,12 +59,15 @@ public class TimecardRangeService {
                        dist_activity_code, dist_activity_desc,
                        allocation_code, home_allocation,
                        total_hours
-                FROM v_timecard_spans
-                WHERE start_date < ? AND end_date_excl > ?
                 """;
         List<Object> args = new ArrayList<>();
-        args.add(end); // start_date < end
-        args.add(start); // end_date_excl > start
+        if (useCache) {
+            baseSql += TimecardWeekBuckets.cachedSpansOverlapping(start, end, args);
+        } else {
+            baseSql += " FROM v_timecard_spans WHERE start_date < ? AND end_date_excl > ? ";
+            args.add(end); // start_date < end
+            args.add(start); // end_date_excl > start
+        }
 
         if (emp != null && !emp.isBlank()) {
             baseSql += " AND ee_code = ? ";
@@ -0,0 +1,129 @@
+// src/main/java/com/cec/EmployeeDB/Service/TimecardWeekBuckets.java
+package com.cec.EmployeeDB.Service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Week-bucket side tables for overlap lookups (V4__timecard_week_buckets.sql).
+ *
+ * A punch is listed under every Monday from its in day to its out day; a
+ * cached span under every Monday it covers. Readers turn a window into its
+ * list of Mondays and filter with {@code week_start IN (...)}, then re-apply
+ * the exact overlap predicate. Rows of deleted punches are harmless (the
+ * lookup by id finds nothing) and are not chased.
+ */
+@Service
+@RequiredArgsConstructor
+public class TimecardWeekBuckets {
+
+    /** Bucket for open punches and implausible ranges; always part of a punch lookup. */
+    public static final LocalDate OPEN = LocalDate.of(9999, 12, 31);
+
+    private static final String CLOSED_PUNCH = """
+            in_punch_time >= '1900-01-01'
+              AND out_punch_time IS NOT NULL
+              AND out_punch_time < in_punch_time + INTERVAL 366 DAY""";
+
+    private static final String INDEX_BATCH_SQL = """
+            INSERT IGNORE INTO timecard_punch_week (week_start, punch_id)
+            WITH RECURSIVE w (punch_id, wk, last_day) AS (
+              SELECT id, DATE(in_punch_time) - INTERVAL WEEKDAY(in_punch_time) DAY, DATE(out_punch_time)
+                FROM paycom_time_report
+               WHERE import_batch_id = ? AND %s
+              UNION ALL
+              SELECT punch_id, wk + INTERVAL 7 DAY, last_day FROM w WHERE wk + INTERVAL 7 DAY <= last_day
+            )
+            SELECT wk, punch_id FROM w
+            """.formatted(CLOSED_PUNCH);
+
+    private static final String INDEX_BATCH_OPEN_SQL = """
+            INSERT IGNORE INTO timecard_punch_week (week_start, punch_id)
+            SELECT ?, id
+              FROM paycom_time_report
+             WHERE import_batch_id = ?
+               AND in_punch_time IS NOT NULL
+               AND NOT (%s)
+            """.formatted(CLOSED_PUNCH);
+
+    private static final String INDEX_SPANS_SQL = """
+            INSERT IGNORE INTO timecard_spans_week (week_start, ee_code, start_date, end_date_excl)
+            WITH RECURSIVE w (wk, ee_code, start_date, end_date_excl) AS (
+              SELECT start_date - INTERVAL WEEKDAY(start_date) DAY, ee_code, start_date, end_date_excl
+                FROM timecard_spans_cache
+               WHERE start_date < ? AND end_date_excl > ?
+                 AND ee_code IS NOT NULL AND end_date_excl > start_date
+              UNION ALL
+              SELECT wk + INTERVAL 7 DAY, ee_code, start_date, end_date_excl FROM w WHERE wk + INTERVAL 7 DAY < end_date_excl
+            )
+            SELECT wk, ee_code, start_date, end_date_excl FROM w
+            """;
+
+    private final JdbcTemplate jdbc;
+
+    /** Bucket the punches inserted by one import batch (same transaction as the insert). */
+    public int indexBatch(long batchId) {
+        return jdbc.update(INDEX_BATCH_SQL, batchId) + jdbc.update(INDEX_BATCH_OPEN_SQL, OPEN, batchId);
+    }
+
+    /** Used with TRUNCATE of paycom_time_report; ids restart, so old rows must go too. */
+    public void clearPunches() {
+        jdbc.execute("TRUNCATE TABLE timecard_punch_week");
+    }
+
+    /** Drop span buckets for cache rows overlapping [start, end); call before the cache rows are deleted. */
+    public int unindexSpans(LocalDate start, LocalDate end) {
+        return jdbc.update("DELETE FROM timecard_spans_week WHERE start_date < ? AND end_date_excl > ?", end, start);
+    }
+
+    /** Bucket cache rows overlapping [start, end); call after they were (re)inserted. */
+    public int indexSpans(LocalDate start, LocalDate end) {
+        return jdbc.update(INDEX_SPANS_SQL, end, start);
+    }
+
+    /** Mondays touched by the datetime window [from, to), plus {@link #OPEN}. */
+    public static List<LocalDate> punchWeeks(LocalDateTime from, LocalDateTime to) {
+        List<LocalDate> weeks = mondays(from.toLocalDate(), to.minusNanos(1).toLocalDate());
+        weeks.add(OPEN);
+        return weeks;
+    }
+
+    /** Mondays touched by the day window [start, endExcl). */
+    public static List<LocalDate> spanWeeks(LocalDate start, LocalDate endExcl) {
+        return mondays(start, endExcl.minusDays(1));
+    }
+
+    /**
+     * FROM/WHERE for spans from timecard_spans_cache overlapping [start, endExcl),
+     * driven by the week buckets; bind values are appended to {@code args}.
+     */
+    public static String cachedSpansOverlapping(LocalDate start, LocalDate endExcl, List<Object> args) {
+        List<LocalDate> weeks = spanWeeks(start, endExcl);
+        args.addAll(weeks);
+        args.add(endExcl);
+        args.add(start);
+        return " FROM timecard_spans_cache c "
+                + " WHERE (c.ee_code, c.start_date, c.end_date_excl) IN ("
+                + "       SELECT w.ee_code, w.start_date, w.end_date_excl FROM timecard_spans_week w "
+                + "        WHERE w.week_start IN (" + weeks.stream().map(d -> "?").collect(Collectors.joining(",")) + "))"
+                + "   AND c.start_date < ? AND c.end_date_excl > ? ";
+    }
+
+    static List<LocalDate> mondays(LocalDate first, LocalDate last) {
+        List<LocalDate> out = new ArrayList<>();
+        LocalDate end = last.isBefore(first) ? first : last;
+        for (LocalDate d = first.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)); !d.isAfter(end); d = d.plusWeeks(1)) {
+            out.add(d);
+        }
+        return out;
+    }
+}
@@ -0,0 +1,183 @@
+// src/main/java/com/cec/EmployeeDB/Service/TimecardZipImportService.java
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Dto.ImportResultDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.stereotype.Service;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Imports a ZIP of Paycom exports (CSV/XLSX). Each entry is imported in its own
+ * transaction on a small bounded pool; derived data (spans cache, range cache)
+ * is refreshed once at the end for the union of dates touched, and a single
+ * {@link TimecardsImportedEvent} covering every entry's batch is published then.
+ *
+ * Entries are decompressed to temp files (deleted once imported), so heap use
+ * does not grow with entry size.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TimecardZipImportService {
+
+    private final TimecardImportService importService;
+    private final TimecardCacheService cacheService;
+    private final ImportMetrics metrics;
+
+    // Keep well under the Hikari pool size; every worker holds a connection for its whole entry
+    @Value("${app.timecards.import.zip-parallelism:3}")
+    private int parallelism;
+
+    @Value("${app.timecards.import.zip-max-entry-bytes:262144000}")
+    private long maxEntryBytes;
+
+    public ImportResultDTO importZip(MultipartFile zip) throws IOException, InterruptedException {
+        int workers = Math.max(1, parallelism);
+        Semaphore permits = new Semaphore(workers);
+        List<Future<ImportResultDTO>> pending = new ArrayList<>();
+        ImportMetrics.Run timing = metrics.start("timecard-zip", zip.getOriginalFilename());
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(workers);
+             ZipInputStream zin = new ZipInputStream(zip.getInputStream())) {
+            ZipEntry entry;
+            while ((entry = zin.getNextEntry()) != null) {
+                String name = entry.getName();
+                if (entry.isDirectory() || !isImportable(name)) {
+                    continue;
+                }
+                // Bound how many decompressed entries sit on disk at once
+                permits.acquire();
+                final Path spooled;
+                try {
+                    spooled = spoolEntry(zin, name);
+                } catch (IOException | RuntimeException ex) {
+                    permits.release();
+                    pending.add(CompletableFuture.completedFuture(failed(name, ex)));
+                    continue;
+                }
+                pending.add(pool.submit(() -> {
+                    try {
+                        ImportResultDTO r = importService.importSource(name, new FileSystemResource(spooled), false, false);
+                        r.setFileName(name);
+                        return r;
+                    } catch (Exception ex) {
+                        log.warn("ZIP entry {} failed to import: {}", name, ex.getMessage());
+                        return failed(name, ex);
+                    } finally {
+                        deleteQuietly(spooled);
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        timing.lap("entries");
+
+        List<ImportResultDTO> files = new ArrayList<>(pending.size());
+        for (Future<ImportResultDTO> f : pending) {
+            try {
+                files.add(f.get());
+            } catch (ExecutionException ex) {
+                files.add(failed("?", ex.getCause()));
+            }
+        }
+
+        ImportResultDTO total = ImportResultDTO.builder().files(files).build();
+        List<Long> batchIds = new ArrayList<>();
+        for (ImportResultDTO r : files) {
+            total.setTotal(total.getTotal() + r.getTotal());
+            total.setInserted(total.getInserted() + r.getInserted());
+            total.setDuplicates(total.getDuplicates() + r.getDuplicates());
+            if (r.getUnchanged() != null) {
+                total.setUnchanged((total.getUnchanged() == null ? 0 : total.getUnchanged()) + r.getUnchanged());
+            }
+            total.setErrors(total.getErrors() + r.getErrors());
+            if (r.getBatchId() > 0) {
+                batchIds.add(r.getBatchId());
+                total.setBatchId(Math.max(total.getBatchId(), r.getBatchId()));
+            }
+        }
+
+        // One spans-cache rebuild for the union of work dates across all entries
+        cacheService.refreshForBatches(batchIds);
+        timing.lap("cache_refresh");
+        try {
+            importService.publishImported(batchIds, false);
+        } catch (RuntimeException ex) {
+            log.warn("Import event for ZIP batches {} failed: {}", batchIds, ex.getMessage());
+        }
+        timing.lap("publish");
+        total.setPhaseMillis(timing.finish(total.getBatchId(), total.getTotal(), total.getInserted(), total.getDuplicates()));
+        return total;
+    }
+
+    /** Copies the current entry to a temp file (keeping its extension); the file is removed on failure. */
+    private Path spoolEntry(InputStream in, String name) throws IOException {
+        String lower = name.toLowerCase(Locale.ROOT);
+        Path tmp = Files.createTempFile("timecard-zip-", lower.substring(lower.lastIndexOf('.')));
+        try (OutputStream out = Files.newOutputStream(tmp)) {
+            byte[] buf = new byte[64 * 1024];
+            long read = 0;
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                read += n;
+                if (read > maxEntryBytes) {
+                    throw new IOException("Entry exceeds " + maxEntryBytes + " bytes: " + name);
+                }
+                out.write(buf, 0, n);
+            }
+        } catch (IOException | RuntimeException ex) {
+            deleteQuietly(tmp);
+            throw ex;
+        }
+        return tmp;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete ZIP spool file {}: {}", file, ex.getMessage());
+        }
+    }
+
+    static boolean isImportable(String name) {
+        if (name == null) {
+            return false;
+        }
+        String base = name.substring(name.lastIndexOf('/') + 1);
+        if (name.startsWith("__MACOSX/") || base.isEmpty() || base.startsWith(".")) {
+            return false;
+        }
+        String lower = base.toLowerCase(Locale.ROOT);
+        return lower.endsWith(".csv") || lower.endsWith(".xlsx");
+    }
+
+    private static ImportResultDTO failed(String name, Throwable ex) {
+        return ImportResultDTO.builder()
+                .fileName(name)
+                .errors(1)
+                .error(ex != null && ex.getMessage() != null ? ex.getMessage() : String.valueOf(ex))
+                .build();
+    }
+}
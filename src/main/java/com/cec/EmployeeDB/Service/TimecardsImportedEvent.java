@@ -0,0 +1,27 @@
+// src/main/java/com/cec/EmployeeDB/Service/TimecardsImportedEvent.java
+package com.cec.EmployeeDB.Service;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Published by {@link TimecardImportService} once per import (a ZIP import
+ * publishes one event covering all of its entries); listeners should use
+ * {@code @TransactionalEventListener} so they only see committed rows.
+ *
+ * @param batchIds  import batches the event covers (import_batch_id)
+ * @param eeCodes   employees with at least one newly inserted punch
+ * @param minDate   earliest work_date inserted (null when nothing was inserted)
+ * @param maxDate   latest work_date inserted
+ * @param replacedAll true when the import truncated paycom_time_report first
+ */
+public record TimecardsImportedEvent(List<Long> batchIds, Set<String> eeCodes,
+                                     LocalDate minDate, LocalDate maxDate,
+                                     boolean replacedAll) {
+
+    public TimecardsImportedEvent(long batchId, Set<String> eeCodes,
+                                  LocalDate minDate, LocalDate maxDate, boolean replacedAll) {
+        this(List.of(batchId), eeCodes, minDate, maxDate, replacedAll);
+    }
+}
@@ -26,7 +26,6 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 import java.sql.Timestamp;
 import java.util.Set;
@@ -37,10 +36,12 @@ public class TimecardsServiceImpl implements TimecardsService {
 
     private final JdbcTemplate jdbc;
     private final TimecardRepo timecardRepo;
+    private final JobProjectResolver jobProjects;
 
-    public TimecardsServiceImpl(JdbcTemplate jdbc, TimecardRepo timecardRepo) {
+    public TimecardsServiceImpl(JdbcTemplate jdbc, TimecardRepo timecardRepo, JobProjectResolver jobProjects) {
         this.jdbc = jdbc;
         this.timecardRepo = timecardRepo;
+        this.jobProjects = jobProjects;
     }
 
     // ----------------------------------------------------
@@ -161,7 +162,7 @@ public class TimecardsServiceImpl implements TimecardsService {
         int pageSize = Math.max(1, Math.min((limit <= 0 ? 6000 : limit), 20000));
         Pageable pageReq = PageRequest.of(0, pageSize, Sort.by(Sort.Direction.DESC, "inPunchTime"));
 
-        Page<Timecard> page = timecardRepo.findOverlapping(from, to, pageReq);
+        Page<Timecard> page = timecardRepo.findOverlapping(from, to, TimecardWeekBuckets.punchWeeks(from, to), pageReq);
         return page.getContent().stream().map(TimecardsServiceImpl::toDto).toList();
     }
 
@@ -175,18 +176,14 @@ public class TimecardsServiceImpl implements TimecardsService {
                 ? PageRequest.of(0, 2000, Sort.by(Sort.Direction.DESC, "inPunchTime"))
                 : pageable;
 
-        Page<Timecard> page = timecardRepo.findOverlapping(from, to, pageReq);
+        Page<Timecard> page = timecardRepo.findOverlapping(from, to, TimecardWeekBuckets.punchWeeks(from, to), pageReq);
         return page.map(TimecardsServiceImpl::toDto);
     }
 
     // ----------------------------------------------------
     // Mapping helpers
     // ----------------------------------------------------
-    private static final Pattern JOB_CODE_RE =
-            // Adjust the regex if your job-code pattern differs
-            Pattern.compile("\\b[A-Za-z]{2}\\d{2}-\\d{2}\\b", Pattern.CASE_INSENSITIVE);
-
-    private static TimecardDTO toDto(Timecard t) {
+    static TimecardDTO toDto(Timecard t) {
         TimecardDTO dto = new TimecardDTO();
 
         dto.setId(t.getId());
@@ -223,8 +220,8 @@ public class TimecardsServiceImpl implements TimecardsService {
     private static String codeFrom(String s) {
         if (s == null || s.isBlank())
             return null;
-        var m = JOB_CODE_RE.matcher(s);
-        return m.find() ? m.group().toUpperCase() : null;
+        // XX00-00 style codes; see JobProjectResolver.jobCodeIn
+        return JobProjectResolver.jobCodeIn(s);
     }
 
     private static String firstNonBlank(String... vals) {
@@ -282,7 +279,9 @@ public class TimecardsServiceImpl implements TimecardsService {
                     codeFrom(alloc),
                     homeJob);
             d.setJobNumber(job);
-            d.setProject(job); // your UI treats project as the code key
+            // mapped project when job_to_project_map knows the code, else the code itself (UI key)
+            String mapped = jobProjects.projectForJob(job);
+            d.setProject(mapped != null ? mapped : job);
             d.setLastSeenAt(ts == null ? null : ts.toLocalDateTime());
             return d;
         });
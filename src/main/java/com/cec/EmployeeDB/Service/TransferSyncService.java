@@ -18,9 +18,11 @@ import java.util.Optional;
 public class TransferSyncService {
 
     private final EmployeeRepo employeeRepo;
+    private final TimecardDataVersion timecardVersion;
 
-    public TransferSyncService(EmployeeRepo employeeRepo) {
+    public TransferSyncService(EmployeeRepo employeeRepo, TimecardDataVersion timecardVersion) {
         this.employeeRepo = employeeRepo;
+        this.timecardVersion = timecardVersion;
     }
 
     /**
@@ -192,6 +194,7 @@ public class TransferSyncService {
         if (updated) {
             employee.setUpdatedAt(LocalDateTime.now());
             employeeRepo.save(employee);
+            timecardVersion.bumpAfterCommit();
         }
     }
 
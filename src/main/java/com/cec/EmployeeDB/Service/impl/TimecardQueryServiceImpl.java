@@ -2,7 +2,10 @@ package com.cec.EmployeeDB.Service.impl;
 
 import com.cec.EmployeeDB.Dto.LatestWorkedDTO;
 import com.cec.EmployeeDB.Dto.TimecardSpanDTO;
+import com.cec.EmployeeDB.Service.EmployeePunchCache;
+import com.cec.EmployeeDB.Service.EmployeePunchCache.Snapshot;
 import com.cec.EmployeeDB.Service.TimecardQueryService;
+import com.cec.EmployeeDB.Service.TimecardWeekBuckets;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -10,6 +13,7 @@ import org.springframework.stereotype.Service;
 
 import java.sql.Timestamp;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -18,6 +22,7 @@ import java.util.stream.Collectors;
 public class TimecardQueryServiceImpl implements TimecardQueryService {
 
     private final JdbcTemplate jdbc;
+    private final EmployeePunchCache punchCache;
 
     @Value("${app.timecards.use-cache:true}")
     private boolean useCache;
@@ -31,20 +36,26 @@ public class TimecardQueryServiceImpl implements TimecardQueryService {
     // "COALESCE(p.work_location_desc, '')";
     private static final String WORK_LOCATION_EXPR = "''"; // safe default → UI shows "—"
 
+    private static final LocalDateTime MIN_VALID_PUNCH = LocalDateTime.of(1000, 1, 1, 0, 0);
+
     @Override
     public List<TimecardSpanDTO> fetchSpans(LocalDate start, LocalDate end, String emp, int limit) {
         int max = Math.max(100, Math.min(limit, 20_000));
 
         StringBuilder sql = new StringBuilder(
                 "SELECT ee_code, start_date, end_date_excl, dist_job_code, dist_job_desc, " +
-                        "       dist_activity_code, dist_activity_desc, allocation_code, home_allocation, total_hours "
-                        +
-                        "  FROM " + sourceTable() + " " +
-                        " WHERE start_date < ? AND end_date_excl > ? ");
+                        "       dist_activity_code, dist_activity_desc, allocation_code, home_allocation, total_hours ");
 
         List<Object> args = new ArrayList<>();
-        args.add(java.sql.Date.valueOf(end));
-        args.add(java.sql.Date.valueOf(start));
+        if (useCache) {
+            // cache rows are week-bucketed; the view is not
+            sql.append(TimecardWeekBuckets.cachedSpansOverlapping(start, end, args));
+        } else {
+            sql.append("  FROM ").append(sourceTable()).append(" ")
+                    .append(" WHERE start_date < ? AND end_date_excl > ? ");
+            args.add(java.sql.Date.valueOf(end));
+            args.add(java.sql.Date.valueOf(start));
+        }
 
         if (emp != null && !emp.isBlank()) {
             sql.append(" AND ee_code = ? ");
@@ -82,9 +93,21 @@ public class TimecardQueryServiceImpl implements TimecardQueryService {
         LocalDate start = LocalDate.now().minusDays(Math.max(1, windowDays));
         Map<String, LatestWorkedDTO> out = new HashMap<>();
 
+        // Employee drawer (single code) warms the punch cache; batch callers only use what is already cached
+        List<String> uncached = new ArrayList<>();
+        for (String code : eeCodes) {
+            Snapshot snap = eeCodes.size() == 1 ? punchCache.recent(code) : punchCache.peek(code);
+            LatestWorkedDTO hit = snap != null ? latestFromSnapshot(snap, start) : null;
+            if (hit != null) {
+                out.put(hit.getEeCode(), hit);
+            } else {
+                uncached.add(code);
+            }
+        }
+
         final int CHUNK = 900;
-        for (int i = 0; i < eeCodes.size(); i += CHUNK) {
-            List<String> chunk = eeCodes.subList(i, Math.min(i + CHUNK, eeCodes.size()));
+        for (int i = 0; i < uncached.size(); i += CHUNK) {
+            List<String> chunk = uncached.subList(i, Math.min(i + CHUNK, uncached.size()));
             String placeholders = chunk.stream().map(s -> "?").collect(Collectors.joining(","));
 
             String sql = """
@@ -141,6 +164,40 @@ public class TimecardQueryServiceImpl implements TimecardQueryService {
         return out;
     }
 
+    /**
+     * Same pick as the SQL above: GREATEST(out, in, work_date 18:00) is NULL unless
+     * both punches are set, and NULL sorts last. Returns null (use SQL) when no
+     * cached row qualifies, since an older, uncached row could still win.
+     */
+    static LatestWorkedDTO latestFromSnapshot(Snapshot snap, LocalDate start) {
+        int best = -1;
+        LocalDateTime bestTs = null;
+        for (int i = snap.lowerBound(start); i < snap.size(); i++) {
+            LocalDateTime in = snap.in(i);
+            LocalDateTime out = snap.out(i);
+            if (in == null || out == null || !in.isAfter(MIN_VALID_PUNCH) || !out.isAfter(MIN_VALID_PUNCH)) {
+                continue;
+            }
+            LocalDateTime ts = snap.workDate(i).atTime(18, 0);
+            if (in.isAfter(ts)) ts = in;
+            if (out.isAfter(ts)) ts = out;
+            if (bestTs == null || ts.isAfter(bestTs)) {
+                best = i;
+                bestTs = ts;
+            }
+        }
+        if (best < 0) {
+            return null;
+        }
+        return LatestWorkedDTO.builder()
+                .eeCode(snap.text(Snapshot.EE_CODE, best))
+                .jobNumber(Objects.requireNonNullElse(snap.text(Snapshot.DIST_JOB_CODE, best), ""))
+                .project(Objects.requireNonNullElse(snap.text(Snapshot.DIST_JOB_DESC, best), ""))
+                .workLocation("")
+                .lastWorkedAt(bestTs)
+                .build();
+    }
+
     @Override
     public LatestWorkedDTO latestForEmp(String eeCode, int windowDays) {
         if (eeCode == null || eeCode.isBlank()) {
@@ -0,0 +1,231 @@
+// src/main/java/com/cec/EmployeeDB/alerts/AlertEventStream.java
+package com.cec.EmployeeDB.alerts;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-process fan-out of alert changes over Server-Sent Events.
+ *
+ * Every {@link AlertsChangedEvent} gets a sequence number on a single
+ * dispatcher thread, so order is the same for everyone and idle subscribers
+ * cost no database work. The dispatcher only offers events to a bounded queue
+ * per subscriber ({@code app.alerts.stream.queue-size}); each subscriber has
+ * its own virtual thread doing the blocking writes. A client that stops
+ * reading fills its queue and is dropped, without holding up the others; it
+ * reconnects and resumes like any other client.
+ *
+ * The last {@code app.alerts.stream.replay-size} changes are kept: a reconnect
+ * with {@code Last-Event-ID} gets what it missed, or a {@code reset} event when
+ * that is no longer available (the client should then reload the list).
+ *
+ * Sequence numbers start from the boot time so they keep increasing across
+ * restarts.
+ */
+@Slf4j
+@Service
+public class AlertEventStream {
+
+  public record Change(long seq, String action, String type, List<Long> ids, int count, Instant at) {
+  }
+
+  @Value("${app.alerts.stream.timeout-ms:1800000}")
+  private long timeoutMs;
+
+  @Value("${app.alerts.stream.replay-size:1000}")
+  private int replaySize;
+
+  @Value("${app.alerts.stream.queue-size:256}")
+  private int queueSize;
+
+  private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+  private final Deque<Change> recent = new ArrayDeque<>();
+  private final ExecutorService dispatcher =
+      Executors.newSingleThreadExecutor(Thread.ofVirtual().name("alert-sse").factory());
+  // only touched on the dispatcher thread
+  private long seq = System.currentTimeMillis() * 1000;
+
+  /** @param lastEventId Last-Event-ID header of a reconnect, or null */
+  public SseEmitter subscribe(String lastEventId) {
+    SseEmitter emitter = newEmitter(timeoutMs);
+    Subscriber sub = new Subscriber(emitter, Math.max(1, queueSize));
+    emitter.onCompletion(sub::close);
+    emitter.onTimeout(sub::close);
+    emitter.onError(e -> sub.close());
+    Long after = parseSeq(lastEventId);
+    dispatcher.execute(() -> {
+      boolean queued = after != null
+          ? replay(sub, after)
+          : sub.offer(SseEmitter.event().id(Long.toString(seq)).name("ready").data(seq));
+      if (queued) {
+        subscribers.add(sub);
+        sub.start();
+      }
+    });
+    return emitter;
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onAlertsChanged(AlertsChangedEvent e) {
+    Instant at = Instant.now();
+    dispatcher.execute(() -> {
+      Change c = new Change(++seq, e.action(), e.type(), e.ids(), e.count(), at);
+      recent.addLast(c);
+      while (recent.size() > Math.max(1, replaySize)) {
+        recent.removeFirst();
+      }
+      for (Subscriber s : subscribers) {
+        s.offer(event(c));
+      }
+    });
+  }
+
+  /** Comment line so proxies keep idle streams open and dead clients get dropped. */
+  @Scheduled(fixedDelayString = "${app.alerts.stream.heartbeat-ms:25000}")
+  public void heartbeat() {
+    if (subscribers.isEmpty()) {
+      return;
+    }
+    dispatcher.execute(() -> {
+      for (Subscriber s : subscribers) {
+        s.offer(SseEmitter.event().comment("ping"));
+      }
+    });
+  }
+
+  int subscriberCount() {
+    return subscribers.size();
+  }
+
+  // seam for tests
+  SseEmitter newEmitter(long timeout) {
+    return new SseEmitter(timeout);
+  }
+
+  // a backlog larger than the queue can only be caught up by a reload
+  private boolean replay(Subscriber sub, long after) {
+    Change oldest = recent.peekFirst();
+    boolean gap = after > seq || (oldest != null ? after < oldest.seq() - 1 : after < seq);
+    List<Change> missed = gap ? List.of() : recent.stream().filter(c -> c.seq() > after).toList();
+    if (gap || missed.size() > sub.capacity()) {
+      return sub.offer(SseEmitter.event().id(Long.toString(seq)).name("reset").data("reload"));
+    }
+    for (Change c : missed) {
+      if (!sub.offer(event(c))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static SseEmitter.SseEventBuilder event(Change c) {
+    return SseEmitter.event().id(Long.toString(c.seq())).name("alert").data(c);
+  }
+
+  private static Long parseSeq(String lastEventId) {
+    if (lastEventId == null || lastEventId.isBlank()) {
+      return null;
+    }
+    try {
+      return Long.parseLong(lastEventId.trim());
+    } catch (NumberFormatException ex) {
+      return -1L; // unknown position: treated as a gap
+    }
+  }
+
+  @PreDestroy
+  void close() {
+    dispatcher.shutdownNow();
+    List.copyOf(subscribers).forEach(Subscriber::close);
+  }
+
+  /** One client: bounded queue filled by the dispatcher, drained by its own sender thread. */
+  private final class Subscriber implements Runnable {
+    private final SseEmitter emitter;
+    private final BlockingQueue<SseEmitter.SseEventBuilder> queue;
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private volatile Thread sender;
+
+    Subscriber(SseEmitter emitter, int capacity) {
+      this.emitter = emitter;
+      this.queue = new ArrayBlockingQueue<>(capacity);
+    }
+
+    int capacity() {
+      return queue.remainingCapacity() + queue.size();
+    }
+
+    void start() {
+      sender = Thread.ofVirtual().name("alert-sse-client").start(this);
+      if (closed.get()) {
+        sender.interrupt();
+      }
+    }
+
+    /** Never blocks; a full queue means the client is not reading, so it is dropped. */
+    boolean offer(SseEmitter.SseEventBuilder e) {
+      if (closed.get()) {
+        return false;
+      }
+      if (!queue.offer(e)) {
+        log.debug("Alert stream subscriber fell {} events behind; dropping it", queue.size());
+        close();
+        return false;
+      }
+      return true;
+    }
+
+    @Override
+    public void run() {
+      try {
+        while (!closed.get()) {
+          emitter.send(queue.take());
+        }
+      } catch (InterruptedException ignored) {
+        Thread.currentThread().interrupt();
+      } catch (IOException | IllegalStateException ex) {
+        log.debug("Alert stream subscriber gone: {}", ex.getMessage());
+      } finally {
+        close();
+      }
+    }
+
+    void close() {
+      if (!closed.compareAndSet(false, true)) {
+        return;
+      }
+      subscribers.remove(this);
+      queue.clear();
+      Thread t = sender;
+      if (t != null && t != Thread.currentThread()) {
+        t.interrupt();
+      }
+      // complete() waits for a send in progress; never do that on the dispatcher
+      Thread.ofVirtual().name("alert-sse-close").start(() -> {
+        try {
+          emitter.complete();
+        } catch (IllegalStateException ignored) {
+        }
+      });
+    }
+  }
+}
@@ -0,0 +1,145 @@
+// src/main/java/com/cec/EmployeeDB/alerts/AlertsBulkService.java
+package com.cec.EmployeeDB.alerts;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Ack/resolve many alerts per request.
+ *
+ * Alerts are picked either by id or by a filter (types, occurred_on range,
+ * employee), and updated with set-based {@code UPDATE}s of at most
+ * {@code app.alerts.bulk.chunk-size} rows. Each chunk commits on its own, so
+ * a large selection never holds row locks for long. Filter updates use
+ * {@code ORDER BY id LIMIT}; updated rows drop out of the filter through their
+ * status, so the loop ends once a chunk comes back short. Same status rules
+ * as {@link AlertsService#ack}/{@link AlertsService#resolve}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AlertsBulkService {
+
+  /** Filter half of a bulk request; at least one field must be set. */
+  public record Filter(List<String> types, LocalDate from, LocalDate to, Integer employeeId, String empCode) {
+    boolean isEmpty() {
+      return (types == null || types.isEmpty()) && from == null && to == null && employeeId == null
+          && (empCode == null || empCode.isBlank());
+    }
+  }
+
+  private static final String ACK_SET = "status='acked', acked_by=:by, acked_at=NOW()";
+  private static final String ACK_WHERE = "status='open'";
+  private static final String RESOLVE_SET = "status='resolved', resolved_at=NOW()";
+  private static final String RESOLVE_WHERE = "status<>'resolved'";
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final TransactionTemplate tx;
+  private final ApplicationEventPublisher events;
+
+  @Value("${app.alerts.bulk.chunk-size:500}")
+  private int chunkSize;
+
+  public Map<String, Object> ackIds(Collection<Long> ids, String by) {
+    return byIds("acked", ACK_SET, ACK_WHERE, ids, by);
+  }
+
+  public Map<String, Object> resolveIds(Collection<Long> ids) {
+    return byIds("resolved", RESOLVE_SET, RESOLVE_WHERE, ids, null);
+  }
+
+  public Map<String, Object> ackMatching(Filter filter, String by) {
+    return byFilter("acked", ACK_SET, ACK_WHERE, filter, by);
+  }
+
+  public Map<String, Object> resolveMatching(Filter filter) {
+    return byFilter("resolved", RESOLVE_SET, RESOLVE_WHERE, filter, null);
+  }
+
+  private Map<String, Object> byIds(String action, String set, String where, Collection<Long> ids, String by) {
+    List<Long> distinct = new ArrayList<>(new LinkedHashSet<>(ids.stream().filter(Objects::nonNull).toList()));
+    String sql = "UPDATE alert_event SET " + set + " WHERE id IN (:ids) AND " + where;
+    int size = Math.max(1, chunkSize);
+    int total = 0;
+    int chunks = 0;
+    for (int from = 0; from < distinct.size(); from += size) {
+      List<Long> chunk = List.copyOf(distinct.subList(from, Math.min(distinct.size(), from + size)));
+      var p = new MapSqlParameterSource("ids", chunk).addValue("by", by);
+      int n = Objects.requireNonNullElse(tx.execute(s -> jdbc.update(sql, p)), 0);
+      if (n > 0) {
+        events.publishEvent(new AlertsChangedEvent(action, null, chunk, n));
+      }
+      total += n;
+      chunks++;
+    }
+    return result(action, distinct.size(), total, chunks);
+  }
+
+  private Map<String, Object> byFilter(String action, String set, String where, Filter filter, String by) {
+    if (filter == null || filter.isEmpty()) {
+      throw new IllegalArgumentException("ids or at least one filter (types, from, to, employeeId, empCode) is required");
+    }
+    var sql = new StringBuilder("UPDATE alert_event SET ").append(set).append(" WHERE ").append(where);
+    var p = new MapSqlParameterSource().addValue("by", by).addValue("limit", Math.max(1, chunkSize));
+    if (filter.types() != null && !filter.types().isEmpty()) {
+      sql.append(" AND type IN (:types)");
+      p.addValue("types", filter.types());
+    }
+    if (filter.from() != null) {
+      sql.append(" AND occurred_on >= :fromDate");
+      p.addValue("fromDate", filter.from());
+    }
+    if (filter.to() != null) {
+      sql.append(" AND occurred_on <= :toDate");
+      p.addValue("toDate", filter.to());
+    }
+    if (filter.employeeId() != null) {
+      sql.append(" AND employee_id = :employeeId");
+      p.addValue("employeeId", filter.employeeId());
+    }
+    if (filter.empCode() != null && !filter.empCode().isBlank()) {
+      sql.append(" AND emp_code = :empCode");
+      p.addValue("empCode", filter.empCode().trim());
+    }
+    sql.append(" ORDER BY id LIMIT :limit");
+
+    int total = 0;
+    int chunks = 0;
+    int n;
+    do {
+      n = Objects.requireNonNullElse(tx.execute(s -> jdbc.update(sql.toString(), p)), 0);
+      if (n > 0) {
+        events.publishEvent(new AlertsChangedEvent(action, null, List.of(), n));
+      }
+      total += n;
+      chunks++;
+    } while (n >= Math.max(1, chunkSize));
+    log.info("Bulk {} by filter {}: {} alerts in {} chunks", action, filter, total, chunks);
+    return result(action, null, total, chunks);
+  }
+
+  private static Map<String, Object> result(String action, Integer requested, int total, int chunks) {
+    Map<String, Object> out = new LinkedHashMap<>();
+    if (requested != null) {
+      out.put("requested", requested);
+    }
+    out.put(action, total);
+    out.put("chunks", chunks);
+    return out;
+  }
+}
@@ -0,0 +1,28 @@
+// src/main/java/com/cec/EmployeeDB/alerts/AlertsChangedEvent.java
+package com.cec.EmployeeDB.alerts;
+
+import java.util.List;
+
+/**
+ * Published whenever alert_event rows were written; relayed to SSE
+ * subscribers by {@link AlertEventStream} after the commit.
+ *
+ * @param action upserted | acked | resolved
+ * @param type   alert type for batch upserts, null otherwise
+ * @param ids    alert ids changed, empty when a batch upserted by query
+ * @param count  rows affected
+ */
+public record AlertsChangedEvent(String action, String type, List<Long> ids, int count) {
+
+  public static AlertsChangedEvent upserted(String type, int count) {
+    return new AlertsChangedEvent("upserted", type, List.of(), count);
+  }
+
+  public static AlertsChangedEvent acked(List<Long> ids, int count) {
+    return new AlertsChangedEvent("acked", null, List.copyOf(ids), count);
+  }
+
+  public static AlertsChangedEvent resolved(List<Long> ids, int count) {
+    return new AlertsChangedEvent("resolved", null, List.copyOf(ids), count);
+  }
+}
@@ -1,8 +1,10 @@
 package com.cec.EmployeeDB.alerts;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -18,10 +20,17 @@ public class AlertsController {
   private final AlertsService alertsService;
   private final NoHoursAlertBatch noHours;
   private final MissedPunchAlertBatch missedPunch;
+  private final ImportAlertRefresher importAlerts;
+  private final AlertEventStream alertStream;
+  private final AlertsBulkService bulk;
+
+  static final String NEXT_CURSOR = "X-Next-Cursor";
 
   /**
    * List alerts with safe, optional filters. Nothing here touches your
    * Gantt/Reports.
+   * When a page is full, {@code X-Next-Cursor} carries the value to pass as
+   * {@code cursor} for the next one.
    */
   @GetMapping
   public ResponseEntity<List<AlertEventDTO>> list(
@@ -31,12 +40,29 @@ public class AlertsController {
       @RequestParam(required = false) String empCode,
       @RequestParam(required = false) String from, // YYYY-MM-DD
       @RequestParam(required = false) String to, // YYYY-MM-DD
+      @RequestParam(required = false) String cursor, // occurredOn_id of the last row seen
       @RequestParam(defaultValue = "200") int limit) {
 
     LocalDate fromDate = parseDate(from);
     LocalDate toDate = parseDate(to);
-    return ResponseEntity.ok(
-        alertsService.list(status, types, employeeId, empCode, fromDate, toDate, Math.max(1, Math.min(limit, 2000))));
+    int pageSize = Math.max(1, Math.min(limit, 2000));
+    List<AlertEventDTO> rows = alertsService.list(status, types, employeeId, empCode, fromDate, toDate,
+        AlertsService.Cursor.parse(cursor), pageSize);
+    var resp = ResponseEntity.ok();
+    if (rows.size() == pageSize) {
+      resp.header(NEXT_CURSOR, AlertsService.Cursor.of(rows.get(rows.size() - 1)).toString());
+    }
+    return resp.body(rows);
+  }
+
+  /**
+   * Push stream of alert changes ({@code alert} events: upserted/acked/resolved),
+   * so the UI can refresh on change instead of polling. Reconnects resume
+   * after Last-Event-ID; a {@code reset} event means reload the list.
+   */
+  @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+  public SseEmitter stream(@RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+    return alertStream.subscribe(lastEventId);
   }
 
   @GetMapping("/{id}")
@@ -80,6 +106,42 @@ public class AlertsController {
     return resp;
   }
 
+  /** Bulk ack: {@code ids}, or every open alert matching the filter. */
+  @PostMapping("/bulk/ack")
+  public ResponseEntity<Map<String, Object>> bulkAck(@RequestBody BulkAlertRequest body, HttpServletRequest req) {
+    if (com.cec.EmployeeDB.Config.SmokeTestGuard.isSmokeTest(req)) {
+      return ResponseEntity.ok(Map.of("status", "smoke", "message", "skipped bulk ack"));
+    }
+    String by = Optional.ofNullable(body.by()).filter(s -> !s.isBlank()).orElse("system");
+    return bulk(() -> body.ids() != null && !body.ids().isEmpty()
+        ? bulk.ackIds(body.ids(), by)
+        : bulk.ackMatching(filter(body), by));
+  }
+
+  /** Bulk resolve: {@code ids}, or every unresolved alert matching the filter. */
+  @PostMapping("/bulk/resolve")
+  public ResponseEntity<Map<String, Object>> bulkResolve(@RequestBody BulkAlertRequest body, HttpServletRequest req) {
+    if (com.cec.EmployeeDB.Config.SmokeTestGuard.isSmokeTest(req)) {
+      return ResponseEntity.ok(Map.of("status", "smoke", "message", "skipped bulk resolve"));
+    }
+    return bulk(() -> body.ids() != null && !body.ids().isEmpty()
+        ? bulk.resolveIds(body.ids())
+        : bulk.resolveMatching(filter(body)));
+  }
+
+  private static ResponseEntity<Map<String, Object>> bulk(java.util.function.Supplier<Map<String, Object>> run) {
+    try {
+      return ResponseEntity.ok(run.get());
+    } catch (IllegalArgumentException | java.time.DateTimeException ex) {
+      return ResponseEntity.badRequest().body(Map.of("status", "error", "message", ex.getMessage()));
+    }
+  }
+
+  private static AlertsBulkService.Filter filter(BulkAlertRequest body) {
+    return new AlertsBulkService.Filter(body.types(), parseDate(body.from()), parseDate(body.to()),
+        body.employeeId(), body.empCode());
+  }
+
   /** Manual runners so you can drive this from the UI while we iterate. */
   @PostMapping("/run/no-hours")
   public Map<String, Object> runNoHours(@RequestParam(defaultValue = "this-week") String scope,
@@ -145,14 +207,9 @@ public class AlertsController {
     if (com.cec.EmployeeDB.Config.SmokeTestGuard.isSmokeTest(req)) {
       return Map.of("status", "smoke", "message", "skipped refresh");
     }
-    int noHoursThisWeek = noHours.upsertNoHoursThisWeek();
-    int noHoursLastWeek = noHours.upsertNoHoursLastWeek();
-    int missedPunchUpserts = missedPunch.upsertMissedPunchForPrevBusinessDay();
-    return Map.of(
-        "noHoursThisWeek", noHoursThisWeek,
-        "noHoursLastWeek", noHoursLastWeek,
-        "missedPunchUpserts", missedPunchUpserts,
-        "refreshedAt", java.time.LocalDateTime.now().toString());
+    Map<String, Object> out = importAlerts.refreshAll();
+    out.put("refreshedAt", java.time.LocalDateTime.now().toString());
+    return out;
   }
 
   private static LocalDate parseDate(String s) {
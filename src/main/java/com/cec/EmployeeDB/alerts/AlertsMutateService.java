@@ -2,24 +2,29 @@
 package com.cec.EmployeeDB.alerts;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 @Service @RequiredArgsConstructor
 public class AlertsMutateService {
   private final NamedParameterJdbcTemplate jdbc;
+  private final ApplicationEventPublisher events;
 
   public void ack(long id) {
-    jdbc.update("""
+    int n = jdbc.update("""
       UPDATE alert_event SET status='ACKED', acked_at=:now WHERE id=:id
     """, Objects.requireNonNull(Map.of("id", id, "now", LocalDateTime.now()), "parameters cannot be null"));
+    if (n > 0) events.publishEvent(AlertsChangedEvent.acked(List.of(id), n));
   }
   public void resolve(long id) {
-    jdbc.update("""
+    int n = jdbc.update("""
       UPDATE alert_event SET status='RESOLVED', resolved_at=:now WHERE id=:id
     """, Objects.requireNonNull(Map.of("id", id, "now", LocalDateTime.now()), "parameters cannot be null"));
+    if (n > 0) events.publishEvent(AlertsChangedEvent.resolved(List.of(id), n));
   }
 }
@@ -1,8 +1,7 @@
 // src/main/java/com/cec/EmployeeDB/alerts/AlertsQueryService.java
 package com.cec.EmployeeDB.alerts;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.RawValue;
 import lombok.RequiredArgsConstructor;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
@@ -18,9 +17,6 @@ import java.util.Optional;
 public class AlertsQueryService {
 
   private final NamedParameterJdbcTemplate jdbc;
-  private static final ObjectMapper MAPPER = new ObjectMapper();
-  private static final TypeReference<Map<String, Object>> MAP_TYPE =
-      new TypeReference<>() {};
 
   public List<Map<String, Object>> find(String status, int limit) {
     String sql = """
@@ -38,15 +34,10 @@ public class AlertsQueryService {
       """;
 
     return jdbc.query(sql, Objects.requireNonNull(Map.of("status", status, "limit", limit), "parameters cannot be null"), (rs, i) -> {
+      // details_json is a MySQL JSON column, so always valid JSON: written to
+      // the response as-is instead of parsed into a Map and serialized again
       String detailsStr = rs.getString("details");
-      Map<String, Object> details;
-      try {
-        details = (detailsStr == null || detailsStr.isBlank())
-            ? Map.<String, Object>of()
-            : MAPPER.readValue(detailsStr, MAP_TYPE);
-      } catch (Exception e) {
-        details = Map.<String, Object>of(); // be resilient if a row has bad JSON
-      }
+      RawValue details = new RawValue(detailsStr == null || detailsStr.isBlank() ? "{}" : detailsStr);
 
       Date d = rs.getDate("occurredOn");
       String occurredOn = Optional.ofNullable(d)
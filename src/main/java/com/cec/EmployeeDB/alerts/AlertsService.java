@@ -1,6 +1,8 @@
 package com.cec.EmployeeDB.alerts;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
@@ -13,23 +15,57 @@ import java.util.Objects;
 @RequiredArgsConstructor
 public class AlertsService {
     private final NamedParameterJdbcTemplate jdbc;
+    private final ApplicationEventPublisher events;
 
+    // emp_code is the stored column generated from details_json (see V6 migration)
+    private static final String COLUMNS = """
+            SELECT
+              id, employee_id, type, severity, occurred_on, status, emp_code,
+              dedupe_key, event_type, subject, first_seen_at, last_seen_at, occurrence_count,
+              details_json
+            FROM alert_event
+            """;
+
+    private static final RowMapper<AlertEventDTO> ROW_MAPPER = (rs, i) -> new AlertEventDTO(
+            rs.getLong("id"),
+            (Integer) rs.getObject("employee_id"),
+            Objects.requireNonNull(rs.getString("type"), "type cannot be null"),
+            Objects.requireNonNull(rs.getString("severity"), "severity cannot be null"),
+            rs.getDate("occurred_on").toLocalDate(),
+            Objects.requireNonNull(rs.getString("status"), "status cannot be null"),
+            Objects.requireNonNullElse(rs.getString("emp_code"), ""),
+            Objects.requireNonNull(rs.getString("dedupe_key"), "dedupe_key cannot be null"),
+            Objects.requireNonNullElse(rs.getString("event_type"), ""),
+            Objects.requireNonNullElse(rs.getString("subject"), ""),
+            rs.getTimestamp("first_seen_at") != null ? rs.getTimestamp("first_seen_at").toInstant() : null,
+            rs.getTimestamp("last_seen_at") != null ? rs.getTimestamp("last_seen_at").toInstant() : null,
+            rs.getInt("occurrence_count"),
+            Objects.requireNonNullElse(rs.getString("details_json"), "{}"));
+
+    public List<AlertEventDTO> list(String status,
+            List<String> types,
+            Integer employeeId,
+            String empCode,
+            LocalDate from,
+            LocalDate to,
+            int limit) {
+        return list(status, types, employeeId, empCode, from, to, null, limit);
+    }
+
+    /**
+     * Same filters, newest first, one page at a time: {@code after} is the
+     * last row of the previous page and the next page starts strictly below
+     * it in (occurred_on, id) order.
+     */
     public List<AlertEventDTO> list(String status,
             List<String> types,
             Integer employeeId,
             String empCode,
             LocalDate from,
             LocalDate to,
+            Cursor after,
             int limit) {
-        var sql = new StringBuilder("""
-                SELECT
-                  id, employee_id, type, severity, occurred_on, status,
-                  JSON_EXTRACT(details_json,'$.emp_code') AS emp_code,
-                  dedupe_key, event_type, subject, first_seen_at, last_seen_at, occurrence_count,
-                  CAST(details_json AS CHAR) AS details_json
-                FROM alert_event
-                WHERE 1=1
-                """);
+        var sql = new StringBuilder(COLUMNS).append("WHERE 1=1\n");
 
         var p = new MapSqlParameterSource().addValue("limit", limit);
 
@@ -46,7 +82,7 @@ public class AlertsService {
             p.addValue("employeeId", employeeId);
         }
         if (empCode != null && !empCode.isBlank()) {
-            sql.append(" AND JSON_UNQUOTE(JSON_EXTRACT(details_json,'$.emp_code')) = :empCode");
+            sql.append(" AND emp_code = :empCode");
             p.addValue("empCode", empCode.trim());
         }
         if (from != null) {
@@ -58,23 +94,15 @@ public class AlertsService {
             p.addValue("toDate", to);
         }
 
+        if (after != null) {
+            sql.append(" AND (occurred_on < :afterOn OR (occurred_on = :afterOn AND id < :afterId))");
+            p.addValue("afterOn", after.occurredOn());
+            p.addValue("afterId", after.id());
+        }
+
         sql.append(" ORDER BY occurred_on DESC, id DESC LIMIT :limit");
 
-        return jdbc.query(Objects.requireNonNull(sql.toString(), "sql cannot be null"), p, (rs, i) -> new AlertEventDTO(
-                rs.getLong("id"),
-                (Integer) rs.getObject("employee_id"),
-                Objects.requireNonNull(rs.getString("type"), "type cannot be null"),
-                Objects.requireNonNull(rs.getString("severity"), "severity cannot be null"),
-                rs.getDate("occurred_on").toLocalDate(),
-                Objects.requireNonNull(rs.getString("status"), "status cannot be null"),
-                Objects.requireNonNull(Objects.requireNonNullElse(rs.getString("emp_code"), ""), "emp_code cannot be null"),
-                Objects.requireNonNull(rs.getString("dedupe_key"), "dedupe_key cannot be null"),
-                Objects.requireNonNullElse(rs.getString("event_type"), ""),
-                Objects.requireNonNullElse(rs.getString("subject"), ""),
-                rs.getTimestamp("first_seen_at") != null ? rs.getTimestamp("first_seen_at").toInstant() : null,
-                rs.getTimestamp("last_seen_at") != null ? rs.getTimestamp("last_seen_at").toInstant() : null,
-                rs.getInt("occurrence_count"),
-                Objects.requireNonNullElse(rs.getString("details_json"), "{}")));
+        return jdbc.query(Objects.requireNonNull(sql.toString(), "sql cannot be null"), p, ROW_MAPPER);
     }
 
     public int ack(long id, String by) {
@@ -83,7 +111,10 @@ public class AlertsService {
                    SET status='acked', acked_by=:by, acked_at=NOW()
                  WHERE id=:id AND status='open'
                 """;
-        return jdbc.update(sql, new MapSqlParameterSource().addValue("id", id).addValue("by", by));
+        int n = jdbc.update(sql, new MapSqlParameterSource().addValue("id", id).addValue("by", by));
+        if (n > 0)
+            events.publishEvent(AlertsChangedEvent.acked(List.of(id), n));
+        return n;
     }
 
     public int resolve(long id) {
@@ -92,35 +123,35 @@ public class AlertsService {
                    SET status='resolved', resolved_at=NOW()
                  WHERE id=:id AND status<> 'resolved'
                 """;
-        return jdbc.update(sql, new MapSqlParameterSource().addValue("id", id));
+        int n = jdbc.update(sql, new MapSqlParameterSource().addValue("id", id));
+        if (n > 0)
+            events.publishEvent(AlertsChangedEvent.resolved(List.of(id), n));
+        return n;
     }
 
     public AlertEventDTO get(long id) {
-        var sql = """
-                  SELECT id, employee_id, type, severity, occurred_on, status,
-                         JSON_EXTRACT(details_json,'$.emp_code') AS emp_code,
-                         dedupe_key, event_type, subject, first_seen_at, last_seen_at, occurrence_count,
-                         CAST(details_json AS CHAR) AS details_json
-                    FROM alert_event
-                   WHERE id=:id
-                """;
-        var p = new MapSqlParameterSource("id", id);
-        var list = jdbc.query(sql, p, (rs, i) -> new AlertEventDTO(
-                rs.getLong("id"),
-                (Integer) rs.getObject("employee_id"),
-                Objects.requireNonNull(rs.getString("type"), "type cannot be null"),
-                Objects.requireNonNull(rs.getString("severity"), "severity cannot be null"),
-                rs.getDate("occurred_on").toLocalDate(),
-                Objects.requireNonNull(rs.getString("status"), "status cannot be null"),
-                Objects.requireNonNull(Objects.requireNonNullElse(rs.getString("emp_code"), ""), "emp_code cannot be null"),
-                Objects.requireNonNull(rs.getString("dedupe_key"), "dedupe_key cannot be null"),
-                Objects.requireNonNullElse(rs.getString("event_type"), ""),
-                Objects.requireNonNullElse(rs.getString("subject"), ""),
-                rs.getTimestamp("first_seen_at") != null ? rs.getTimestamp("first_seen_at").toInstant() : null,
-                rs.getTimestamp("last_seen_at") != null ? rs.getTimestamp("last_seen_at").toInstant() : null,
-                rs.getInt("occurrence_count"),
-                Objects.requireNonNullElse(rs.getString("details_json"), "{}")));
+        var list = jdbc.query(COLUMNS + "WHERE id=:id", new MapSqlParameterSource("id", id), ROW_MAPPER);
         return list.isEmpty() ? null : list.get(0);
     }
 
+    /** Keyset position in the alerts list: {@code occurredOn_id}, e.g. {@code 2024-01-31_1234}. */
+    public record Cursor(LocalDate occurredOn, long id) {
+        public static Cursor of(AlertEventDTO row) {
+            return new Cursor(row.occurredOn(), row.id());
+        }
+
+        public static Cursor parse(String s) {
+            if (s == null || s.isBlank())
+                return null;
+            int sep = s.lastIndexOf('_');
+            if (sep < 0)
+                throw new IllegalArgumentException("cursor must be <occurredOn>_<id>");
+            return new Cursor(LocalDate.parse(s.substring(0, sep).trim()), Long.parseLong(s.substring(sep + 1).trim()));
+        }
+
+        @Override
+        public String toString() {
+            return occurredOn + "_" + id;
+        }
+    }
 }
@@ -0,0 +1,17 @@
+package com.cec.EmployeeDB.alerts;
+
+import java.util.List;
+
+/**
+ * Body of the bulk ack/resolve endpoints: either {@code ids}, or a filter
+ * (any of types, from/to as YYYY-MM-DD on occurred_on, employeeId, empCode).
+ */
+public record BulkAlertRequest(
+        List<Long> ids,
+        List<String> types,
+        String from,
+        String to,
+        Integer employeeId,
+        String empCode,
+        String by
+) {}
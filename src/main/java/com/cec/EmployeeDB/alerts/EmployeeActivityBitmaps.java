@@ -0,0 +1,237 @@
+// src/main/java/com/cec/EmployeeDB/alerts/EmployeeActivityBitmaps.java
+package com.cec.EmployeeDB.alerts;
+
+import com.cec.EmployeeDB.Service.FieldImportedEvent;
+import com.cec.EmployeeDB.Service.TimecardsImportedEvent;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bitmaps over field.emp_id for no-hours detection.
+ *
+ * One bitmap holds every field employee, two more the ones listed in
+ * inactive / terminated, and one per ISO week (keyed by Monday) the ones with
+ * a punch that week. Codes are matched the same way the SQL did
+ * (UPPER/TRIM). No-hours candidates for a week are then
+ * {@code field AND NOT inactive AND NOT terminated AND NOT week}.
+ *
+ * Bitmaps are immutable once published and replaced whole. Imports OR their
+ * employees into the weeks already loaded; field imports drop everything;
+ * a TTL covers status/punch edits made elsewhere.
+ *
+ * Every import or invalidation bumps a generation counter before touching
+ * {@code weeks}. A week load only publishes its bitmap when the generation is
+ * unchanged since it started, otherwise it loads again; a load that overlapped
+ * an import could have missed that import's punches.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class EmployeeActivityBitmaps {
+
+  record Status(Map<String, int[]> idsByCode, BitSet field, BitSet inactive, BitSet terminated, long loadedAt) {
+  }
+
+  private record Week(BitSet active, long loadedAt) {
+  }
+
+  private static final int MAX_LOAD_ATTEMPTS = 3;
+
+  private final NamedParameterJdbcTemplate jdbc;
+
+  @Value("${app.alerts.bitmaps.ttl-minutes:10}")
+  private long ttlMinutes;
+
+  private volatile Status status;
+  private final Map<LocalDate, Week> weeks = new ConcurrentHashMap<>();
+  private final AtomicLong generation = new AtomicLong();
+
+  /** Field employees with no punch in the ISO week starting {@code monday}, not inactive or terminated. */
+  public BitSet noHoursCandidates(LocalDate monday) {
+    Status s = status();
+    BitSet out = (BitSet) s.field().clone();
+    out.andNot(s.inactive());
+    out.andNot(s.terminated());
+    out.andNot(week(monday, s));
+    return out;
+  }
+
+  public static boolean isIsoWeek(LocalDate start, LocalDate end) {
+    return start.getDayOfWeek() == DayOfWeek.MONDAY && end.equals(start.plusDays(6));
+  }
+
+  // runs before the post-import alert refresh so it sees the new punches
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onTimecardsImported(TimecardsImportedEvent e) {
+    if (e.replacedAll()) {
+      invalidateActivity();
+      return;
+    }
+    // loads still running started before this batch was visible
+    generation.incrementAndGet();
+    Status s = status;
+    if (s == null || weeks.isEmpty()) {
+      return;
+    }
+    Map<LocalDate, BitSet> added = new HashMap<>();
+    jdbc.query("""
+        SELECT DISTINCT UPPER(TRIM(ee_code)) AS ee_code,
+               work_date - INTERVAL WEEKDAY(work_date) DAY AS week_start
+        FROM paycom_time_report
+        WHERE import_batch_id IN (:batchIds) AND work_date IS NOT NULL
+        """, new MapSqlParameterSource("batchIds", e.batchIds()), rs -> {
+          LocalDate monday = rs.getObject("week_start", LocalDate.class);
+          int[] ids = s.idsByCode().get(rs.getString("ee_code"));
+          if (monday != null && ids != null) {
+            BitSet b = added.computeIfAbsent(monday, m -> new BitSet());
+            for (int id : ids) {
+              b.set(id);
+            }
+          }
+        });
+    added.forEach((monday, ids) -> weeks.computeIfPresent(monday, (m, w) -> {
+      BitSet next = (BitSet) w.active().clone();
+      next.or(ids);
+      return new Week(next, w.loadedAt());
+    }));
+  }
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onFieldImported(FieldImportedEvent e) {
+    generation.incrementAndGet();
+    status = null;
+    weeks.clear();
+  }
+
+  /** Punches were removed; week bitmaps are rebuilt on next use. */
+  public void invalidateActivity() {
+    generation.incrementAndGet();
+    weeks.clear();
+  }
+
+  private Status status() {
+    Status s = status;
+    if (s != null && !expired(s.loadedAt())) {
+      return s;
+    }
+    synchronized (this) {
+      s = status;
+      if (s == null || expired(s.loadedAt())) {
+        s = loadStatus();
+        status = s;
+        // week bitmaps were built with the old code -> id map
+        generation.incrementAndGet();
+        weeks.clear();
+      }
+      return s;
+    }
+  }
+
+  private BitSet week(LocalDate monday, Status s) {
+    LocalDate key = monday.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    Week w = weeks.get(key);
+    if (w != null && !expired(w.loadedAt())) {
+      return w.active();
+    }
+    BitSet active = null;
+    for (int attempt = 0; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+      long gen = generation.get();
+      active = loadWeek(key, s);
+      Week loaded = new Week(active, System.currentTimeMillis());
+      // compare inside compute so an import's computeIfPresent either sees this week or made it stale
+      Week published = weeks.compute(key, (k, cur) -> generation.get() == gen ? loaded : cur);
+      if (published == loaded) {
+        return active;
+      }
+    }
+    // imports kept landing mid-load: use the last load uncached, the next call retries
+    log.debug("Alert bitmaps: week {} not cached after {} concurrent imports", key, MAX_LOAD_ATTEMPTS);
+    return active;
+  }
+
+  private Status loadStatus() {
+    long t0 = System.currentTimeMillis();
+    Map<String, int[]> idsByCode = new HashMap<>();
+    BitSet field = new BitSet();
+    jdbc.query("SELECT emp_id, employee_code FROM `field`", rs -> {
+      int id = rs.getInt("emp_id");
+      String code = rs.getString("employee_code");
+      field.set(id);
+      if (code != null) {
+        idsByCode.merge(norm(code), new int[] {id}, EmployeeActivityBitmaps::concat);
+      }
+    });
+    BitSet inactive = codes("SELECT emp_code FROM `inactive`", idsByCode);
+    BitSet terminated = codes("SELECT emp_code FROM `terminated`", idsByCode);
+    log.info("Alert bitmaps: {} field, {} inactive, {} terminated employees loaded in {} ms",
+        field.cardinality(), inactive.cardinality(), terminated.cardinality(), System.currentTimeMillis() - t0);
+    return new Status(idsByCode, field, inactive, terminated, System.currentTimeMillis());
+  }
+
+  private BitSet loadWeek(LocalDate monday, Status s) {
+    BitSet out = new BitSet();
+    jdbc.query("""
+        SELECT DISTINCT UPPER(TRIM(ee_code)) AS ee_code
+        FROM paycom_time_report
+        WHERE work_date BETWEEN :weekStart AND :weekEnd
+        """, new MapSqlParameterSource()
+        .addValue("weekStart", monday)
+        .addValue("weekEnd", monday.plusDays(6)), rs -> {
+          int[] ids = s.idsByCode().get(rs.getString("ee_code"));
+          if (ids != null) {
+            for (int id : ids) {
+              out.set(id);
+            }
+          }
+        });
+    return out;
+  }
+
+  private BitSet codes(String sql, Map<String, int[]> idsByCode) {
+    BitSet out = new BitSet();
+    jdbc.query(sql, rs -> {
+      String code = rs.getString(1);
+      int[] ids = code != null ? idsByCode.get(norm(code)) : null;
+      if (ids != null) {
+        for (int id : ids) {
+          out.set(id);
+        }
+      }
+    });
+    return out;
+  }
+
+  private boolean expired(long loadedAt) {
+    return System.currentTimeMillis() - loadedAt > ttlMinutes * 60_000L;
+  }
+
+  private static int[] concat(int[] a, int[] b) {
+    int[] out = Arrays.copyOf(a, a.length + b.length);
+    System.arraycopy(b, 0, out, a.length, b.length);
+    return out;
+  }
+
+  static String norm(String code) {
+    return code.trim().toUpperCase(Locale.ROOT);
+  }
+}
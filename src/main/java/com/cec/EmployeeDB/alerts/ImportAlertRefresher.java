@@ -0,0 +1,105 @@
+// src/main/java/com/cec/EmployeeDB/alerts/ImportAlertRefresher.java
+package com.cec.EmployeeDB.alerts;
+
+import com.cec.EmployeeDB.Service.TimecardsImportedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Alert refresh after timecard imports.
+ *
+ * New punches can only make alerts obsolete, never create no-hours ones: the
+ * no-hours alerts of every (employee, week) the batch inserted punches for
+ * are resolved in one set-based UPDATE, and missed punches on the previous
+ * business day are re-evaluated for just the employees with punches that day.
+ * The cost follows the size of the import, not of paycom_time_report. An
+ * import that replaced everything gets the full refresh. This listener is
+ * the only place a batch is evaluated; POST /alerts/refresh stays the full
+ * (whole-week) run.
+ *
+ * The refresh runs after the import has committed, so it gets its own
+ * transaction, on a single background thread: import responses don't wait
+ * for it, and refreshes of back-to-back imports don't race on the same rows.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImportAlertRefresher {
+
+  private static final String DIRTY_SQL = """
+      SELECT DISTINCT UPPER(TRIM(ee_code)) AS ee_code
+      FROM paycom_time_report
+      WHERE import_batch_id IN (:batchIds)
+        AND work_date = :workDay
+      """;
+
+  private final NamedParameterJdbcTemplate jdbc;
+  private final NoHoursAlertBatch noHours;
+  private final MissedPunchAlertBatch missedPunch;
+  private final PlatformTransactionManager txManager;
+
+  private final ExecutorService worker =
+      Executors.newSingleThreadExecutor(Thread.ofVirtual().name("import-alerts").factory());
+
+  @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+  public void onTimecardsImported(TimecardsImportedEvent e) {
+    worker.execute(() -> refreshAfterImport(e));
+  }
+
+  void refreshAfterImport(TimecardsImportedEvent e) {
+    TransactionTemplate tx = new TransactionTemplate(txManager);
+    tx.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    try {
+      Map<String, Object> out = tx.execute(s -> e.replacedAll() ? refreshAll() : refreshBatches(e.batchIds()));
+      log.info("Alerts refreshed after import batches {}: {}", e.batchIds(), out);
+    } catch (RuntimeException ex) {
+      log.warn("Alert refresh after import batches {} failed: {}", e.batchIds(), ex.getMessage());
+    }
+  }
+
+  /** Every alert set over all employees (what the schedulers run). */
+  public Map<String, Object> refreshAll() {
+    Map<String, Object> out = new LinkedHashMap<>();
+    out.put("noHoursThisWeek", noHours.upsertNoHoursThisWeek());
+    out.put("noHoursLastWeek", noHours.upsertNoHoursLastWeek());
+    out.put("missedPunchUpserts", missedPunch.upsertMissedPunchForPrevBusinessDay());
+    return out;
+  }
+
+  /** Alert changes these import batches can cause (see class comment). */
+  public Map<String, Object> refreshBatches(Collection<Long> batchIds) {
+    LocalDate prevBizDay = MissedPunchAlertBatch.previousBusinessDayCT();
+    List<String> punchedPrevDay = jdbc.queryForList(DIRTY_SQL, new MapSqlParameterSource()
+        .addValue("batchIds", batchIds)
+        .addValue("workDay", prevBizDay), String.class);
+
+    Map<String, Object> out = new LinkedHashMap<>();
+    out.put("batchIds", batchIds);
+    out.put("noHoursResolved", noHours.resolvePunchedByBatches(batchIds));
+    out.put("missedPunchUpserts", missedPunch.upsertMissedPunchFor(prevBizDay, punchedPrevDay));
+    out.put("missedPunchEmployees", punchedPrevDay.size());
+    return out;
+  }
+
+  @PreDestroy
+  void close() {
+    worker.shutdownNow();
+  }
+}
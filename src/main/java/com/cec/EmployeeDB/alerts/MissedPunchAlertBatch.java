@@ -2,18 +2,21 @@
 package com.cec.EmployeeDB.alerts;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.Collection;
 
 @Service
 @RequiredArgsConstructor
 public class MissedPunchAlertBatch {
 
   private final NamedParameterJdbcTemplate jdbc;
+  private final ApplicationEventPublisher events;
 
   /**
    * Inserts/updates one alert per employee for the given workDay (Mon–Sun),
@@ -21,6 +24,10 @@ public class MissedPunchAlertBatch {
    * MISSED_PUNCH|{empId}|{workDay}.
    *
    * NOTE: no alias after INSERT INTO — MySQL doesn't allow it.
+   *
+   * Punches are picked by {@code work_date = :workDay} (indexed); zero
+   * datetimes ('0000-00-00 00:00:00') count as missing via the {@code < '1000-01-01'}
+   * checks. The %s slot optionally narrows it to a set of employees.
    */
   private static final String UPSERT_SQL = """
       INSERT INTO alert_event
@@ -35,8 +42,8 @@ public class MissedPunchAlertBatch {
           'emp_code',  f.employee_code,
           'emp_id',    f.emp_id,
           'issue',     CASE
-                         WHEN pr.in_punch_time2  IS NULL THEN 'MISSING_IN'
-                         WHEN pr.out_punch_time2 IS NULL THEN 'MISSING_OUT'
+                         WHEN pr.in_punch_time  IS NULL OR pr.in_punch_time  < '1000-01-01' THEN 'MISSING_IN'
+                         WHEN pr.out_punch_time IS NULL OR pr.out_punch_time < '1000-01-01' THEN 'MISSING_OUT'
                          ELSE 'UNKNOWN'
                        END,
           'source',    'paycom_time_report',
@@ -51,32 +58,18 @@ public class MissedPunchAlertBatch {
         CONCAT('Missed punch for employee ', f.employee_code, ' on ', :workDayStr)
       FROM `field` f
       JOIN (
-        SELECT
-          UPPER(TRIM(ee_code)) AS ee_code_norm,
-          CASE
-            WHEN in_punch_time IS NULL
-              OR DATE_FORMAT(in_punch_time, '%Y-%m-%d %H:%i:%s')='0000-00-00 00:00:00'
-              THEN NULL ELSE in_punch_time
-          END AS in_punch_time2,
-          CASE
-            WHEN out_punch_time IS NULL
-              OR DATE_FORMAT(out_punch_time, '%Y-%m-%d %H:%i:%s')='0000-00-00 00:00:00'
-              THEN NULL ELSE out_punch_time
-          END AS out_punch_time2,
-          CASE
-            WHEN work_date IS NULL
-              OR DATE_FORMAT(work_date,'%Y-%m-%d')='0000-00-00' THEN NULL
-            ELSE DATE(work_date)
-          END AS work_date2
+        SELECT UPPER(TRIM(ee_code)) AS ee_code_norm, in_punch_time, out_punch_time
         FROM `paycom_time_report`
+        WHERE work_date = :workDay
+          %s
       ) pr
         ON pr.ee_code_norm = UPPER(TRIM(f.employee_code))
-       AND pr.work_date2   = :workDay
       LEFT JOIN `inactive`   i ON UPPER(TRIM(i.emp_code)) = UPPER(TRIM(f.employee_code))
       LEFT JOIN `terminated` t ON UPPER(TRIM(t.emp_code)) = UPPER(TRIM(f.employee_code))
       WHERE i.emp_code IS NULL
         AND t.emp_code IS NULL
-        AND (pr.in_punch_time2 IS NULL OR pr.out_punch_time2 IS NULL)
+        AND (pr.in_punch_time  IS NULL OR pr.in_punch_time  < '1000-01-01'
+          OR pr.out_punch_time IS NULL OR pr.out_punch_time < '1000-01-01')
       ON DUPLICATE KEY UPDATE
         occurred_on  = VALUES(occurred_on),
         details_json = VALUES(details_json),
@@ -84,6 +77,10 @@ public class MissedPunchAlertBatch {
         type         = VALUES(type)
       """;
 
+  private static final String ALL_SQL = UPSERT_SQL.formatted("");
+
+  private static final String EMPLOYEES_SQL = UPSERT_SQL.formatted("AND UPPER(TRIM(ee_code)) IN (:empCodes)");
+
   private static final ZoneId CT = ZoneId.of("America/Chicago");
 
   /**
@@ -104,7 +101,26 @@ public class MissedPunchAlertBatch {
     var p = new MapSqlParameterSource()
         .addValue("workDay", workDay)
         .addValue("workDayStr", workDay.toString());
-    return jdbc.update(UPSERT_SQL, p);
+    return published(jdbc.update(ALL_SQL, p));
+  }
+
+  /** Same as {@link #upsertMissedPunchFor(LocalDate)} for just these employee codes. */
+  public int upsertMissedPunchFor(LocalDate workDay, Collection<String> empCodes) {
+    if (empCodes == null || empCodes.isEmpty()) {
+      return 0;
+    }
+    var p = new MapSqlParameterSource()
+        .addValue("workDay", workDay)
+        .addValue("workDayStr", workDay.toString())
+        .addValue("empCodes", empCodes.stream().map(c -> c.trim().toUpperCase()).distinct().toList());
+    return published(jdbc.update(EMPLOYEES_SQL, p));
+  }
+
+  private int published(int n) {
+    if (n > 0) {
+      events.publishEvent(AlertsChangedEvent.upserted("MISSED_PUNCH", n));
+    }
+    return n;
   }
 
   /** Upsert for the previous business day (Central time). */
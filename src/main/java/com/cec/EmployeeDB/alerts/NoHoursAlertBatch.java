@@ -2,6 +2,8 @@
 package com.cec.EmployeeDB.alerts;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
@@ -9,14 +11,27 @@ import org.springframework.stereotype.Service;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.List;
 
 @Service
 @RequiredArgsConstructor
 public class NoHoursAlertBatch {
 
   private final NamedParameterJdbcTemplate jdbc;
+  private final EmployeeActivityBitmaps bitmaps;
+  private final ApplicationEventPublisher events;
 
-  // One query, parameterized for any Mon–Sun window + alert type
+  @Value("${app.alerts.bitmaps.enabled:true}")
+  private boolean bitmapsEnabled;
+
+  @Value("${app.alerts.bitmaps.chunk-size:1000}")
+  private int chunkSize;
+
+  // One upsert, parameterized for any Mon–Sun window + alert type; the %s slot
+  // is the (emp_id, employee_code) rows to alert on.
   private static final String UPSERT_SQL = """
       INSERT INTO alert_event
         (employee_id, type, severity, occurred_on, details_json, dedupe_key, event_key, event_type, subject)
@@ -41,55 +56,123 @@ public class NoHoursAlertBatch {
         'TIMECARD',
         CONCAT('No hours for employee ', nh.employee_code, ' (week ', :weekStartStr, ')')
       FROM (
-        SELECT f.emp_id, f.employee_code
+        %s
+      ) AS nh
+      ON DUPLICATE KEY UPDATE
+        occurred_on  = VALUES(occurred_on),
+        details_json = VALUES(details_json),
+        severity     = VALUES(severity),
+        type         = VALUES(type)
+      """;
+
+  // Field employees with no punch in the window. Punches are found with a
+  // plain range on work_date (indexed; zero dates never fall inside it).
+  private static final String CANDIDATES_SQL = """
+        SELECT DISTINCT f.emp_id, f.employee_code
         FROM `field` f
         LEFT JOIN (
-           SELECT
-             UPPER(TRIM(ee_code)) AS ee_code_norm,
-             CASE
-               WHEN work_date IS NULL
-                 OR DATE_FORMAT(work_date,'%Y-%m-%d')='0000-00-00' THEN NULL
-               ELSE DATE(work_date)
-             END AS work_date2
+           SELECT DISTINCT UPPER(TRIM(ee_code)) AS ee_code_norm
            FROM `paycom_time_report`
+           WHERE work_date BETWEEN :weekStart AND :weekEnd
         ) pr
           ON pr.ee_code_norm = UPPER(TRIM(f.employee_code))
-         AND pr.work_date2 BETWEEN :weekStart AND :weekEnd
         LEFT JOIN `inactive`   i ON UPPER(TRIM(i.emp_code)) = UPPER(TRIM(f.employee_code))
         LEFT JOIN `terminated` t ON UPPER(TRIM(t.emp_code)) = UPPER(TRIM(f.employee_code))
         WHERE i.emp_code IS NULL AND t.emp_code IS NULL
-        GROUP BY f.emp_id, f.employee_code
-        HAVING COUNT(pr.work_date2) = 0
-      ) AS nh
-      ON DUPLICATE KEY UPDATE
-        occurred_on  = VALUES(occurred_on),
-        details_json = VALUES(details_json),
-        severity     = VALUES(severity),
-        type         = VALUES(type)
+          AND pr.ee_code_norm IS NULL
+      """;
+
+  private static final String ALL_SQL = UPSERT_SQL.formatted(CANDIDATES_SQL);
+
+  // candidates already worked out from the bitmaps: primary-key lookups only
+  private static final String BY_ID_SQL = UPSERT_SQL.formatted(
+      "SELECT f.emp_id, f.employee_code FROM `field` f WHERE f.emp_id IN (:empIds)");
+
+  // Open no-hours alerts whose (employee, week) got punches in these import
+  // batches; emp_code is the generated column from V6.
+  private static final String RESOLVE_PUNCHED_SQL = """
+      UPDATE alert_event a
+      JOIN (
+        SELECT DISTINCT UPPER(TRIM(ee_code)) AS ee_code,
+               work_date - INTERVAL WEEKDAY(work_date) DAY AS week_start
+        FROM paycom_time_report
+        WHERE import_batch_id IN (:batchIds) AND work_date IS NOT NULL
+      ) d ON a.emp_code = d.ee_code AND a.occurred_on = d.week_start
+      SET a.status = 'resolved', a.resolved_at = NOW()
+      WHERE a.type IN ('NO_HOURS_THIS_WEEK', 'NO_HOURS_LAST_WEEK')
+        AND a.status <> 'resolved'
       """;
 
   public int upsertNoHours(LocalDate weekStart, LocalDate weekEnd, String type) {
-    var p = new MapSqlParameterSource()
+    int n = useBitmaps(weekStart, weekEnd)
+        ? upsertIds(weekStart, weekEnd, type, bitmaps.noHoursCandidates(weekStart))
+        : jdbc.update(ALL_SQL, params(weekStart, weekEnd, type));
+    return published(type, n);
+  }
+
+  /**
+   * An import can only take employees off the no-hours list: resolves the
+   * no-hours alerts of every (employee, week) these batches inserted punches for.
+   */
+  public int resolvePunchedByBatches(Collection<Long> batchIds) {
+    if (batchIds == null || batchIds.isEmpty()) {
+      return 0;
+    }
+    int n = jdbc.update(RESOLVE_PUNCHED_SQL, new MapSqlParameterSource("batchIds", batchIds));
+    if (n > 0) {
+      events.publishEvent(AlertsChangedEvent.resolved(List.of(), n));
+    }
+    return n;
+  }
+
+  private int published(String type, int n) {
+    if (n > 0) {
+      events.publishEvent(AlertsChangedEvent.upserted(type, n));
+    }
+    return n;
+  }
+
+  private boolean useBitmaps(LocalDate weekStart, LocalDate weekEnd) {
+    return bitmapsEnabled && EmployeeActivityBitmaps.isIsoWeek(weekStart, weekEnd);
+  }
+
+  private int upsertIds(LocalDate weekStart, LocalDate weekEnd, String type, BitSet ids) {
+    int n = 0;
+    List<Integer> chunk = new ArrayList<>();
+    for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+      chunk.add(id);
+      if (chunk.size() >= Math.max(1, chunkSize)) {
+        n += jdbc.update(BY_ID_SQL, params(weekStart, weekEnd, type).addValue("empIds", chunk));
+        chunk = new ArrayList<>();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      n += jdbc.update(BY_ID_SQL, params(weekStart, weekEnd, type).addValue("empIds", chunk));
+    }
+    return n;
+  }
+
+  private static MapSqlParameterSource params(LocalDate weekStart, LocalDate weekEnd, String type) {
+    return new MapSqlParameterSource()
         .addValue("weekStart", weekStart)
         .addValue("weekEnd", weekEnd)
         .addValue("weekStartStr", weekStart.toString())
         .addValue("weekEndStr", weekEnd.toString())
         .addValue("type", type)
         .addValue("severity", "WARN");
-    return jdbc.update(UPSERT_SQL, p);
   }
 
   private static final ZoneId CT = ZoneId.of("America/Chicago");
 
-  private static LocalDate todayCT() {
+  static LocalDate todayCT() {
     return LocalDate.now(CT);
   }
 
-  private static LocalDate mondayOf(LocalDate d) {
+  static LocalDate mondayOf(LocalDate d) {
     return d.minusDays(d.getDayOfWeek().getValue() - DayOfWeek.MONDAY.getValue());
   }
 
-  private static LocalDate sundayOf(LocalDate monday) {
+  static LocalDate sundayOf(LocalDate monday) {
     return monday.plusDays(6);
   }
 
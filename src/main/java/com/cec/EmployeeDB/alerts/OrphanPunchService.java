@@ -1,9 +1,12 @@
 package com.cec.EmployeeDB.alerts;
 
+import com.cec.EmployeeDB.Service.TimecardPunchDeletedEvent;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -14,6 +17,8 @@ import java.util.Map;
 public class OrphanPunchService {
     private final NamedParameterJdbcTemplate jdbc;
     private final AlertsService alertsService;
+    private final EmployeeActivityBitmaps activity;
+    private final ApplicationEventPublisher events;
 
     @SuppressWarnings("null")
     public List<Map<String, Object>> list(String empCode, LocalDate from, LocalDate to, int limit) {
@@ -60,8 +65,19 @@ public class OrphanPunchService {
         });
     }
 
+    @Transactional
     public int delete(long id, Long resolveAlertId) {
-        int n = jdbc.update("DELETE FROM paycom_time_report WHERE id=:id", new MapSqlParameterSource("id", id));
+        var p = new MapSqlParameterSource("id", id);
+        // read before the DELETE so caches keyed by employee/day know what to drop
+        List<TimecardPunchDeletedEvent> deleted = jdbc.query(
+                "SELECT ee_code, work_date FROM paycom_time_report WHERE id=:id", p,
+                (rs, i) -> new TimecardPunchDeletedEvent(id, rs.getString("ee_code"),
+                        rs.getObject("work_date", LocalDate.class)));
+        int n = jdbc.update("DELETE FROM paycom_time_report WHERE id=:id", p);
+        if (n > 0) {
+            activity.invalidateActivity();
+            events.publishEvent(deleted.isEmpty() ? new TimecardPunchDeletedEvent(id, null, null) : deleted.get(0));
+        }
         if (resolveAlertId != null && n > 0) {
             try {
                 alertsService.resolve(resolveAlertId);
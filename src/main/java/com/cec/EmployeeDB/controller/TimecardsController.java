@@ -4,12 +4,22 @@ package com.cec.EmployeeDB.controller;
 import com.cec.EmployeeDB.Service.TimecardsService;
 import com.cec.EmployeeDB.Dto.*;
 import com.cec.EmployeeDB.Service.TimecardImportService;
-import com.cec.EmployeeDB.Service.TimecardPredictionService;
+import com.cec.EmployeeDB.Service.TimecardZipImportService;
+import com.cec.EmployeeDB.Service.PredictionCache;
 import com.cec.EmployeeDB.Service.TimecardQueryService;
 import com.cec.EmployeeDB.Service.TimecardCacheService;
+import com.cec.EmployeeDB.Service.TimecardExportService;
+import com.cec.EmployeeDB.Service.EmployeePunchCache;
+import com.cec.EmployeeDB.Service.GanttBundleService;
+import com.cec.EmployeeDB.Service.GanttStreamService;
+import com.cec.EmployeeDB.Service.TimecardFilterOptions;
+import com.cec.EmployeeDB.Service.JobProjectResolver;
+import com.cec.EmployeeDB.Service.EmployeePunchCache.Snapshot;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
@@ -18,6 +28,8 @@ import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import jakarta.servlet.http.HttpServletRequest;
 
 import java.math.BigDecimal;
@@ -26,6 +38,7 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/timecards")
@@ -33,10 +46,17 @@ import java.util.stream.Collectors;
 public class TimecardsController {
 
     private final TimecardImportService importService;
-    private final TimecardPredictionService predictionService;
+    private final TimecardZipImportService zipImportService;
+    private final PredictionCache predictionCache;
     private final TimecardQueryService timecardQueryService;
     private final TimecardCacheService cacheService;
     private final TimecardsService timecardsService;
+    private final TimecardExportService exportService;
+    private final EmployeePunchCache punchCache;
+    private final GanttBundleService ganttBundleService;
+    private final GanttStreamService ganttStreamService;
+    private final TimecardFilterOptions filterOptions;
+    private final JobProjectResolver jobProjects;
 
     // NEW: JDBC fallback to guarantee /current-assignments/by-emp works even if the
     // service path fails
@@ -54,12 +74,23 @@ public class TimecardsController {
             req.setAttribute(org.springframework.security.web.csrf.CsrfToken.class.getName(), tok);
         }
         if (com.cec.EmployeeDB.Config.SmokeTestGuard.isSmokeTest(req)) {
-            return ResponseEntity.ok(new ImportResultDTO(0L, 0, 0, 0, 0));
+            return ResponseEntity.ok(ImportResultDTO.empty());
         }
         var result = importService.importCsv(file, replaceAll);
         return ResponseEntity.ok(result);
     }
 
+    /** ZIP of Paycom exports; entries are imported in parallel, one transaction each. */
+    @PostMapping(value = "/import/zip", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
+    public ResponseEntity<ImportResultDTO> importZip(
+            @RequestPart("file") MultipartFile file,
+            HttpServletRequest req) throws Exception {
+        if (com.cec.EmployeeDB.Config.SmokeTestGuard.isSmokeTest(req)) {
+            return ResponseEntity.ok(ImportResultDTO.empty());
+        }
+        return ResponseEntity.ok(zipImportService.importZip(file));
+    }
+
     // FE uses this for Gantt
     @GetMapping("/range")
     public ResponseEntity<List<TimecardDTO>> getRange(@RequestParam Map<String, String> qp) {
@@ -92,6 +123,41 @@ public class TimecardsController {
         return ResponseEntity.ok(rows);
     }
 
+    /**
+     * Gantt board in one request: timecards + transfers for the window, then
+     * predictions and current assignments for the employees they mention
+     * (or for {@code empCodes}, comma separated, when given).
+     */
+    @GetMapping("/gantt-bundle")
+    public ResponseEntity<GanttBundleDTO> ganttBundle(
+            @RequestParam(value = "startDate", required = false) String start,
+            @RequestParam(value = "endDate", required = false) String end,
+            @RequestParam(value = "limit", defaultValue = "6000") int limit,
+            @RequestParam(value = "empCodes", required = false) String empCodes,
+            @RequestParam(value = "predictions", defaultValue = "true") boolean predictions,
+            @RequestParam(value = "assignmentDays", defaultValue = "45") int assignmentDays) {
+        LocalDate endDate = (end != null && !end.isBlank()) ? LocalDate.parse(end) : LocalDate.now();
+        LocalDate startDate = (start != null && !start.isBlank()) ? LocalDate.parse(start) : endDate.minusMonths(12);
+        List<String> codes = empCodes == null ? List.of() : Arrays.asList(empCodes.split(","));
+        return ResponseEntity.ok(ganttBundleService.load(startDate, endDate, limit, codes, predictions, assignmentDays));
+    }
+
+    /**
+     * Same rows as /range, pushed as SSE "rows" events in employee order so the
+     * Gantt can draw while the query is still running. Reconnects resume after
+     * the Last-Event-ID employee.
+     */
+    @GetMapping(value = "/range/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRange(
+            @RequestParam(value = "startDate", required = false) String start,
+            @RequestParam(value = "endDate", required = false) String end,
+            @RequestParam(value = "chunk", defaultValue = "500") int chunk,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        LocalDate endDate = (end != null && !end.isBlank()) ? LocalDate.parse(end) : LocalDate.now();
+        LocalDate startDate = (start != null && !start.isBlank()) ? LocalDate.parse(start) : endDate.minusMonths(12);
+        return ganttStreamService.stream(startDate, endDate, lastEventId, Math.max(50, Math.min(chunk, 5000)));
+    }
+
     // Server-side paginated variant for large windows
     @GetMapping("/range/paged")
     public ResponseEntity<Map<String, Object>> getRangePaged(@RequestParam Map<String, String> qp) {
@@ -140,12 +206,12 @@ public class TimecardsController {
 
     @GetMapping("/predict/{empCode}")
     public ResponseEntity<LastWorkedPredictionDTO> predict(@PathVariable String empCode) {
-        return ResponseEntity.ok(predictionService.predictForEmp(empCode));
+        return ResponseEntity.ok(predictionCache.get(empCode));
     }
 
     @PostMapping("/predict/batch")
     public ResponseEntity<BatchPredictionResponse> predictBatch(@RequestBody EmpCodeBatchRequest req) {
-        var preds = predictionService.predictForEmpList(
+        var preds = predictionCache.getAll(
                 Optional.ofNullable(req).map(EmpCodeBatchRequest::getEmpCodes).orElse(List.of()));
         return ResponseEntity.ok(BatchPredictionResponse.builder().predictions(preds).build());
     }
@@ -333,42 +399,12 @@ public class TimecardsController {
      */
     @GetMapping("/options")
     public ResponseEntity<Map<String, List<String>>> options() {
-        List<String> projects = jdbc.query(
-                """
-                SELECT DISTINCT COALESCE(dist_job_code, home_job_code)
-                FROM paycom_time_report
-                WHERE work_date >= DATE_SUB(CURDATE(), INTERVAL 90 DAY)
-                  AND COALESCE(dist_job_code, home_job_code) IS NOT NULL
-                ORDER BY 1
-                LIMIT 500
-                """,
-                (rs, i) -> rs.getString(1));
-
-        List<String> titles = jdbc.query(
-                """
-                SELECT DISTINCT COALESCE(business_title, position_title)
-                FROM field
-                WHERE COALESCE(business_title, position_title) IS NOT NULL
-                ORDER BY 1
-                LIMIT 500
-                """,
-                (rs, i) -> rs.getString(1));
-
-        List<String> groups = jdbc.query(
-                """
-                SELECT DISTINCT work_group
-                FROM field
-                WHERE work_group IS NOT NULL
-                ORDER BY 1
-                LIMIT 300
-                """,
-                (rs, i) -> rs.getString(1));
-
-        return ResponseEntity.ok(Map.of(
-                "projects", projects,
-                "businessTitles", titles,
-                "workGroups", groups
-        ));
+        // If-None-Match is compared by Spring against the ETag; a match is a bodiless 304
+        TimecardFilterOptions.Snapshot snap = filterOptions.get();
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .eTag(snap.etag())
+                .body(snap.values());
     }
 
     /**
@@ -387,6 +423,18 @@ public class TimecardsController {
         LocalDate end = LocalDate.parse(weekEnding);
         LocalDate start = end.minusDays(6);
 
+        var snap = punchCache.covering(eeCode, start);
+        if (snap != null) {
+            String project = trimToNull(projectCode) != null ? projectCode : null;
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (int i = snap.lowerBound(start), hi = snap.upperBound(end); i < hi; i++) {
+                if (project != null && !project.equalsIgnoreCase(snap.text(Snapshot.JOB_CODE, i))) continue;
+                rows.add(weekDetailRow(snap.workDate(i), snap.text(Snapshot.JOB_CODE, i), snap.text(Snapshot.JOB_DESC, i),
+                        snap.text(Snapshot.ACTIVITY_DESC, i), snap.inRaw(i), snap.outRaw(i), snap.weekHours(i)));
+            }
+            return ResponseEntity.ok(rows);
+        }
+
         StringBuilder where = new StringBuilder();
         List<Object> params = new ArrayList<>();
         params.add(eeCode);
@@ -429,22 +477,26 @@ public class TimecardsController {
                         ps.setObject(i + 1, params.get(i));
                     }
                 },
-                (rs, i) -> {
-                    Map<String, Object> m = new LinkedHashMap<>();
-                    LocalDate wd = rs.getObject("work_date", LocalDate.class);
-                    m.put("workDate", wd != null ? wd.toString() : null);
-                    m.put("projectCode", rs.getString("project_code"));
-                    m.put("projectDesc", rs.getString("project_desc"));
-                    m.put("activity", rs.getString("activity"));
-                    m.put("inPunch", rs.getString("in_punch_time"));
-                    m.put("outPunch", rs.getString("out_punch_time"));
-                    m.put("hours", rs.getBigDecimal("hours"));
-                    return m;
-                });
+                (rs, i) -> weekDetailRow(rs.getObject("work_date", LocalDate.class),
+                        rs.getString("project_code"), rs.getString("project_desc"), rs.getString("activity"),
+                        rs.getString("in_punch_time"), rs.getString("out_punch_time"), rs.getBigDecimal("hours")));
 
         return ResponseEntity.ok(rows);
     }
 
+    private static Map<String, Object> weekDetailRow(LocalDate wd, String projectCode, String projectDesc,
+            String activity, String inPunch, String outPunch, BigDecimal hours) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("workDate", wd != null ? wd.toString() : null);
+        m.put("projectCode", projectCode);
+        m.put("projectDesc", projectDesc);
+        m.put("activity", activity);
+        m.put("inPunch", inPunch);
+        m.put("outPunch", outPunch);
+        m.put("hours", hours);
+        return m;
+    }
+
     // Front-end calls this after import to clean bad zero dates/nulls in stage
     @PostMapping("/normalize")
     public ResponseEntity<Map<String, Object>> normalizeStage(HttpServletRequest req) {
@@ -498,10 +550,6 @@ public class TimecardsController {
                                    GROUP_CONCAT(COALESCE(t.allocation_code, t.home_job_code)
                                                 ORDER BY COALESCE(t.out_punch_time, t.in_punch_time) DESC),
                                    ',', 1) AS job_number,
-                               SUBSTRING_INDEX(
-                                   GROUP_CONCAT(COALESCE(t.home_job_desc, t.home_department_desc, t.dist_department_desc)
-                                                ORDER BY COALESCE(t.out_punch_time, t.in_punch_time) DESC),
-                                   ',', 1) AS project,
                                SUBSTRING_INDEX(
                                    GROUP_CONCAT(COALESCE(t.home_department_desc, t.home_department)
                                                 ORDER BY COALESCE(t.out_punch_time, t.in_punch_time) DESC),
@@ -532,8 +580,11 @@ public class TimecardsController {
                             (rs, i) -> {
                                 Map<String, Object> r = new LinkedHashMap<>();
                                 r.put("employeeCode", rs.getString("employee_code"));
-                                r.put("jobNumber", rs.getString("job_number"));
-                                r.put("project", rs.getString("project"));
+                                String job = rs.getString("job_number");
+                                r.put("jobNumber", job);
+                                // same project key as the service path: mapped project, else the code itself
+                                String mapped = jobProjects.projectForJob(job);
+                                r.put("project", mapped != null ? mapped : job);
                                 r.put("workGroup", rs.getString("work_group"));
                                 Timestamp ts = rs.getTimestamp("last_seen_at");
                                 r.put("lastSeenAt", ts != null ? ts.toLocalDateTime().toString() : null);
@@ -645,6 +696,17 @@ public class TimecardsController {
         final LocalDate startDate = resolveStartDate(start, endDate);
         final int maxLimit = Math.max(1, Math.min(limit, 5000));
 
+        var snap = punchCache.covering(eeCode, startDate);
+        if (snap != null) {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (int i = snap.lowerBound(startDate), hi = snap.upperBound(endDate); i < hi && rows.size() < maxLimit; i++) {
+                rows.add(rawRow(snap.text(Snapshot.EE_CODE, i), snap.workDate(i), snap.in(i), snap.out(i),
+                        snap.text(Snapshot.JOB_CODE, i), snap.text(Snapshot.ACTIVITY_CODE, i),
+                        snap.text(Snapshot.ACTIVITY_DESC, i), snap.earnHours(i)));
+            }
+            return ResponseEntity.ok(Map.of("rows", rows));
+        }
+
         final String sql = """
                 SELECT
                   t.ee_code,
@@ -672,29 +734,35 @@ public class TimecardsController {
                     ps.setInt(4, maxLimit);
                 },
                 (rs, rowNum) -> {
-                    Map<String, Object> m = new LinkedHashMap<>();
-                    m.put("ee_code", rs.getString("ee_code"));
-
-                    LocalDate wd = rs.getObject("work_date", LocalDate.class);
-                    m.put("work_date", wd != null ? wd.toString() : null);
-
-                    // Keep timestamps in local time - don't convert to UTC
                     Timestamp inTs = rs.getTimestamp("in_punch_time");
                     Timestamp outTs = rs.getTimestamp("out_punch_time");
-                    m.put("in_punch_time", inTs != null ? inTs.toLocalDateTime().toString() : null);
-                    m.put("out_punch_time", outTs != null ? outTs.toLocalDateTime().toString() : null);
-
-                    m.put("dist_job_code", rs.getString("job_code"));
-                    m.put("dist_activity_code", rs.getString("activity_code"));
-                    m.put("dist_activity_desc", rs.getString("activity_desc"));
-                    m.put("earn_hours", rs.getBigDecimal("earn_hours"));
-
-                    return m;
+                    return rawRow(rs.getString("ee_code"), rs.getObject("work_date", LocalDate.class),
+                            inTs != null ? inTs.toLocalDateTime() : null,
+                            outTs != null ? outTs.toLocalDateTime() : null,
+                            rs.getString("job_code"), rs.getString("activity_code"),
+                            rs.getString("activity_desc"), rs.getBigDecimal("earn_hours"));
                 });
 
         return ResponseEntity.ok(Map.of("rows", rows));
     }
 
+    private static Map<String, Object> rawRow(String eeCode, LocalDate wd, LocalDateTime in, LocalDateTime out,
+            String jobCode, String activityCode, String activityDesc, BigDecimal earnHours) {
+        Map<String, Object> m = new LinkedHashMap<>();
+        m.put("ee_code", eeCode);
+        m.put("work_date", wd != null ? wd.toString() : null);
+
+        // Keep timestamps in local time - don't convert to UTC
+        m.put("in_punch_time", in != null ? in.toString() : null);
+        m.put("out_punch_time", out != null ? out.toString() : null);
+
+        m.put("dist_job_code", jobCode);
+        m.put("dist_activity_code", activityCode);
+        m.put("dist_activity_desc", activityDesc);
+        m.put("earn_hours", earnHours);
+        return m;
+    }
+
     // NEW: raw rows for one employee over a date window
     @GetMapping("/by-emp")
     public ResponseEntity<List<Map<String, Object>>> byEmp(
@@ -713,6 +781,17 @@ public class TimecardsController {
 
         final int maxLimit = Math.max(1, Math.min(limit, 5000));
 
+        var snap = punchCache.covering(ee, startDate);
+        if (snap != null) {
+            List<Map<String, Object>> rows = new ArrayList<>();
+            for (int i = snap.lowerBound(startDate), hi = snap.upperBound(endDate); i < hi && rows.size() < maxLimit; i++) {
+                rows.add(byEmpRow(snap.text(Snapshot.EE_CODE, i), snap.workDate(i), snap.inRaw(i), snap.outRaw(i),
+                        snap.text(Snapshot.JOB_CODE, i), snap.text(Snapshot.JOB_DESC, i),
+                        snap.text(Snapshot.ACTIVITY_DESC, i), snap.earnHours(i)));
+            }
+            return ResponseEntity.ok(rows);
+        }
+
         final String sql = """
                 SELECT
                   t.ee_code,
@@ -739,59 +818,96 @@ public class TimecardsController {
                     ps.setObject(3, endDate);
                     ps.setInt(4, maxLimit);
                 },
-                (rs, rowNum) -> {
-                    Map<String, Object> m = new LinkedHashMap<>();
+                (rs, rowNum) -> byEmpRow(rs.getString("ee_code"), rs.getObject("work_date", LocalDate.class),
+                        // Pass through exactly what MySQL returns, no timezone conversions
+                        rs.getString("in_punch_time"), rs.getString("out_punch_time"),
+                        rs.getString("job_code"), rs.getString("job_desc"),
+                        rs.getString("activity"), rs.getBigDecimal("earn_hours")));
 
-                    String code = rs.getString("ee_code");
-                    m.put("ee_code", code);
-                    m.put("eeCode", code);
-                    m.put("employeeCode", code);
-
-                    LocalDate wd = rs.getObject("work_date", LocalDate.class);
-                    if (wd != null) {
-                        String wdStr = wd.toString();
-                        m.put("workDate", wdStr);
-                        m.put("work_date", wdStr);
-                        m.put("date", wdStr);
-                    }
+        return ResponseEntity.ok(rows);
+    }
 
-                    String inRaw = rs.getString("in_punch_time");
-                    String outRaw = rs.getString("out_punch_time");
+    private static Map<String, Object> byEmpRow(String code, LocalDate wd, String inRaw, String outRaw,
+            String jobCode, String jobDesc, String activity, BigDecimal hours) {
+        Map<String, Object> m = new LinkedHashMap<>();
 
-                    // Pass through exactly what MySQL returns, no timezone conversions
-                    m.put("in_punch_time", inRaw);
-                    m.put("out_punch_time", outRaw);
+        m.put("ee_code", code);
+        m.put("eeCode", code);
+        m.put("employeeCode", code);
 
-                    String jobCode = rs.getString("job_code");
-                    String jobDesc = rs.getString("job_desc");
-                    String activity = rs.getString("activity");
-                    BigDecimal hours = rs.getBigDecimal("earn_hours");
-
-                    // Job / project info – multiple aliases for the FE normalizer
-                    m.put("dist_job_code", jobCode);
-                    m.put("job_code", jobCode);
-                    m.put("jobCode", jobCode);
-                    m.put("jobNumber", jobCode);
-
-                    m.put("dist_job_desc", jobDesc);
-                    m.put("job_desc", jobDesc);
-                    m.put("jobDesc", jobDesc);
-                    m.put("project", jobDesc);
-
-                    // Activity / earn code
-                    m.put("dist_activity_desc", activity);
-                    m.put("activity", activity);
-                    m.put("earn_code_desc", activity);
-
-                    // Hours
-                    m.put("earn_hours", hours);
-                    m.put("hours", hours);
-                    m.put("totalHours", hours);
+        if (wd != null) {
+            String wdStr = wd.toString();
+            m.put("workDate", wdStr);
+            m.put("work_date", wdStr);
+            m.put("date", wdStr);
+        }
 
-                    return m;
-                });
+        m.put("in_punch_time", inRaw);
+        m.put("out_punch_time", outRaw);
 
-        return ResponseEntity.ok(rows);
+        // Job / project info – multiple aliases for the FE normalizer
+        m.put("dist_job_code", jobCode);
+        m.put("job_code", jobCode);
+        m.put("jobCode", jobCode);
+        m.put("jobNumber", jobCode);
+
+        m.put("dist_job_desc", jobDesc);
+        m.put("job_desc", jobDesc);
+        m.put("jobDesc", jobDesc);
+        m.put("project", jobDesc);
+
+        // Activity / earn code
+        m.put("dist_activity_desc", activity);
+        m.put("activity", activity);
+        m.put("earn_code_desc", activity);
+
+        // Hours
+        m.put("earn_hours", hours);
+        m.put("hours", hours);
+        m.put("totalHours", hours);
+
+        return m;
+    }
+
+    /**
+     * Bulk export for audits: CSV (default) or NDJSON, streamed from a
+     * forward-only cursor. Optional filters: eeCode (comma list), job.
+     */
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam(value = "start", required = false) String start,
+            @RequestParam(value = "end", required = false) String end,
+            @RequestParam(value = "eeCode", required = false) String eeCode,
+            @RequestParam(value = "job", required = false) String job,
+            @RequestParam(value = "format", defaultValue = "csv") String format,
+            @RequestParam(value = "gzip", defaultValue = "false") boolean gzip) {
+        final LocalDate endDate = resolveEndDate(end);
+        final LocalDate startDate = resolveStartDate(start, endDate);
+        final List<String> eeCodes = eeCode == null ? List.of()
+                : Arrays.stream(eeCode.split(",")).map(String::trim).filter(x -> !x.isEmpty()).toList();
+        final TimecardExportService.Format fmt = "ndjson".equalsIgnoreCase(format)
+                ? TimecardExportService.Format.NDJSON
+                : TimecardExportService.Format.CSV;
+
+        String fileName = "timecards_" + startDate + "_" + endDate
+                + (fmt == TimecardExportService.Format.NDJSON ? ".ndjson" : ".csv") + (gzip ? ".gz" : "");
+        MediaType type = gzip ? MediaType.parseMediaType("application/gzip")
+                : fmt == TimecardExportService.Format.NDJSON ? MediaType.parseMediaType("application/x-ndjson")
+                : MediaType.parseMediaType("text/csv");
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                try (GZIPOutputStream gz = new GZIPOutputStream(out, 64 * 1024)) {
+                    exportService.export(startDate, endDate, eeCodes, job, fmt, gz);
+                }
+            } else {
+                exportService.export(startDate, endDate, eeCodes, job, fmt, out);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(type)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + fileName + "\"")
+                .body(body);
     }
 
     /* ---------- helpers (add these inside TimecardsController) ---------- */
@@ -0,0 +1,45 @@
+// src/main/java/com/cec/EmployeeDB/controller/TimecardsStreamController.java
+package com.cec.EmployeeDB.controller;
+
+import com.cec.EmployeeDB.Dto.TimecardDTO;
+import com.cec.EmployeeDB.Dto.TimecardSpanDTO;
+import com.cec.EmployeeDB.Service.ReactiveTimecardReader;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+/**
+ * Streaming (NDJSON) variants of the Gantt range/span reads. Rows come from
+ * R2DBC with backpressure, so no Tomcat thread or Hikari connection is held
+ * while a large window is written out.
+ */
+@RestController
+@RequestMapping("/api/v1/timecards/stream")
+@RequiredArgsConstructor
+public class TimecardsStreamController {
+
+    private final ReactiveTimecardReader reader;
+
+    @GetMapping(value = "/range", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TimecardDTO> range(
+            @RequestParam(value = "startDate", required = false) String start,
+            @RequestParam(value = "endDate", required = false) String end,
+            @RequestParam(value = "limit", defaultValue = "6000") int limit) {
+        LocalDate endDate = (end != null && !end.isBlank()) ? LocalDate.parse(end) : LocalDate.now();
+        LocalDate startDate = (start != null && !start.isBlank()) ? LocalDate.parse(start) : endDate.minusMonths(12);
+        return reader.range(startDate, endDate, Math.max(1, Math.min(limit, 200_000)));
+    }
+
+    @GetMapping(value = "/spans", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<TimecardSpanDTO> spans(
+            @RequestParam("start") String start,
+            @RequestParam("end") String end,
+            @RequestParam(value = "emp", required = false) String emp,
+            @RequestParam(value = "limit", defaultValue = "5000") int limit) {
+        return reader.spans(LocalDate.parse(start), LocalDate.parse(end), emp,
+                Math.max(100, Math.min(limit, 200_000)));
+    }
+}
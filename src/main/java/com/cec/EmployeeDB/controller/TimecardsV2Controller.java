@@ -0,0 +1,64 @@
+// src/main/java/com/cec/EmployeeDB/controller/TimecardsV2Controller.java
+package com.cec.EmployeeDB.controller;
+
+import com.cec.EmployeeDB.Dto.EmpCodeBatchRequest;
+import com.cec.EmployeeDB.Dto.LatestWorkedDTO;
+import com.cec.EmployeeDB.Dto.TimecardPunchRow;
+import com.cec.EmployeeDB.Dto.WeekDetailRow;
+import com.cec.EmployeeDB.Service.TimecardQueryService;
+import com.cec.EmployeeDB.Service.TimecardRowQueryService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Compact, typed variants of the v1 employee timecard reads. Each value has a
+ * single camelCase name; /punches covers both v1 /raw and /by-emp.
+ */
+@RestController
+@RequestMapping("/api/v2/timecards")
+@RequiredArgsConstructor
+public class TimecardsV2Controller {
+
+    private final TimecardRowQueryService rowQueryService;
+    private final TimecardQueryService timecardQueryService;
+
+    @GetMapping("/punches")
+    public ResponseEntity<List<TimecardPunchRow>> punches(
+            @RequestParam("eeCode") String eeCode,
+            @RequestParam(value = "start", required = false) String start,
+            @RequestParam(value = "end", required = false) String end,
+            @RequestParam(value = "limit", defaultValue = "1000") int limit) {
+        if (eeCode == null || eeCode.isBlank()) {
+            return ResponseEntity.badRequest().body(List.of());
+        }
+        LocalDate endDate = (end != null && !end.isBlank()) ? LocalDate.parse(end) : LocalDate.now();
+        LocalDate startDate = (start != null && !start.isBlank()) ? LocalDate.parse(start) : endDate.minusDays(30);
+        return ResponseEntity.ok(rowQueryService.punches(eeCode, startDate, endDate, Math.max(1, Math.min(limit, 5000))));
+    }
+
+    @GetMapping("/week-detail")
+    public ResponseEntity<List<WeekDetailRow>> weekDetail(
+            @RequestParam("eeCode") String eeCode,
+            @RequestParam("weekEnding") String weekEnding,
+            @RequestParam(value = "projectCode", required = false) String projectCode) {
+        if (eeCode == null || eeCode.isBlank() || weekEnding == null || weekEnding.isBlank()) {
+            return ResponseEntity.badRequest().body(List.of());
+        }
+        String project = projectCode != null && !projectCode.isBlank() ? projectCode.trim() : null;
+        return ResponseEntity.ok(rowQueryService.weekDetail(eeCode, LocalDate.parse(weekEnding), project));
+    }
+
+    /** Same lookup as v1 /latest-by-emp, returned as the bare code -> latest map. */
+    @PostMapping("/latest-by-emp")
+    public Map<String, LatestWorkedDTO> latestByEmp(@RequestBody EmpCodeBatchRequest req,
+            @RequestParam(defaultValue = "180") int windowDays) {
+        List<String> codes = Optional.ofNullable(req.getEmpCodes()).orElseGet(List::of);
+        return timecardQueryService.latestByEmpCodes(codes, windowDays);
+    }
+}
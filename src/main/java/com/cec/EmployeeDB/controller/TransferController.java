@@ -52,57 +52,7 @@ public class TransferController {
   // Helper: entity -> DTO
   // ---------------------------------------------------------------------
   private TransferDto toDto(Transfer t) {
-    if (t == null)
-      return null;
-
-    return new TransferDto(
-        t.getTransferId(),
-        t.getEmpCode(),
-        t.getXid(),
-        t.getEmpName(),
-        t.getClassification(),
-        t.getFromJobsite(),
-        t.getToJobsite(),
-        t.getEffectiveDate(),
-        t.getRateHourly(),
-        t.getRateType() != null ? t.getRateType().name() : null,
-        t.getEvaluationScore(),
-        t.getNotes(),
-        t.getEmail(),
-        t.getLicense1(),
-        t.getLicense2(),
-        t.getLicense3(),
-        t.getLicense4(),
-        t.getContactPhone(),
-        t.getLocationCity(),
-        t.getLocationState(),
-        t.getSheetDate(),
-        t.getLastPayChange(),
-        t.getHireDate(),
-        t.getBadging(),
-        t.getLevel1Status(),
-        t.getScissorLiftStatus(),
-        t.getCorrectiveAction(),
-        t.getLanguage(),
-        t.getGroup(),
-        t.getNewGroup(),
-        t.getJobsitesOfInterest(),
-        t.getUpdates(),
-        t.getNewHireFollowUp(),
-        t.getOsha10Date(),
-        t.getOsha30Date(),
-        t.getTransferStatus(),
-        t.getTerm(),
-        t.getPerDiem(),
-        t.getSourceFile(),
-        t.getTravelPreference(),
-        t.getIsArchived(),
-        t.getCreatedAt(),
-        t.getUpdatedAt(),
-        t.getEmpCodeNormKey(),
-        t.getEffKey(),
-        t.getFromJobsiteKey(),
-        t.getToJobsiteKey());
+    return TransferDto.from(t);
   }
 
   // ---------------------------------------------------------------------
@@ -2,16 +2,23 @@ package com.cec.EmployeeDB.jobs;
 
 import com.cec.EmployeeDB.Service.TimecardPredictionService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+@Slf4j
 @Component @RequiredArgsConstructor
 public class PredictionRebuildJob {
   private final TimecardPredictionService svc;
 
-  // 2:15am server time, daily
-  @Scheduled(cron = "0 15 2 * * *")
+  // Full safety-net rebuild; imports refresh the employees they touch right
+  // away. Runs on its own virtual thread so the shared scheduler thread
+  // (timecard cache refresh fires at 2:15 too) is not held.
+  @Scheduled(cron = "${app.predictions.rebuild.cron:0 15 2 * * SUN}")
   public void runNightly() {
-    try { svc.rebuildAllPredictions(28); } catch (Exception ignored) {}
+    Thread.ofVirtual().name("prediction-rebuild").start(() -> {
+      try { svc.rebuildAllPredictions(28); }
+      catch (Exception e) { log.warn("Nightly prediction rebuild failed: {}", e.toString()); }
+    });
   }
-}
\ No newline at end of file
+}
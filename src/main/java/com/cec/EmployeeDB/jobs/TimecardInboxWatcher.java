@@ -0,0 +1,245 @@
+// src/main/java/com/cec/EmployeeDB/jobs/TimecardInboxWatcher.java
+package com.cec.EmployeeDB.jobs;
+
+import com.cec.EmployeeDB.Dto.ImportResultDTO;
+import com.cec.EmployeeDB.Service.TimecardCacheService;
+import com.cec.EmployeeDB.Service.TimecardImportService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Imports Paycom exports dropped into {@code app.timecards.inbox.dir} straight
+ * from disk. Files are keyed by SHA-256 in {@code timecard_import_file}, so a
+ * re-dropped identical file is skipped without touching the staging tables.
+ * The checksum row commits together with the import, so a crash in between
+ * can neither lose the file's rows nor import it twice.
+ * Processed files move to {@code done/} (or {@code failed/}) next to a
+ * {@code .result.json} with the import stats. Disabled when the dir is blank.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TimecardInboxWatcher implements SmartLifecycle {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private final TimecardImportService importService;
+    private final TimecardCacheService cacheService;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+
+    @Value("${app.timecards.inbox.dir:}")
+    private String inboxDir;
+
+    // A file is only picked up once its size has stopped changing for this long
+    @Value("${app.timecards.inbox.settle-ms:2000}")
+    private long settleMs;
+
+    private volatile boolean running;
+    private volatile Thread worker;
+    private volatile WatchService watcher;
+
+    @Override
+    public void start() {
+        if (inboxDir == null || inboxDir.isBlank()) {
+            return;
+        }
+        Path inbox = Paths.get(inboxDir);
+        try {
+            Files.createDirectories(inbox.resolve("done"));
+            Files.createDirectories(inbox.resolve("failed"));
+            watcher = FileSystems.getDefault().newWatchService();
+            inbox.register(watcher, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            log.error("Timecard inbox {} unavailable: {}", inbox, e.getMessage());
+            return;
+        }
+        // set before the thread starts so its first loop check can't see a stopped watcher
+        running = true;
+        worker = Thread.ofPlatform().daemon().name("timecard-inbox").start(() -> run(inbox));
+        log.info("Watching timecard inbox {}", inbox.toAbsolutePath());
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread t = worker;
+        worker = null;
+        try {
+            if (watcher != null) watcher.close();
+        } catch (IOException ignore) {
+        }
+        if (t != null) t.interrupt();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run(Path inbox) {
+        while (running) {
+            try {
+                // First pass also picks up anything dropped while the app was down
+                boolean copying = sweep(inbox);
+                // Files still being written get re-checked on a timer; otherwise block for events
+                WatchKey key = copying ? watcher.poll(settleMs, TimeUnit.MILLISECONDS) : watcher.take();
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+            } catch (InterruptedException | ClosedWatchServiceException e) {
+                return;
+            } catch (Exception e) {
+                log.warn("Timecard inbox loop error: {}", e.getMessage());
+            }
+        }
+    }
+
+    /** Import every settled file; returns true if some file is still being copied in. */
+    private boolean sweep(Path inbox) {
+        List<Path> files;
+        try (Stream<Path> s = Files.list(inbox)) {
+            files = s.filter(Files::isRegularFile).filter(TimecardInboxWatcher::isImportable).sorted().toList();
+        } catch (IOException e) {
+            log.warn("Cannot list timecard inbox {}: {}", inbox, e.getMessage());
+            return false;
+        }
+        boolean copying = false;
+        for (Path f : files) {
+            if (!running) break;
+            if (isSettled(f)) process(inbox, f);
+            else copying = true;
+        }
+        return copying;
+    }
+
+    void process(Path inbox, Path file) {
+        String name = file.getFileName().toString();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("file", name);
+        Path target = inbox.resolve("done");
+        try {
+            long size = Files.size(file);
+            String checksum = sha256(file);
+            stats.put("sha256", checksum);
+
+            Integer seen = jdbc.queryForObject(
+                    "SELECT COUNT(*) FROM timecard_import_file WHERE checksum = ?", Integer.class, checksum);
+            if (seen != null && seen > 0) {
+                stats.put("skipped", "duplicate file");
+            } else {
+                ImportResultDTO r = null;
+                try {
+                    r = tx.execute(status -> importAndRecord(file, name, size, checksum));
+                } catch (DuplicateKeyException raced) {
+                    // another instance recorded the same file first; this import rolled back
+                    stats.put("skipped", "duplicate file");
+                }
+                if (r != null) {
+                    stats.put("batchId", r.getBatchId());
+                    stats.put("total", r.getTotal());
+                    stats.put("inserted", r.getInserted());
+                    stats.put("duplicates", r.getDuplicates());
+                    if (r.getUnchanged() != null) {
+                        stats.put("unchanged", r.getUnchanged());
+                    }
+                    cacheService.refreshForBatches(List.of(r.getBatchId()));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Inbox import of {} failed: {}", name, e.getMessage());
+            stats.put("error", String.valueOf(e.getMessage()));
+            target = inbox.resolve("failed");
+        }
+        moveWithStats(file, target, stats);
+    }
+
+    private ImportResultDTO importAndRecord(Path file, String name, long size, String checksum) {
+        ImportResultDTO r;
+        try {
+            r = importService.importSource(name, new FileSystemResource(file), false);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e.getMessage(), e);
+        }
+        jdbc.update("""
+                INSERT INTO timecard_import_file
+                  (checksum, file_name, file_size, batch_id, total_rows, inserted_rows, duplicate_rows)
+                VALUES (?, ?, ?, ?, ?, ?, ?)
+                """, checksum, name, size, r.getBatchId(), r.getTotal(), r.getInserted(), r.getDuplicates());
+        return r;
+    }
+
+    private void moveWithStats(Path file, Path dir, Map<String, Object> stats) {
+        String name = file.getFileName().toString();
+        Path dest = dir.resolve(name);
+        if (Files.exists(dest)) {
+            dest = dir.resolve(System.currentTimeMillis() + "-" + name);
+        }
+        try {
+            Files.move(file, dest, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException notAtomic) {
+            try {
+                Files.move(file, dest);
+            } catch (IOException e) {
+                log.error("Cannot move {} to {}: {}", file, dir, e.getMessage());
+                return;
+            }
+        }
+        try {
+            MAPPER.writerWithDefaultPrettyPrinter()
+                    .writeValue(dir.resolve(dest.getFileName() + ".result.json").toFile(), stats);
+        } catch (IOException e) {
+            log.warn("Cannot write stats for {}: {}", dest, e.getMessage());
+        }
+    }
+
+    private boolean isSettled(Path f) {
+        try {
+            long before = Files.size(f);
+            long age = System.currentTimeMillis() - Files.getLastModifiedTime(f).toMillis();
+            return age >= settleMs && Files.size(f) == before;
+        } catch (IOException e) {
+            return false;
+        }
+    }
+
+    static boolean isImportable(Path p) {
+        String n = p.getFileName().toString().toLowerCase(Locale.ROOT);
+        return !n.startsWith(".") && (n.endsWith(".csv") || n.endsWith(".xlsx"));
+    }
+
+    static String sha256(Path file) throws Exception {
+        MessageDigest md = MessageDigest.getInstance("SHA-256");
+        byte[] buf = new byte[256 * 1024];
+        try (InputStream in = Files.newInputStream(file)) {
+            int n;
+            while ((n = in.read(buf)) > 0) {
+                md.update(buf, 0, n);
+            }
+        }
+        return HexFormat.of().formatHex(md.digest());
+    }
+}
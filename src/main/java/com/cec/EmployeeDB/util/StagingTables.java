@@ -0,0 +1,45 @@
+// src/main/java/com/cec/EmployeeDB/util/StagingTables.java
+package com.cec.EmployeeDB.util;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+
+/**
+ * Per-import staging tables.
+ *
+ * Each import gets its own uniquely named TEMPORARY copy of the shared staging
+ * table, so concurrent uploads never TRUNCATE or read each other's rows.
+ * TEMPORARY tables live on the JDBC session, so callers must run inside a
+ * transaction (same pooled connection for CREATE / LOAD / SELECT / DROP).
+ */
+public final class StagingTables {
+    private StagingTables() {
+    }
+
+    /** Create an empty session-scoped clone of {@code baseTable}; returns its name. */
+    public static String createSessionCopy(JdbcTemplate jdbc, String baseTable) {
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        String name = baseTable + "_" + suffix;
+        jdbc.execute("CREATE TEMPORARY TABLE `" + name + "` LIKE `" + baseTable + "`");
+        return name;
+    }
+
+    /** Create a session-scoped table from {@code selectSql}; returns its name. */
+    public static String createSessionAs(JdbcTemplate jdbc, String prefix, String selectSql) {
+        String suffix = UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+        String name = prefix + "_" + suffix;
+        jdbc.execute("CREATE TEMPORARY TABLE `" + name + "` AS " + selectSql);
+        return name;
+    }
+
+    /** Drop a table created by {@link #createSessionCopy} or {@link #createSessionAs}; never throws. */
+    public static void drop(JdbcTemplate jdbc, String name) {
+        if (name == null || name.isBlank())
+            return;
+        try {
+            jdbc.execute("DROP TEMPORARY TABLE IF EXISTS `" + name + "`");
+        } catch (Exception ignore) {
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- One row per file ingested from the timecard inbox; checksum makes re-drops a no-op
+CREATE TABLE IF NOT EXISTS timecard_import_file (
+  checksum      CHAR(64)     NOT NULL PRIMARY KEY,
+  file_name     VARCHAR(512) NOT NULL,
+  file_size     BIGINT       NOT NULL,
+  batch_id      BIGINT       NULL,
+  total_rows    INT          NOT NULL DEFAULT 0,
+  inserted_rows INT          NOT NULL DEFAULT 0,
+  duplicate_rows INT         NOT NULL DEFAULT 0,
+  imported_at   DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,16 @@
+-- Audit row per import run, with the per-phase timing breakdown
+CREATE TABLE IF NOT EXISTS import_batch (
+  id             BIGINT       NOT NULL AUTO_INCREMENT PRIMARY KEY,
+  importer       VARCHAR(32)  NOT NULL,
+  batch_id       BIGINT       NULL,
+  file_name      VARCHAR(512) NULL,
+  total_rows     INT          NOT NULL DEFAULT 0,
+  inserted_rows  INT          NOT NULL DEFAULT 0,
+  duplicate_rows INT          NOT NULL DEFAULT 0,
+  total_ms       BIGINT       NOT NULL,
+  rows_per_sec   DOUBLE       NULL,
+  phase_ms       JSON         NULL,
+  created_at     DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  KEY ix_import_batch_batch (batch_id),
+  KEY ix_import_batch_created (importer, created_at)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
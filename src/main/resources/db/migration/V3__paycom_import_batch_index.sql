@@ -0,0 +1,2 @@
+-- Post-import lookups (affected employees / date window) filter by batch id
+CREATE INDEX idx_paycom_import_batch ON paycom_time_report (import_batch_id);
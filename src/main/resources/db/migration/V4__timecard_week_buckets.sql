@@ -0,0 +1,53 @@
+-- Week buckets for overlap lookups. Each punch / cached span is listed under every
+-- Monday it touches, so "overlaps [from, to)" becomes an equality/IN on week_start
+-- (a PK range) instead of a two-sided range on in/out times.
+-- Punches with no out time, or implausible spans, go in the 9999-12-31 bucket and
+-- are always re-checked by the full overlap predicate.
+CREATE TABLE IF NOT EXISTS timecard_punch_week (
+  week_start DATE   NOT NULL,
+  punch_id   BIGINT NOT NULL,
+  PRIMARY KEY (week_start, punch_id),
+  KEY idx_tpw_punch (punch_id)
+) ENGINE=InnoDB;
+
+INSERT IGNORE INTO timecard_punch_week (week_start, punch_id)
+WITH RECURSIVE w (punch_id, wk, last_day) AS (
+  SELECT id, DATE(in_punch_time) - INTERVAL WEEKDAY(in_punch_time) DAY, DATE(out_punch_time)
+    FROM paycom_time_report
+   WHERE in_punch_time >= '1900-01-01'
+     AND out_punch_time IS NOT NULL
+     AND out_punch_time < in_punch_time + INTERVAL 366 DAY
+  UNION ALL
+  SELECT punch_id, wk + INTERVAL 7 DAY, last_day FROM w WHERE wk + INTERVAL 7 DAY <= last_day
+)
+SELECT wk, punch_id FROM w;
+
+INSERT IGNORE INTO timecard_punch_week (week_start, punch_id)
+SELECT '9999-12-31', id
+  FROM paycom_time_report
+ WHERE in_punch_time IS NOT NULL
+   AND (out_punch_time IS NULL
+        OR in_punch_time < '1900-01-01'
+        OR out_punch_time >= in_punch_time + INTERVAL 366 DAY);
+
+CREATE TABLE IF NOT EXISTS timecard_spans_week (
+  week_start    DATE        NOT NULL,
+  ee_code       VARCHAR(64) NOT NULL,
+  start_date    DATE        NOT NULL,
+  end_date_excl DATE        NOT NULL,
+  PRIMARY KEY (week_start, ee_code, start_date, end_date_excl),
+  KEY idx_tsw_dates (start_date, end_date_excl)
+) ENGINE=InnoDB;
+
+INSERT IGNORE INTO timecard_spans_week (week_start, ee_code, start_date, end_date_excl)
+WITH RECURSIVE w (wk, ee_code, start_date, end_date_excl) AS (
+  SELECT start_date - INTERVAL WEEKDAY(start_date) DAY, ee_code, start_date, end_date_excl
+    FROM timecard_spans_cache
+   WHERE ee_code IS NOT NULL AND end_date_excl > start_date
+  UNION ALL
+  SELECT wk + INTERVAL 7 DAY, ee_code, start_date, end_date_excl FROM w WHERE wk + INTERVAL 7 DAY < end_date_excl
+)
+SELECT wk, ee_code, start_date, end_date_excl FROM w;
+
+-- Bucket hits are looked up back into the cache by (ee_code, start_date)
+CREATE INDEX idx_spans_cache_ee_start ON timecard_spans_cache (ee_code, start_date);
@@ -0,0 +1,11 @@
+-- Fingerprint of the rows last staged for each (employee, punch day). A re-export whose
+-- day-group fingerprint matches is dropped from staging before INSERT (see TimecardImportService).
+CREATE TABLE IF NOT EXISTS timecard_day_fingerprint (
+  ee_code     VARCHAR(64)  NOT NULL,
+  work_date   DATE         NOT NULL,
+  fingerprint VARCHAR(96)  NOT NULL,
+  row_count   INT          NOT NULL,
+  batch_id    BIGINT       NULL,
+  updated_at  DATETIME     NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (ee_code, work_date)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,12 @@
+-- Employee code materialized from details_json so the alerts list can filter on an index instead
+-- of JSON_EXTRACT per row. JSON_VALUE maps a JSON null to SQL NULL.
+ALTER TABLE alert_event
+  ADD COLUMN emp_code VARCHAR(64)
+    GENERATED ALWAYS AS (JSON_VALUE(details_json, '$.emp_code' RETURNING CHAR(64))) STORED;
+
+-- Alerts list: each filter + the keyset order (occurred_on DESC, id DESC) used for paging
+CREATE INDEX idx_alert_status_occurred   ON alert_event (status, occurred_on, id);
+CREATE INDEX idx_alert_type_occurred     ON alert_event (type, occurred_on, id);
+CREATE INDEX idx_alert_emp_code_occurred ON alert_event (emp_code, occurred_on, id);
+CREATE INDEX idx_alert_employee_occurred ON alert_event (employee_id, occurred_on, id);
+CREATE INDEX idx_alert_occurred          ON alert_event (occurred_on, id);
@@ -0,0 +1,34 @@
+package com.cec.EmployeeDB.Config;
+
+import com.cec.EmployeeDB.Service.TimecardDataVersion;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimecardEtagInterceptorTest {
+
+    private final TimecardDataVersion version = new TimecardDataVersion();
+    private final TimecardEtagInterceptor interceptor = new TimecardEtagInterceptor(version);
+
+    @Test
+    void matching_etag_short_circuits_with_304_until_version_bumps() {
+        MockHttpServletRequest first = new MockHttpServletRequest("GET", "/api/v1/timecards/range");
+        MockHttpServletResponse firstResp = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(first, firstResp, new Object())).isTrue();
+        String etag = firstResp.getHeader("ETag");
+        assertThat(etag).isEqualTo(version.etag());
+
+        MockHttpServletRequest again = new MockHttpServletRequest("GET", "/api/v1/timecards/range");
+        again.addHeader("If-None-Match", etag);
+        MockHttpServletResponse againResp = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(again, againResp, new Object())).isFalse();
+        assertThat(againResp.getStatus()).isEqualTo(304);
+
+        version.bump();
+        MockHttpServletResponse afterBump = new MockHttpServletResponse();
+        assertThat(interceptor.preHandle(again, afterBump, new Object())).isTrue();
+        assertThat(afterBump.getHeader("ETag")).isNotEqualTo(etag);
+    }
+}
@@ -0,0 +1,70 @@
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Service.EmployeePunchCache.Snapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+class EmployeePunchCacheTest {
+
+    private static Snapshot threeDays() {
+        Snapshot.Builder b = new Snapshot.Builder(LocalDate.of(2024, 1, 1), System.currentTimeMillis());
+        for (int d = 1; d <= 3; d++) {
+            LocalDate wd = LocalDate.of(2024, 1, d);
+            b.add("EE1", wd, wd.atTime(7, 0), wd.atTime(15, 30), "J" + d, "Job " + d, "A", "Work",
+                    "J" + d, "Job " + d, d == 2 ? null : new BigDecimal("8.5"), new BigDecimal("8.5"));
+        }
+        return b.build();
+    }
+
+    @Test
+    void bounds_slice_inclusive_date_range() {
+        Snapshot s = threeDays();
+
+        assertThat(s.lowerBound(LocalDate.of(2024, 1, 2))).isEqualTo(1);
+        assertThat(s.upperBound(LocalDate.of(2024, 1, 2))).isEqualTo(2);
+        assertThat(s.upperBound(LocalDate.of(2024, 2, 1))).isEqualTo(3);
+        assertThat(s.text(Snapshot.JOB_CODE, 1)).isEqualTo("J2");
+    }
+
+    @Test
+    void renders_values_like_the_sql_paths() {
+        Snapshot s = threeDays();
+
+        assertThat(s.inRaw(0)).isEqualTo("2024-01-01 07:00:00");
+        assertThat(s.in(0)).isEqualTo(LocalDateTime.of(2024, 1, 1, 7, 0));
+        assertThat(s.earnHours(0)).hasToString("8.50");
+        assertThat(s.earnHours(1)).isNull();
+        assertThat(s.weekHours(1)).hasToString("8.50");
+    }
+
+    @Test
+    void deleted_punch_evicts_its_employee() {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        EmployeePunchCache cache = new EmployeePunchCache(jdbc);
+        ReflectionTestUtils.setField(cache, "weeks", 12);
+        ReflectionTestUtils.setField(cache, "maxEmployees", 10);
+        ReflectionTestUtils.setField(cache, "ttlMinutes", 30L);
+
+        cache.recent("ee1");
+        assertThat(cache.peek("EE1")).isNotNull();
+
+        cache.onPunchDeleted(new TimecardPunchDeletedEvent(5L, " EE1", LocalDate.of(2024, 1, 2)));
+
+        assertThat(cache.peek("EE1")).isNull();
+        cache.recent("ee1");
+        verify(jdbc, times(2)).query(anyString(), any(RowCallbackHandler.class), any(), any());
+    }
+}
@@ -0,0 +1,118 @@
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Dto.CurrentAssignmentDTO;
+import com.cec.EmployeeDB.Dto.GanttBundleDTO;
+import com.cec.EmployeeDB.Dto.LastWorkedPredictionDTO;
+import com.cec.EmployeeDB.Dto.TimecardDTO;
+import com.cec.EmployeeDB.Entity.Transfer;
+import com.cec.EmployeeDB.Repo.TransferRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class GanttBundleServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 10, 12);
+    private static final LocalDate END = LocalDate.of(2026, 10, 18);
+
+    @Mock
+    TimecardsService timecardsService;
+
+    @Mock
+    PredictionCache predictionCache;
+
+    @Mock
+    TransferRepository transferRepo;
+
+    @InjectMocks
+    GanttBundleService service;
+
+    @Test
+    void employees_from_timecards_and_transfers_drive_the_per_employee_parts() {
+        when(timecardsService.findInRange(START, END, 500)).thenReturn(List.of(timecard("e2 "), timecard("E1")));
+        when(transferRepo.findTransfersInRange(START, END)).thenReturn(List.of(transfer("E3"), transfer("e1")));
+        List<String> codes = List.of("E1", "e2", "E3");
+        var prediction = LastWorkedPredictionDTO.builder().empCode("E1").projectKey("P1").build();
+        when(predictionCache.getAll(codes)).thenReturn(Map.of("E1", prediction));
+        when(timecardsService.currentAssignmentsFor(codes, 45)).thenReturn(List.of(new CurrentAssignmentDTO()));
+
+        GanttBundleDTO b = service.load(START, END, 500, null, true, 45);
+
+        assertThat(b.getEmployeeCodes()).isEqualTo(codes);
+        assertThat(b.getTimecards()).hasSize(2);
+        assertThat(b.getTransfers()).hasSize(2);
+        assertThat(b.getPredictions()).containsEntry("E1", prediction);
+        assertThat(b.getCurrentAssignments()).hasSize(1);
+        assertThat(b.getErrors()).isNull();
+    }
+
+    @Test
+    void requested_codes_win_and_predictions_can_be_skipped() {
+        when(timecardsService.findInRange(START, END, 10)).thenReturn(List.of(timecard("E9")));
+        when(transferRepo.findTransfersInRange(START, END)).thenReturn(List.of());
+        when(timecardsService.currentAssignmentsFor(List.of("A1", "B2"), 30)).thenReturn(List.of());
+
+        GanttBundleDTO b = service.load(START, END, 10, List.of(" B2", "A1", "", "a1"), false, 30);
+
+        assertThat(b.getEmployeeCodes()).containsExactly("A1", "B2");
+        assertThat(b.getPredictions()).isEmpty();
+        verifyNoInteractions(predictionCache);
+    }
+
+    @Test
+    void a_failing_part_is_reported_and_the_rest_still_returned() {
+        when(timecardsService.findInRange(START, END, 500)).thenReturn(List.of(timecard("E1")));
+        when(transferRepo.findTransfersInRange(START, END)).thenThrow(new IllegalStateException("transfers down"));
+        when(predictionCache.getAll(List.of("E1"))).thenThrow(new IllegalStateException("cache down"));
+        when(timecardsService.currentAssignmentsFor(List.of("E1"), 45)).thenReturn(List.of(new CurrentAssignmentDTO()));
+
+        GanttBundleDTO b = service.load(START, END, 500, null, true, 45);
+
+        assertThat(b.getErrors()).containsOnly(
+                Map.entry("transfers", "transfers down"), Map.entry("predictions", "cache down"));
+        assertThat(b.getTransfers()).isNull();
+        assertThat(b.getTimecards()).hasSize(1);
+        assertThat(b.getCurrentAssignments()).hasSize(1);
+        verify(timecardsService).currentAssignmentsFor(List.of("E1"), 45);
+    }
+
+    @Test
+    void no_employees_means_no_per_employee_reads() {
+        when(timecardsService.findInRange(START, END, 500)).thenReturn(List.of());
+        when(transferRepo.findTransfersInRange(START, END)).thenReturn(List.of());
+
+        GanttBundleDTO b = service.load(START, END, 500, null, true, 45);
+
+        assertThat(b.getEmployeeCodes()).isEmpty();
+        assertThat(b.getCurrentAssignments()).isEmpty();
+        verifyNoInteractions(predictionCache);
+        verify(timecardsService, never()).currentAssignmentsFor(any(), anyInt());
+    }
+
+    private static TimecardDTO timecard(String code) {
+        TimecardDTO t = new TimecardDTO();
+        t.setEmployeeCode(code);
+        return t;
+    }
+
+    private static Transfer transfer(String code) {
+        Transfer t = new Transfer();
+        t.setEmpCode(code);
+        return t;
+    }
+}
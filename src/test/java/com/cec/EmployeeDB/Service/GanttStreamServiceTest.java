@@ -0,0 +1,205 @@
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Dto.TimecardDTO;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class GanttStreamServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2026, 10, 12);
+    private static final LocalDate END = LocalDate.of(2026, 10, 18);
+
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final Connection con = mock(Connection.class);
+    private final PreparedStatement ps = mock(PreparedStatement.class);
+    private final List<String> sql = new ArrayList<>();
+    private final Recording emitter = new Recording();
+    private final GanttStreamService service = new GanttStreamService(jdbc) {
+        @Override
+        SseEmitter newEmitter(long timeout) {
+            return emitter;
+        }
+    };
+
+    @Test
+    void chunks_are_cut_only_at_employee_boundaries() throws Exception {
+        feed(null, "E1", "E1", "E2", "E3", "E3");
+
+        service.stream(START, END, null, 2);
+
+        assertThat(emitter.finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(emitter.events).hasSize(3);
+        Event first = emitter.events.poll();
+        assertThat(first.text()).contains("id:E1\n").contains("event:rows");
+        assertThat(codes(first)).containsExactly("E1", "E1");
+        Event second = emitter.events.poll();
+        assertThat(second.text()).contains("id:E3\n");
+        assertThat(codes(second)).containsExactly("E2", "E3", "E3");
+        Event done = emitter.events.poll();
+        assertThat(done.text()).contains("event:done");
+        assertThat(done.data()).isEqualTo(Map.of("rows", 5, "employees", 3));
+        assertThat(sql.getFirst()).doesNotContain("t.ee_code > ?");
+    }
+
+    @Test
+    void last_event_id_resumes_after_that_employee() throws Exception {
+        feed(null, "E3");
+
+        service.stream(START, END, " E2 ", 100);
+
+        assertThat(emitter.finished.await(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(sql.getFirst()).contains("AND t.ee_code > ?");
+        // week buckets, window end, window start, then the resume code
+        int weeks = TimecardWeekBuckets.punchWeeks(START.atStartOfDay(), END.plusDays(1).atStartOfDay()).size();
+        verify(ps).setString(weeks + 3, "E2");
+        assertThat(codes(emitter.events.peek())).containsExactly("E3");
+    }
+
+    @Test
+    void client_disconnect_cancels_the_running_statement() throws Exception {
+        CountDownLatch queried = new CountDownLatch(1);
+        doAnswer(inv -> {
+            try {
+                // the client goes away after the first row was read
+                return answer(inv.getArgument(0), inv.getArgument(1), () ->
+                        emitter.completionCallbacks.forEach(Runnable::run), "E1", "E2", "E3");
+            } finally {
+                queried.countDown();
+            }
+        }).when(jdbc).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        service.stream(START, END, null, 1);
+
+        assertThat(queried.await(5, TimeUnit.SECONDS)).isTrue();
+        verify(ps).cancel();
+        assertThat(emitter.rowsRead).isEqualTo(1);
+        assertThat(emitter.finished.await(200, TimeUnit.MILLISECONDS)).isFalse();
+        assertThat(emitter.events).noneMatch(e -> e.text().contains("event:done"));
+    }
+
+    @Test
+    void streams_past_the_cap_are_refused_until_a_running_one_ends() throws Exception {
+        ReflectionTestUtils.setField(service, "maxConcurrent", 1);
+        ReflectionTestUtils.setField(service, "hikariPoolSize", 10);
+        CountDownLatch hold = new CountDownLatch(1);
+        feed(() -> {
+            try {
+                hold.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }, "E1", "E2");
+
+        service.stream(START, END, null, 100);
+
+        assertThatThrownBy(() -> service.stream(START, END, null, 100))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        hold.countDown();
+        assertThat(emitter.finished.await(5, TimeUnit.SECONDS)).isTrue();
+        Semaphore streams = (Semaphore) ReflectionTestUtils.getField(service, "streams");
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (streams.availablePermits() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(streams.availablePermits()).isEqualTo(1);
+    }
+
+    private void feed(Runnable afterFirstRow, String... codes) {
+        doAnswer(inv -> answer(inv.getArgument(0), inv.getArgument(1), afterFirstRow, codes))
+                .when(jdbc).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+    }
+
+    private Object answer(PreparedStatementCreator psc, RowCallbackHandler handler, Runnable afterFirstRow,
+                          String... codes) throws Exception {
+        when(con.prepareStatement(anyString(), anyInt(), anyInt())).thenAnswer(inv -> {
+            sql.add(inv.getArgument(0));
+            return ps;
+        });
+        psc.createPreparedStatement(con);
+        for (String code : codes) {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString("ee_code")).thenReturn(code);
+            handler.processRow(rs);
+            emitter.rowsRead++;
+            if (afterFirstRow != null && emitter.rowsRead == 1) {
+                afterFirstRow.run();
+            }
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<String> codes(Event e) {
+        return ((List<TimecardDTO>) e.data()).stream().map(TimecardDTO::getEmployeeCode).toList();
+    }
+
+    private record Event(String text, Object data) {
+    }
+
+    /** Records events and completion; hands the registered callbacks to the test. */
+    private static final class Recording extends SseEmitter {
+        private final Queue<Event> events = new ConcurrentLinkedQueue<>();
+        private final List<Runnable> completionCallbacks = new ArrayList<>();
+        private final CountDownLatch finished = new CountDownLatch(1);
+        private volatile int rowsRead;
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            Object data = null;
+            for (var part : builder.build()) {
+                if (part.getData() instanceof String s) {
+                    text.append(s);
+                } else {
+                    data = part.getData();
+                }
+            }
+            events.add(new Event(text.toString(), data));
+        }
+
+        @Override
+        public synchronized void onCompletion(Runnable callback) {
+            completionCallbacks.add(callback);
+        }
+
+        @Override
+        public void complete() {
+            finished.countDown();
+        }
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            finished.countDown();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.cec.EmployeeDB.Service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ImportMetricsTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final ImportMetrics metrics = new ImportMetrics(registry, jdbc);
+
+    @Test
+    void laps_accumulate_per_phase_and_finish_adds_the_total() {
+        ImportMetrics.Run run = metrics.start("timecard-csv", "week.csv");
+        run.lap("load_data");
+        run.lap("insert_select");
+        run.lap("load_data");
+
+        Map<String, Long> phases = run.finish(7L, 100, 90, 10);
+
+        assertThat(phases).containsOnlyKeys("load_data", "insert_select", "total");
+        assertThat(registry.get("import.phase").tags("importer", "timecard-csv", "phase", "load_data")
+                .timer().count()).isEqualTo(2);
+        assertThat(registry.get("import.total").tag("importer", "timecard-csv").timer().count()).isEqualTo(1);
+        assertThat(registry.get("import.rows").tag("importer", "timecard-csv").counter().count()).isEqualTo(100);
+        verify(jdbc).update(contains("INSERT INTO import_batch"), eq("timecard-csv"), eq(7L), eq("week.csv"),
+                eq(100L), eq(90), eq(10), anyLong(), any(), contains("\"load_data\""));
+    }
+
+    @Test
+    void an_empty_run_is_still_audited() {
+        Map<String, Long> phases = metrics.start("timecard-xlsx", "empty.xlsx").finish(8L, 0, 0, 0);
+
+        assertThat(phases).containsOnlyKeys("total");
+        verify(jdbc).update(contains("INSERT INTO import_batch"), eq("timecard-xlsx"), eq(8L), eq("empty.xlsx"),
+                eq(0L), eq(0), eq(0), anyLong(), any(), eq("{}"));
+    }
+
+    @Test
+    void a_failed_audit_write_does_not_fail_the_import() {
+        when(jdbc.update(anyString(), any(Object[].class))).thenThrow(new IllegalStateException("no table"));
+
+        assertThat(metrics.start("timecard-csv", "week.csv").finish(9L, 1, 1, 0)).containsKey("total");
+    }
+}
@@ -0,0 +1,135 @@
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Entity.JobToProjectMap;
+import com.cec.EmployeeDB.Service.JobProjectResolver.Index;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class JobProjectResolverTest {
+
+    // the pattern TimecardsServiceImpl used before jobCodeIn
+    private static final Pattern JOB_CODE_RE = Pattern.compile("\\b[A-Za-z]{2}\\d{2}-\\d{2}\\b", Pattern.CASE_INSENSITIVE);
+
+    private static JobToProjectMap map(long id, String job, String dept, String desc, String project, int boost) {
+        return JobToProjectMap.builder().id(id).jobCode(job).departmentCode(dept).departmentDesc(desc)
+                .projectKey(project).confidenceBoost(boost).active(true).build();
+    }
+
+    private static final Index INDEX = new Index(List.of(
+            map(1, "J1", null, null, "P1", 0),
+            map(2, "j1", null, null, "P1-low", -1),
+            map(3, "J2", null, null, "P2", 5),
+            map(4, null, "D9", "Shop", "P9", 0),
+            map(5, "AB12*", null, null, "AB-ALL", 0),
+            map(6, "ab12-3%", null, null, "AB-30S", 0),
+            map(7, "AB12-34", null, null, "AB-EXACT", 0),
+            JobToProjectMap.builder().id(8L).jobCode("J9").projectKey("OFF").confidenceBoost(9).active(false).build()));
+
+    @Test
+    void exact_codes_match_case_insensitively_and_prefer_highest_boost() {
+        assertThat(INDEX.byJob("j1")).isEqualTo("P1");
+        assertThat(INDEX.byJob("J2")).isEqualTo("P2");
+        assertThat(INDEX.byJob("J9")).isNull();
+        assertThat(INDEX.byJob("nope")).isNull();
+    }
+
+    @Test
+    void pattern_rows_match_by_longest_prefix_after_exact() {
+        assertThat(INDEX.byJob("AB12-34")).isEqualTo("AB-EXACT");
+        assertThat(INDEX.byJob("ab12-35")).isEqualTo("AB-30S");
+        assertThat(INDEX.byJob("AB12-99")).isEqualTo("AB-ALL");
+        assertThat(INDEX.byJob("AB13-00")).isNull();
+    }
+
+    @Test
+    void departments_try_code_then_description() {
+        assertThat(INDEX.byDept("d9", null)).isEqualTo("P9");
+        assertThat(INDEX.byDept("other", "SHOP")).isEqualTo("P9");
+        assertThat(INDEX.byDept(null, "unknown")).isNull();
+    }
+
+    @Test
+    void jobCodeIn_agrees_with_the_regex() {
+        assertThat(JobProjectResolver.jobCodeIn("Job ab12-34 main")).isEqualTo("AB12-34");
+        assertThat(JobProjectResolver.jobCodeIn("xab12-34")).isNull();
+        assertThat(JobProjectResolver.jobCodeIn("AB12-345")).isNull();
+        assertThat(JobProjectResolver.jobCodeIn("(AB12-34)")).isEqualTo("AB12-34");
+
+        Random rnd = new Random(42);
+        String alphabet = "aBz09-_ .";
+        for (int n = 0; n < 20_000; n++) {
+            String s = randomText(rnd, alphabet);
+            Matcher m = JOB_CODE_RE.matcher(s);
+            assertThat(JobProjectResolver.jobCodeIn(s)).as(s).isEqualTo(m.find() ? m.group().toUpperCase() : null);
+        }
+    }
+
+    private static String randomText(Random rnd, String alphabet) {
+        StringBuilder sb = new StringBuilder();
+        int len = rnd.nextInt(16);
+        for (int i = 0; i < len; i++) {
+            if (rnd.nextInt(6) == 0) {
+                sb.append("Ab").append(rnd.nextInt(10)).append(rnd.nextInt(10)).append('-').append(rnd.nextInt(10))
+                        .append(rnd.nextInt(10));
+            } else {
+                sb.append(alphabet.charAt(rnd.nextInt(alphabet.length())));
+            }
+        }
+        return sb.toString();
+    }
+
+    /** Rough timing only: {@code mvn test -Dtest=JobProjectResolverTest -Dbench=true}. */
+    @Test
+    @EnabledIfSystemProperty(named = "bench", matches = "true")
+    void microbenchmark() {
+        List<JobToProjectMap> rows = new ArrayList<>();
+        for (int i = 0; i < 5_000; i++) {
+            rows.add(map(i, String.format("JB%02d-%02d", i / 100 % 100, i % 100), "D" + i, "Dept " + i, "P" + i, i % 7));
+        }
+        for (int i = 0; i < 50; i++) {
+            rows.add(map(10_000 + i, String.format("PX%02d*", i), null, null, "PX" + i, 0));
+        }
+        Index index = new Index(rows);
+        String[] codes = new String[4096];
+        String[] descs = new String[4096];
+        Random rnd = new Random(7);
+        for (int i = 0; i < codes.length; i++) {
+            codes[i] = rnd.nextBoolean() ? String.format("JB%02d-%02d", rnd.nextInt(50), rnd.nextInt(100))
+                    : String.format("PX%02d-%02d", rnd.nextInt(60), rnd.nextInt(100));
+            descs[i] = "Shift at site " + codes[i].toLowerCase() + " / crew " + i;
+        }
+
+        int iterations = 2_000_000;
+        long sink = 0;
+        for (int warm = 0; warm < 2; warm++) {
+            long t0 = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                String p = index.byJob(codes[i & 4095]);
+                sink += p != null ? p.length() : 0;
+            }
+            long t1 = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                String c = JobProjectResolver.jobCodeIn(descs[i & 4095]);
+                sink += c != null ? c.length() : 0;
+            }
+            long t2 = System.nanoTime();
+            for (int i = 0; i < iterations; i++) {
+                Matcher m = JOB_CODE_RE.matcher(descs[i & 4095]);
+                sink += m.find() ? m.group().toUpperCase().length() : 0;
+            }
+            long t3 = System.nanoTime();
+            System.out.printf("byJob %.1f ns/op, jobCodeIn %.1f ns/op, regex %.1f ns/op (sink %d)%n",
+                    (t1 - t0) / (double) iterations, (t2 - t1) / (double) iterations,
+                    (t3 - t2) / (double) iterations, sink);
+        }
+        assertThat(sink).isPositive();
+    }
+}
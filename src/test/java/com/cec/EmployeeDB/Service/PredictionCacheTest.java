@@ -0,0 +1,93 @@
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Dto.LastWorkedPredictionDTO;
+import com.cec.EmployeeDB.Entity.EmployeeProjectPrediction;
+import com.cec.EmployeeDB.Repo.EmployeeProjectPredictionRepository;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PredictionCacheTest {
+
+    @Mock
+    EmployeeProjectPredictionRepository predRepo;
+
+    @Mock
+    TimecardPredictionService predictionService;
+
+    @InjectMocks
+    PredictionCache cache;
+
+    private static EmployeeProjectPrediction stored(String emp, String project, LocalDateTime expiresAt) {
+        return EmployeeProjectPrediction.builder().empCode(emp).projectKey(project).confidence(80)
+                .method("recency").asOf(LocalDateTime.now().minusDays(1)).expiresAt(expiresAt).build();
+    }
+
+    private static LastWorkedPredictionDTO computed(String emp, String project) {
+        return LastWorkedPredictionDTO.builder().empCode(emp).projectKey(project).confidence(70)
+                .method("recency").asOf(LocalDateTime.now()).build();
+    }
+
+    @Test
+    void misses_load_in_one_query_then_serve_from_memory() {
+        when(predRepo.findAllById(anyIterable()))
+                .thenReturn(List.of(stored("E1", "P1", LocalDateTime.now().plusDays(3))));
+        when(predictionService.predictForEmp("E2")).thenReturn(computed("E2", "P2"));
+
+        Map<String, LastWorkedPredictionDTO> first = cache.getAll(List.of("E1", "E2", "e1"));
+        Map<String, LastWorkedPredictionDTO> second = cache.getAll(List.of("E1", "E2"));
+
+        assertThat(first.get("E1").getProjectKey()).isEqualTo("P1");
+        assertThat(first.get("e1").getProjectKey()).isEqualTo("P1");
+        assertThat(first.get("E2").getProjectKey()).isEqualTo("P2");
+        assertThat(second.get("E2").getProjectKey()).isEqualTo("P2");
+        verify(predRepo, times(1)).findAllById(anyIterable());
+        verify(predictionService, times(1)).predictForEmp("E2");
+        verify(predictionService, never()).predictForEmp("E1");
+    }
+
+    @Test
+    void expired_rows_are_served_stale_and_recomputed_in_background() {
+        when(predRepo.findAllById(anyIterable()))
+                .thenReturn(List.of(stored("E1", "OLD", LocalDateTime.now().minusMinutes(1))));
+        when(predictionService.predictForEmp("E1")).thenReturn(computed("E1", "NEW"));
+
+        assertThat(cache.get("E1").getProjectKey()).isEqualTo("OLD");
+
+        verify(predictionService, timeout(2000)).predictForEmp("E1");
+        await(() -> "NEW".equals(cache.get("E1").getProjectKey()));
+        verify(predRepo, times(1)).findAllById(anyIterable());
+    }
+
+    @Test
+    void update_events_drop_entries() {
+        when(predRepo.findAllById(anyIterable()))
+                .thenReturn(List.of(stored("E1", "P1", LocalDateTime.now().plusDays(3))));
+        cache.get("E1");
+
+        cache.onPredictionsUpdated(new PredictionsUpdatedEvent(Set.of("e1")));
+        cache.get("E1");
+
+        verify(predRepo, times(2)).findAllById(anyIterable());
+    }
+
+    private static void await(java.util.function.BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 2000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+}
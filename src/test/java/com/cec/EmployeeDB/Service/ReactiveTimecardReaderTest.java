@@ -0,0 +1,104 @@
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Dto.TimecardDTO;
+import com.cec.EmployeeDB.Dto.TimecardSpanDTO;
+import io.r2dbc.spi.Readable;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.RowsFetchSpec;
+import org.springframework.test.util.ReflectionTestUtils;
+import reactor.core.publisher.Flux;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReactiveTimecardReaderTest {
+
+    private final DatabaseClient client = mock(DatabaseClient.class);
+    private final DatabaseClient.GenericExecuteSpec spec = mock(DatabaseClient.GenericExecuteSpec.class);
+    private final ReactiveTimecardReader reader = new ReactiveTimecardReader();
+    private final String[] sql = new String[1];
+    private Readable row;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(reader, "client", client);
+        ReflectionTestUtils.setField(reader, "useCache", true);
+        when(client.sql(anyString())).thenAnswer(inv -> {
+            sql[0] = inv.getArgument(0);
+            return spec;
+        });
+        when(spec.bind(anyString(), any())).thenReturn(spec);
+        when(spec.map(any(Function.class))).thenAnswer(inv -> {
+            Function<Readable, Object> mapper = inv.getArgument(0);
+            RowsFetchSpec<Object> fetch = mock(RowsFetchSpec.class);
+            when(fetch.all()).thenAnswer(all -> Flux.just(row).map(mapper));
+            return fetch;
+        });
+    }
+
+    @Test
+    void range_binds_the_punch_window_and_maps_like_the_jdbc_path() {
+        row = mock(Readable.class);
+        when(row.get("id", Long.class)).thenReturn(5L);
+        when(row.get("ee_code", String.class)).thenReturn("E1");
+        when(row.get("in_punch_time", LocalDateTime.class)).thenReturn(LocalDateTime.of(2026, 10, 13, 7, 0));
+        when(row.get("dist_job_code", String.class)).thenReturn("J1");
+
+        List<TimecardDTO> out = reader.range(LocalDate.of(2026, 10, 12), LocalDate.of(2026, 10, 18), 50)
+                .collectList().block();
+
+        assertThat(out).singleElement().satisfies(d -> {
+            assertThat(d.getEmployeeCode()).isEqualTo("E1");
+            assertThat(d.getProject()).isEqualTo("J1");
+            // open punch: the bar ends where it starts, as in TimecardsServiceImpl.toDto
+            assertThat(d.getEnd()).isEqualTo(d.getStart());
+        });
+        verify(spec).bind("from", LocalDateTime.of(2026, 10, 12, 0, 0));
+        verify(spec).bind("to", LocalDateTime.of(2026, 10, 19, 0, 0));
+        verify(spec).bind("limit", 50);
+    }
+
+    @Test
+    void spans_read_the_cache_table_and_filter_by_employee_only_when_given() {
+        row = mock(Readable.class);
+        when(row.get("ee_code", String.class)).thenReturn("E1");
+
+        List<TimecardSpanDTO> out = reader.spans(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 31), "E1", 100)
+                .collectList().block();
+
+        assertThat(out).singleElement().satisfies(s -> assertThat(s.getTotalHours()).isEqualTo(BigDecimal.ZERO));
+        assertThat(sql[0]).contains("FROM timecard_spans_cache").contains("AND ee_code = :emp");
+        verify(spec).bind("emp", "E1");
+
+        ReflectionTestUtils.setField(reader, "useCache", false);
+        reader.spans(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 31), " ", 100).collectList().block();
+
+        assertThat(sql[0]).contains("FROM v_timecard_spans").doesNotContain(":emp");
+        verify(spec, never()).bind("emp", " ");
+    }
+
+    @Test
+    void unconfigured_url_fails_the_call_not_startup() {
+        ReactiveTimecardReader unconfigured = new ReactiveTimecardReader();
+        ReflectionTestUtils.setField(unconfigured, "url", "");
+
+        assertThatThrownBy(() -> unconfigured.range(LocalDate.now(), LocalDate.now(), 1))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("app.timecards.reactive.url");
+    }
+}
@@ -0,0 +1,121 @@
+package com.cec.EmployeeDB.Service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TimecardExportServiceTest {
+
+    @Test
+    void csv_row_quotes_only_when_needed() throws Exception {
+        StringWriter w = new StringWriter();
+
+        TimecardExportService.writeRow(w, new Object[] {
+                "E1", "Smith, Jr", "say \"hi\"", null, new BigDecimal("8.50"), 42L });
+
+        assertThat(w.toString()).isEqualTo("E1,\"Smith, Jr\",\"say \"\"hi\"\"\",,8.50,42\r\n");
+    }
+
+    @Test
+    void ndjson_writes_one_object_per_line_with_typed_numbers() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        TimecardExportService.NdjsonSink sink = new TimecardExportService.NdjsonSink(out);
+
+        Object[] row = new Object[TimecardExportService.COLUMNS.length];
+        row[0] = "E1";
+        row[7] = new BigDecimal("4.25");
+        sink.write(row);
+        row[0] = "E2";
+        sink.write(row);
+        sink.flush();
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertThat(lines).hasSize(2);
+        assertThat(lines[0]).startsWith("{\"ee_code\":\"E1\"").contains("\"earn_hours\":4.25");
+        assertThat(lines[1]).startsWith("{\"ee_code\":\"E2\"");
+    }
+
+    @Test
+    void employee_filter_matches_trimmed_upper_case_codes() throws Exception {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        Connection con = mock(Connection.class);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        String[] sql = new String[1];
+        when(con.prepareStatement(anyString(), anyInt(), anyInt())).thenAnswer(inv -> {
+            sql[0] = inv.getArgument(0);
+            return ps;
+        });
+        doAnswer(inv -> {
+            PreparedStatementCreator psc = inv.getArgument(0);
+            psc.createPreparedStatement(con);
+            return null;
+        }).when(jdbc).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        new TimecardExportService(jdbc).export(LocalDate.of(2026, 1, 5), LocalDate.of(2026, 1, 11),
+                Arrays.asList(" e1 ", "E2", "", null, "e2"), null, TimecardExportService.Format.CSV,
+                new ByteArrayOutputStream());
+
+        assertThat(sql[0]).contains("AND UPPER(TRIM(t.ee_code)) IN (?,?)");
+        verify(ps).setObject(3, "E1");
+        verify(ps).setObject(4, "E2");
+    }
+
+    @Test
+    void client_disconnect_cancels_the_streaming_statement() throws Exception {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        Connection con = mock(Connection.class);
+        PreparedStatement ps = mock(PreparedStatement.class);
+        when(con.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(ps);
+        ResultSet rs = mock(ResultSet.class);
+        // larger than the CSV buffer, so the first row reaches the broken stream
+        when(rs.getObject(anyInt())).thenReturn("x".repeat(128 * 1024));
+        doAnswer(inv -> {
+            PreparedStatementCreator psc = inv.getArgument(0);
+            psc.createPreparedStatement(con);
+            RowCallbackHandler h = inv.getArgument(1);
+            h.processRow(rs);
+            return null;
+        }).when(jdbc).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+        OutputStream broken = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) throws IOException {
+                throw new IOException("Broken pipe");
+            }
+        };
+
+        assertThatThrownBy(() -> new TimecardExportService(jdbc).export(LocalDate.of(2026, 1, 5),
+                LocalDate.of(2026, 1, 11), List.of(), null, TimecardExportService.Format.CSV, broken))
+                .isInstanceOf(IOException.class)
+                .hasMessage("Broken pipe");
+        verify(ps).cancel();
+    }
+}
@@ -0,0 +1,28 @@
+package com.cec.EmployeeDB.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimecardFilterOptionsTest {
+
+    private static Map<String, List<String>> values(String... projects) {
+        Map<String, List<String>> m = new LinkedHashMap<>();
+        m.put("projects", List.of(projects));
+        m.put("workGroups", List.of("A"));
+        return m;
+    }
+
+    @Test
+    void etag_depends_only_on_values() {
+        assertThat(TimecardFilterOptions.etag(values("P1", "P2")))
+                .isEqualTo(TimecardFilterOptions.etag(values("P1", "P2")))
+                .startsWith("\"").endsWith("\"");
+        assertThat(TimecardFilterOptions.etag(values("P1", "P2")))
+                .isNotEqualTo(TimecardFilterOptions.etag(values("P1P2")));
+    }
+}
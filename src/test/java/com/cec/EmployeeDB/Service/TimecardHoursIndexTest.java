@@ -0,0 +1,74 @@
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Service.TimecardHoursIndex.Cells;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+class TimecardHoursIndexTest {
+
+    private static int day(int d) {
+        return (int) LocalDate.of(2024, 1, d).toEpochDay();
+    }
+
+    private static Cells sample() {
+        Cells.Builder b = new Cells.Builder();
+        b.add("E1", Cells.UNDATED, null, 1, 0, 0f, 0f);
+        b.add("E1", day(1), "P1", 2, 2, 8f, 8f);
+        b.add("E2", day(1), "P2", 1, 1, 4f, 4f);
+        b.add("E1", day(2), "P1", 1, 0, 0f, 2f);
+        return b.build();
+    }
+
+    @Test
+    void totals_and_bounds() {
+        Cells c = sample();
+
+        assertThat(c.totals(null, null).rows()).isEqualTo(5);
+        assertThat(c.totals(LocalDate.of(2024, 1, 2), null).rows()).isEqualTo(1);
+        assertThat(c.totals(null, LocalDate.of(2024, 1, 1)).averageEarnHours()).isEqualTo(4.0);
+        assertThat(c.firstDay()).isEqualTo(LocalDate.of(2024, 1, 1));
+        assertThat(c.lastDay()).isEqualTo(LocalDate.of(2024, 1, 2));
+        assertThat(c.employeeCount()).isEqualTo(2);
+        assertThat(c.totals(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1)).hours()).isEqualTo(12.0);
+        assertThat(c.totals(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 2)).earnRows()).isEqualTo(3);
+    }
+
+    @Test
+    void replace_swaps_only_the_patched_slice() {
+        Cells.Builder p = new Cells.Builder();
+        p.add("E1", day(2), "P1", 3, 3, 9f, 9f);
+        p.add("E1", day(3), "P3", 1, 1, 1f, 1f);
+
+        Cells c = sample().replace(Set.of("E1"), LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 3), p.build());
+
+        assertThat(c.size()).isEqualTo(5);
+        assertThat(c.totals(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 1)).hours()).isEqualTo(12.0);
+        assertThat(c.totals(LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 3)))
+                .extracting(TimecardHoursIndex.Totals::rows, TimecardHoursIndex.Totals::hours)
+                .containsExactly(4L, 10.0);
+        assertThat(c.employeeCount()).isEqualTo(2);
+        assertThat(c.lastDay()).isEqualTo(LocalDate.of(2024, 1, 3));
+    }
+
+    @Test
+    void deleted_punch_rereads_only_its_employee_day() {
+        TimecardHoursIndex index = new TimecardHoursIndex(mock(NamedParameterJdbcTemplate.class));
+        ReflectionTestUtils.setField(index, "enabled", true);
+        ReflectionTestUtils.setField(index, "cells", sample());
+
+        // the mocked re-read returns no rows: E1 has nothing left on Jan 2
+        index.onPunchDeleted(new TimecardPunchDeletedEvent(7L, "e1 ", LocalDate.of(2024, 1, 2)));
+
+        Cells c = index.cells();
+        assertThat(c.totals(LocalDate.of(2024, 1, 2), null).rows()).isZero();
+        assertThat(c.totals(null, null).rows()).isEqualTo(4);
+        assertThat(c.lastDay()).isEqualTo(LocalDate.of(2024, 1, 1));
+    }
+}
@@ -0,0 +1,146 @@
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Dto.ImportResultDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCallback;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TimecardImportServiceTest {
+
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final JdbcTemplate auditJdbc = mock(JdbcTemplate.class);
+    private final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+    private final TimecardImportService service = new TimecardImportService(jdbc,
+            new ImportMetrics(new SimpleMeterRegistry(), auditJdbc),
+            events, mock(TimecardWeekBuckets.class));
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void csv_drops_unchanged_day_groups_and_counts_the_rest_as_duplicates() throws Exception {
+        when(jdbc.execute(any(StatementCallback.class))).thenReturn(10);
+        when(jdbc.update(contains("DELETE pts FROM"))).thenReturn(3);
+        when(jdbc.update(contains("INSERT IGNORE INTO paycom_time_report"))).thenReturn(5);
+
+        ImportResultDTO r = service.importSource("week.csv",
+                new ByteArrayResource("ee_code\r\n".getBytes(StandardCharsets.UTF_8)), false);
+
+        assertThat(r.getTotal()).isEqualTo(10);
+        assertThat(r.getUnchanged()).isEqualTo(3);
+        assertThat(r.getInserted()).isEqualTo(5);
+        assertThat(r.getDuplicates()).isEqualTo(2);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbc, atLeastOnce()).update(sql.capture());
+        assertThat(sql.getAllValues()).filteredOn(s -> s.contains("DELETE pts FROM")).singleElement()
+                .satisfies(s -> assertThat(s)
+                        .contains("JOIN timecard_day_fingerprint f")
+                        .contains("f.ee_code = g.ee_code")
+                        .contains("f.work_date = g.work_date")
+                        .contains("f.fingerprint = g.fingerprint"));
+        verify(jdbc).update(contains("INSERT INTO timecard_day_fingerprint"), eq(r.getBatchId()));
+        // the CSV path keeps its fingerprints; only other writers forget them
+        verify(jdbc, never()).update(eq(TimecardImportService.FORGET_BATCH_FINGERPRINTS_SQL), any(Object[].class));
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void duplicates_never_go_negative_when_counts_disagree() throws Exception {
+        when(jdbc.execute(any(StatementCallback.class))).thenReturn(4);
+        when(jdbc.update(contains("DELETE pts FROM"))).thenReturn(3);
+        when(jdbc.update(contains("INSERT IGNORE INTO paycom_time_report"))).thenReturn(2);
+
+        ImportResultDTO r = service.importSource("week.csv", new ByteArrayResource(new byte[0]), false);
+
+        assertThat(r.getDuplicates()).isZero();
+    }
+
+    @Test
+    void xlsx_import_forgets_the_fingerprints_of_the_days_it_wrote() throws Exception {
+        when(jdbc.update(contains("INSERT IGNORE INTO paycom_time_report"), any(Object[].class))).thenReturn(1);
+
+        ImportResultDTO r = service.importSource("week.xlsx", new ByteArrayResource(workbook(true)), false);
+
+        assertThat(r.getInserted()).isEqualTo(2);
+        verify(jdbc).update(TimecardImportService.FORGET_BATCH_FINGERPRINTS_SQL, r.getBatchId());
+        assertThat(TimecardImportService.FORGET_BATCH_FINGERPRINTS_SQL)
+                .contains("DELETE f FROM timecard_day_fingerprint f")
+                .contains("DATE(in_punch_time) AS work_date")
+                .contains("WHERE import_batch_id = ?");
+        verify(jdbc, never()).update(contains("INSERT INTO timecard_day_fingerprint"), any(Object[].class));
+    }
+
+    @Test
+    void unpublished_imports_are_announced_together_in_one_event() throws Exception {
+        ImportResultDTO a = service.importSource("a.xlsx", new ByteArrayResource(workbook(false)), false, false);
+        ImportResultDTO b = service.importSource("b.xlsx", new ByteArrayResource(workbook(false)), false, false);
+        verify(events, never()).publishEvent(any(Object.class));
+
+        service.publishImported(List.of(a.getBatchId(), b.getBatchId()), false);
+
+        ArgumentCaptor<Object> event = ArgumentCaptor.forClass(Object.class);
+        verify(events).publishEvent(event.capture());
+        assertThat(event.getValue()).isInstanceOfSatisfying(TimecardsImportedEvent.class, e -> {
+            assertThat(e.batchIds()).containsExactly(a.getBatchId(), b.getBatchId());
+            assertThat(e.replacedAll()).isFalse();
+        });
+    }
+
+    @Test
+    void empty_workbook_is_still_timed_and_audited() throws Exception {
+        ImportResultDTO r = service.importSource("empty.xlsx", new ByteArrayResource(workbook(false)), false);
+
+        assertThat(r.getTotal()).isZero();
+        assertThat(r.getPhaseMillis()).containsKeys("parse_workbook", "total");
+        verify(auditJdbc).update(contains("INSERT INTO import_batch"), eq("timecard-xlsx"), eq(r.getBatchId()),
+                eq("empty.xlsx"), eq(0L), eq(0), eq(0), any(), any(), any());
+    }
+
+    @Test
+    void deleted_punch_forgets_its_day_fingerprint() {
+        service.onPunchDeleted(new TimecardPunchDeletedEvent(3L, " E1 ", LocalDate.of(2026, 10, 14)));
+
+        verify(jdbc).update("DELETE FROM timecard_day_fingerprint WHERE ee_code = ? AND work_date = ?",
+                "E1", LocalDate.of(2026, 10, 14));
+    }
+
+    private static byte[] workbook(boolean withRows) throws Exception {
+        try (XSSFWorkbook wb = new XSSFWorkbook(); ByteArrayOutputStream out = new ByteArrayOutputStream()) {
+            var sheet = wb.createSheet();
+            if (!withRows) {
+                wb.write(out);
+                return out.toByteArray();
+            }
+            Row header = sheet.createRow(0);
+            header.createCell(0).setCellValue("EE Code");
+            header.createCell(1).setCellValue("In Punch Time");
+            for (int i = 1; i <= 2; i++) {
+                Row row = sheet.createRow(i);
+                row.createCell(0).setCellValue("E" + i);
+                row.createCell(1).setCellValue("2026-10-1" + i + " 07:00:00");
+            }
+            wb.write(out);
+            return out.toByteArray();
+        }
+    }
+}
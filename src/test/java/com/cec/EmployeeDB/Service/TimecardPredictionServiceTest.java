@@ -0,0 +1,187 @@
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Entity.JobToProjectMap;
+import com.cec.EmployeeDB.Entity.PaycomTimeReport;
+import com.cec.EmployeeDB.Repo.EmployeeProjectPredictionRepository;
+import com.cec.EmployeeDB.Repo.PaycomTimeReportRepository;
+import com.cec.EmployeeDB.Service.TimecardPredictionService.Decision;
+import com.cec.EmployeeDB.Service.JobProjectResolver.Index;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.after;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TimecardPredictionServiceTest {
+
+    // Wednesday; last completed week is Mon 2024-05-06 .. Sun 2024-05-12
+    private static final LocalDate END = LocalDate.of(2024, 5, 15);
+
+    private static JobToProjectMap map(long id, String job, String dept, String desc, String project, int boost) {
+        return JobToProjectMap.builder().id(id).jobCode(job).departmentCode(dept).departmentDesc(desc)
+                .projectKey(project).confidenceBoost(boost).active(true).build();
+    }
+
+    private static PaycomTimeReport row(LocalDate day, String job, double hours) {
+        return PaycomTimeReport.builder().eeCode("E1").workDate(day).distJobCode(job)
+                .earnHours(BigDecimal.valueOf(hours)).build();
+    }
+
+    private static final Index INDEX = new Index(List.of(
+            map(1, "J1", null, null, "P1", 0),
+            map(2, "j1", null, null, "P1-low", -1),
+            map(3, "J2", null, null, "P2", 5),
+            map(4, null, "D9", "Shop", "P9", 0),
+            map(5, "J3", null, null, "P3", 0)));
+
+    @Test
+    void mapProject_falls_back_from_job_to_department() {
+        PaycomTimeReport r = PaycomTimeReport.builder().homeDepartment("D9").build();
+        assertThat(TimecardPredictionService.mapProject(r, INDEX)).isEqualTo("P9");
+
+        r.setHomeJobCode("J2");
+        assertThat(TimecardPredictionService.mapProject(r, INDEX)).isEqualTo("P2");
+    }
+
+    @Test
+    void weekly_majority_wins_over_recency() {
+        List<PaycomTimeReport> rows = List.of(
+                row(LocalDate.of(2024, 5, 14), "J2", 8),
+                row(LocalDate.of(2024, 5, 8), "J1", 8),
+                row(LocalDate.of(2024, 5, 7), "J1", 8),
+                row(LocalDate.of(2024, 5, 6), "J2", 4));
+
+        Decision d = TimecardPredictionService.decide(rows, r -> TimecardPredictionService.mapProject(r, INDEX), END);
+
+        assertThat(d.projectKey()).isEqualTo("P1");
+        assertThat(d.method()).isEqualTo("weekly-majority");
+        assertThat(d.confidence()).isEqualTo(95); // 60 + 80/2, capped
+    }
+
+    @Test
+    void unmappable_rows_give_no_decision() {
+        List<PaycomTimeReport> rows = List.of(row(LocalDate.of(2024, 5, 14), "X", 8));
+        assertThat(TimecardPredictionService.decide(rows, r -> TimecardPredictionService.mapProject(r, INDEX), END))
+                .isNull();
+        assertThat(TimecardPredictionService.qualifies(PaycomTimeReport.builder().earnCode("pto").build())).isFalse();
+    }
+
+    @Test
+    void rebuild_splits_the_codes_into_contiguous_shards() {
+        Fixture f = new Fixture(List.of("A", "B", "C", "D", "E", "F", "G"), 3);
+
+        assertThat(f.service.rebuildAllPredictions(28)).isEqualTo(3);
+
+        // 7 codes over 3 shards: [0, 2), [2, 4), [4, 7)
+        assertThat(f.ranges).containsOnly(Map.entry("A", "B"), Map.entry("C", "D"), Map.entry("E", "G"));
+        verify(f.events).publishEvent(PredictionsUpdatedEvent.all());
+    }
+
+    @Test
+    void a_failing_shard_does_not_stop_the_others() {
+        Fixture f = new Fixture(List.of("A", "B", "C", "D"), 2);
+        f.failing.add("A");
+
+        assertThat(f.service.rebuildAllPredictions(28)).isEqualTo(1);
+
+        assertThat(f.ranges).containsOnly(Map.entry("A", "B"), Map.entry("C", "D"));
+        @SuppressWarnings("unchecked")
+        ArgumentCaptor<List<Object[]>> upserts = ArgumentCaptor.forClass(List.class);
+        verify(f.jdbc).batchUpdate(anyString(), upserts.capture());
+        assertThat(upserts.getValue()).extracting(args -> args[0]).containsExactly("C");
+        verify(f.events).publishEvent(PredictionsUpdatedEvent.all());
+    }
+
+    @Test
+    void imports_within_the_debounce_are_refreshed_in_one_pass() {
+        Fixture f = new Fixture(List.of(), 1);
+        ReflectionTestUtils.setField(f.service, "refreshDebounceMs", 300L);
+
+        f.service.onTimecardsImported(imported(Set.of("E1")));
+        f.service.onTimecardsImported(imported(Set.of("E2", "E1")));
+        f.service.onTimecardsImported(imported(Set.of("E3")));
+
+        verify(f.events, timeout(5_000)).publishEvent(new PredictionsUpdatedEvent(Set.of("E1", "E2", "E3")));
+        verify(f.jdbc, after(200).times(1)).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        // a later import schedules a fresh drain
+        f.service.onTimecardsImported(imported(Set.of("E4")));
+        verify(f.events, timeout(5_000)).publishEvent(new PredictionsUpdatedEvent(Set.of("E4")));
+    }
+
+    private static TimecardsImportedEvent imported(Set<String> codes) {
+        return new TimecardsImportedEvent(1L, codes, LocalDate.now(), LocalDate.now(), false);
+    }
+
+    /** Service over mocks; each scan yields one recent J1 row for the first employee of its range. */
+    private static final class Fixture {
+        final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        final ApplicationEventPublisher events = mock(ApplicationEventPublisher.class);
+        final TimecardPredictionService service;
+        final Set<Map.Entry<Object, Object>> ranges = ConcurrentHashMap.newKeySet();
+        final Set<String> failing = ConcurrentHashMap.newKeySet();
+
+        Fixture(List<String> codes, int shards) {
+            JobProjectResolver resolver = mock(JobProjectResolver.class);
+            when(resolver.index()).thenReturn(INDEX);
+            service = new TimecardPredictionService(mock(PaycomTimeReportRepository.class), resolver,
+                    mock(EmployeeProjectPredictionRepository.class), jdbc, events);
+            ReflectionTestUtils.setField(service, "rebuildShards", shards);
+            ReflectionTestUtils.setField(service, "rebuildMaxConnections", 2);
+            ReflectionTestUtils.setField(service, "hikariPoolSize", 10);
+            ReflectionTestUtils.setField(service, "rebuildBatchSize", 100);
+            when(jdbc.queryForList(anyString(), eq(String.class), any(), any())).thenReturn(codes);
+            doAnswer(inv -> {
+                List<Object> args = Collections.synchronizedList(new ArrayList<>());
+                PreparedStatement ps = mock(PreparedStatement.class);
+                doAnswer(set -> args.add(set.getArgument(1))).when(ps).setObject(anyInt(), any());
+                Connection con = mock(Connection.class);
+                when(con.prepareStatement(anyString(), anyInt(), anyInt())).thenReturn(ps);
+                ((PreparedStatementCreator) inv.getArgument(0)).createPreparedStatement(con);
+
+                // args: scanStart, end, then the employee filter values
+                Object first = args.get(2);
+                ranges.add(Map.entry(first, args.get(args.size() - 1)));
+                if (failing.contains(first)) {
+                    throw new QueryTimeoutException("shard timed out");
+                }
+                ResultSet rs = mock(ResultSet.class);
+                when(rs.getString("ee_code")).thenReturn((String) first);
+                when(rs.getObject("work_date", LocalDate.class)).thenReturn(LocalDate.now().minusDays(1));
+                when(rs.getBigDecimal("earn_hours")).thenReturn(BigDecimal.valueOf(8));
+                when(rs.getString("dist_job_code")).thenReturn("J1");
+                ((RowCallbackHandler) inv.getArgument(1)).processRow(rs);
+                return null;
+            }).when(jdbc).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+            when(jdbc.batchUpdate(anyString(), anyList())).thenAnswer(inv -> new int[((List<?>) inv.getArgument(1)).size()]);
+        }
+    }
+}
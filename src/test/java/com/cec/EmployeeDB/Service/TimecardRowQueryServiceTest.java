@@ -0,0 +1,101 @@
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Dto.TimecardPunchRow;
+import com.cec.EmployeeDB.Dto.WeekDetailRow;
+import com.cec.EmployeeDB.Service.EmployeePunchCache.Snapshot;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TimecardRowQueryServiceTest {
+
+    private static final LocalDate JAN_1 = LocalDate.of(2024, 1, 1);
+
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final EmployeePunchCache punchCache = mock(EmployeePunchCache.class);
+    private final TimecardRowQueryService service = new TimecardRowQueryService(jdbc, punchCache);
+
+    private static Snapshot threeDays() {
+        Snapshot.Builder b = new Snapshot.Builder(JAN_1, System.currentTimeMillis());
+        for (int d = 1; d <= 3; d++) {
+            LocalDate wd = LocalDate.of(2024, 1, d);
+            b.add("EE1", wd, wd.atTime(7, 0), wd.atTime(15, 30), "J" + d, "Job " + d, "A", "Work",
+                    "J" + d, "Job " + d, d == 2 ? null : new BigDecimal("8.5"), new BigDecimal("8.5"));
+        }
+        return b.build();
+    }
+
+    @Test
+    void punches_are_sliced_from_the_cached_snapshot_up_to_the_limit() {
+        when(punchCache.covering("EE1", LocalDate.of(2024, 1, 2))).thenReturn(threeDays());
+
+        List<TimecardPunchRow> rows = service.punches("EE1", LocalDate.of(2024, 1, 2), LocalDate.of(2024, 1, 3), 1);
+
+        assertThat(rows).singleElement().satisfies(r -> {
+            assertThat(r.jobCode()).isEqualTo("J2");
+            assertThat(r.inPunch()).isEqualTo(LocalDateTime.of(2024, 1, 2, 7, 0));
+            assertThat(r.hours()).isNull();
+        });
+        verifyNoInteractions(jdbc);
+    }
+
+    @Test
+    void punches_fall_back_to_sql_when_the_employee_is_not_cached() {
+        service.punches("ee1", JAN_1, LocalDate.of(2024, 1, 31), 50);
+
+        verify(jdbc).query(contains("FROM paycom_time_report"), eq(TimecardRowQueryService.PUNCH_ROW),
+                eq("ee1"), eq(JAN_1), eq(LocalDate.of(2024, 1, 31)), eq(50));
+    }
+
+    @Test
+    void week_detail_filters_the_snapshot_by_project_code_ignoring_case() {
+        when(punchCache.covering("EE1", LocalDate.of(2023, 12, 29))).thenReturn(threeDays());
+
+        List<WeekDetailRow> rows = service.weekDetail("EE1", LocalDate.of(2024, 1, 4), "j2");
+
+        // week hours keep the units fallback the SQL path computes with COALESCE
+        assertThat(rows).singleElement().satisfies(r -> {
+            assertThat(r.projectCode()).isEqualTo("J2");
+            assertThat(r.hours()).hasToString("8.50");
+        });
+    }
+
+    @Test
+    void week_detail_sql_binds_the_optional_project_twice() {
+        service.weekDetail("EE1", LocalDate.of(2024, 1, 7), null);
+
+        verify(jdbc).query(contains("? IS NULL OR"), eq(TimecardRowQueryService.WEEK_ROW),
+                eq("EE1"), eq(JAN_1), eq(LocalDate.of(2024, 1, 7)), isNull(), isNull());
+    }
+
+    @Test
+    void punch_row_maps_nullable_timestamps() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("ee_code")).thenReturn("EE1");
+        when(rs.getObject("work_date", LocalDate.class)).thenReturn(JAN_1);
+        when(rs.getTimestamp("in_punch_time")).thenReturn(Timestamp.valueOf(JAN_1.atTime(7, 0)));
+        when(rs.getBigDecimal(anyString())).thenReturn(BigDecimal.ONE);
+
+        TimecardPunchRow r = TimecardRowQueryService.PUNCH_ROW.mapRow(rs, 0);
+
+        assertThat(r.inPunch()).isEqualTo(JAN_1.atTime(7, 0));
+        assertThat(r.outPunch()).isNull();
+        assertThat(r.hours()).isEqualTo(BigDecimal.ONE);
+    }
+}
@@ -0,0 +1,32 @@
+package com.cec.EmployeeDB.Service;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimecardWeekBucketsTest {
+
+    @Test
+    void punch_window_maps_to_touched_mondays_plus_open_bucket() {
+        // Wed 2024-01-03 .. Mon 2024-01-15 00:00 (exclusive) touches two weeks
+        List<LocalDate> weeks = TimecardWeekBuckets.punchWeeks(
+                LocalDateTime.of(2024, 1, 3, 0, 0), LocalDateTime.of(2024, 1, 15, 0, 0));
+
+        assertThat(weeks).containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 8), TimecardWeekBuckets.OPEN);
+    }
+
+    @Test
+    void cached_span_sql_binds_weeks_then_exact_overlap() {
+        List<Object> args = new ArrayList<>();
+        String sql = TimecardWeekBuckets.cachedSpansOverlapping(LocalDate.of(2024, 1, 7), LocalDate.of(2024, 1, 9), args);
+
+        assertThat(sql).contains("w.week_start IN (?,?)");
+        assertThat(args).containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 8),
+                LocalDate.of(2024, 1, 9), LocalDate.of(2024, 1, 7));
+    }
+}
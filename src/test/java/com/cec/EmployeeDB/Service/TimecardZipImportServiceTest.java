@@ -0,0 +1,133 @@
+package com.cec.EmployeeDB.Service;
+
+import com.cec.EmployeeDB.Dto.ImportResultDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimecardZipImportServiceTest {
+
+    @Mock
+    private TimecardImportService importService;
+    @Mock
+    private TimecardCacheService cacheService;
+    @Mock
+    private JdbcTemplate jdbc;
+
+    private TimecardZipImportService service;
+    private final List<Path> spooled = Collections.synchronizedList(new ArrayList<>());
+
+    @BeforeEach
+    void setUp() {
+        service = new TimecardZipImportService(importService, cacheService,
+                new ImportMetrics(new SimpleMeterRegistry(), jdbc));
+        ReflectionTestUtils.setField(service, "parallelism", 2);
+        ReflectionTestUtils.setField(service, "maxEntryBytes", 1024L);
+    }
+
+    @Test
+    void sums_entry_results_and_refreshes_caches_once_for_all_batches() throws Exception {
+        when(importService.importSource(eq("a.csv"), any(InputStreamSource.class), eq(false), eq(false)))
+                .thenAnswer(inv -> result(inv.getArgument(1), "ee_code\nE1\n", 5L, 10, 7, 3));
+        when(importService.importSource(eq("week/b.csv"), any(InputStreamSource.class), eq(false), eq(false)))
+                .thenAnswer(inv -> result(inv.getArgument(1), "ee_code\nE2\n", 6L, 4, 4, 0));
+
+        ImportResultDTO total = service.importZip(zip(
+                "a.csv", "ee_code\nE1\n",
+                "week/b.csv", "ee_code\nE2\n",
+                "readme.txt", "skipped",
+                "__MACOSX/._a.csv", "skipped"));
+
+        assertThat(total.getFiles()).extracting(ImportResultDTO::getFileName).containsExactlyInAnyOrder("a.csv", "week/b.csv");
+        assertThat(total.getTotal()).isEqualTo(14);
+        assertThat(total.getInserted()).isEqualTo(11);
+        assertThat(total.getDuplicates()).isEqualTo(3);
+        assertThat(total.getErrors()).isZero();
+        assertThat(total.getBatchId()).isEqualTo(6L);
+        assertThat(total.getPhaseMillis()).containsKeys("entries", "cache_refresh", "publish", "total");
+        verify(cacheService).refreshForBatches(argThat(ids ->
+                ids.size() == 2 && ids.containsAll(List.of(5L, 6L))));
+        // entries import silently; one event covers the whole archive
+        verify(importService).publishImported(argThat(ids ->
+                ids.size() == 2 && ids.containsAll(List.of(5L, 6L))), eq(false));
+        assertThat(spooled).hasSize(2).noneMatch(Files::exists);
+    }
+
+    @Test
+    void a_failing_entry_is_reported_without_stopping_the_others() throws Exception {
+        when(importService.importSource(eq("good.csv"), any(InputStreamSource.class), eq(false), eq(false)))
+                .thenAnswer(inv -> result(inv.getArgument(1), "ee_code\nE1\n", 9L, 2, 2, 0));
+        when(importService.importSource(eq("bad.xlsx"), any(InputStreamSource.class), eq(false), eq(false)))
+                .thenAnswer(inv -> {
+                    spooled.add(((FileSystemResource) inv.getArgument(1)).getFile().toPath());
+                    throw new IllegalStateException("no sheet");
+                });
+
+        ImportResultDTO total = service.importZip(zip(
+                "bad.xlsx", "not a workbook",
+                "too-big.csv", "x".repeat(2048),
+                "good.csv", "ee_code\nE1\n"));
+
+        assertThat(total.getFiles()).hasSize(3);
+        assertThat(total.getErrors()).isEqualTo(2);
+        assertThat(total.getInserted()).isEqualTo(2);
+        assertThat(total.getBatchId()).isEqualTo(9L);
+        assertThat(total.getFiles()).filteredOn(f -> f.getErrors() > 0)
+                .extracting(ImportResultDTO::getError)
+                .containsExactlyInAnyOrder("no sheet", "Entry exceeds 1024 bytes: too-big.csv");
+        verify(importService, never()).importSource(eq("too-big.csv"), any(), eq(false), eq(false));
+        verify(cacheService).refreshForBatches(List.of(9L));
+        verify(importService).publishImported(List.of(9L), false);
+        assertThat(spooled).hasSize(2).noneMatch(Files::exists);
+    }
+
+    // checks the worker got the entry's bytes from a spool file, not memory
+    private ImportResultDTO result(InputStreamSource source, String expected, long batchId,
+                                   int total, int inserted, int duplicates) throws Exception {
+        assertThat(source).isInstanceOf(FileSystemResource.class);
+        Path file = ((FileSystemResource) source).getFile().toPath();
+        spooled.add(file);
+        assertThat(Files.readString(file)).isEqualTo(expected);
+        return ImportResultDTO.builder()
+                .batchId(batchId).total(total).inserted(inserted).duplicates(duplicates).build();
+    }
+
+    private static MockMultipartFile zip(String... namesAndBodies) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ZipOutputStream out = new ZipOutputStream(bytes)) {
+            for (int i = 0; i < namesAndBodies.length; i += 2) {
+                out.putNextEntry(new ZipEntry(namesAndBodies[i]));
+                out.write(namesAndBodies[i + 1].getBytes(StandardCharsets.UTF_8));
+                out.closeEntry();
+            }
+        }
+        return new MockMultipartFile("file", "timecards.zip", "application/zip", bytes.toByteArray());
+    }
+}
@@ -73,7 +73,7 @@ class TimecardsServiceImplTest {
         tc.setDistJobDesc("ab12-34 some desc");
 
         Page<Timecard> page = new PageImpl<>(List.of(tc));
-        when(repo.findOverlapping(any(), any(), any(PageRequest.class))).thenReturn(page);
+        when(repo.findOverlapping(any(), any(), any(), any(PageRequest.class))).thenReturn(page);
 
         List<TimecardDTO> dtos = service.findInRange(LocalDate.now().minusDays(1), LocalDate.now(), 10);
 
@@ -92,7 +92,7 @@ class TimecardsServiceImplTest {
         tc.setOutPunchTime(LocalDateTime.of(2024, 2, 1, 16, 0));
 
         Page<Timecard> page = new PageImpl<>(List.of(tc), PageRequest.of(1, 5, Sort.by("inPunchTime")), 6);
-        when(repo.findOverlapping(any(), any(), any(PageRequest.class))).thenReturn(page);
+        when(repo.findOverlapping(any(), any(), any(), any(PageRequest.class))).thenReturn(page);
 
         var result = service.findInRangePaged(LocalDate.now().minusDays(1), LocalDate.now(),
                 PageRequest.of(1, 5, Sort.by("inPunchTime")));
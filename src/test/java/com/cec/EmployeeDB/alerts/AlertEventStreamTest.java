@@ -0,0 +1,118 @@
+package com.cec.EmployeeDB.alerts;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class AlertEventStreamTest {
+
+    private final CountDownLatch stalled = new CountDownLatch(1);
+    private final Deque<Recording> emitters = new ArrayDeque<>();
+    private final AlertEventStream stream = new AlertEventStream() {
+        @Override
+        SseEmitter newEmitter(long timeout) {
+            // the first subscriber never gets its first write through
+            Recording e = new Recording(emitters.isEmpty() ? stalled : null);
+            emitters.add(e);
+            return e;
+        }
+    };
+
+    @AfterEach
+    void tearDown() {
+        stalled.countDown();
+        stream.close();
+    }
+
+    @Test
+    void a_client_that_stops_reading_is_dropped_without_delaying_the_others() throws Exception {
+        ReflectionTestUtils.setField(stream, "queueSize", 2);
+        ReflectionTestUtils.setField(stream, "replaySize", 100);
+        stream.subscribe(null);
+        stream.subscribe(null);
+        Recording slow = emitters.getFirst();
+        Recording fast = emitters.getLast();
+        await(() -> stream.subscriberCount() == 2);
+
+        // ready + 4 changes: the stalled client's queue (2) overflows, the other keeps up
+        for (int i = 0; i < 4; i++) {
+            stream.onAlertsChanged(AlertsChangedEvent.resolved(List.of((long) i), 1));
+            int expected = i + 2;
+            await(() -> fast.sent.size() == expected);
+        }
+
+        await(() -> stream.subscriberCount() == 1);
+        await(() -> slow.completed);
+        assertThat(fast.completed).isFalse();
+    }
+
+    @Test
+    void reconnect_gets_a_reset_when_the_backlog_exceeds_its_queue() throws Exception {
+        ReflectionTestUtils.setField(stream, "queueSize", 2);
+        ReflectionTestUtils.setField(stream, "replaySize", 100);
+        long start = (long) ReflectionTestUtils.getField(stream, "seq");
+        stalled.countDown();
+        for (int i = 0; i < 3; i++) {
+            stream.onAlertsChanged(AlertsChangedEvent.acked(List.of((long) i), 1));
+        }
+
+        stream.subscribe(Long.toString(start));
+        stream.subscribe(Long.toString(start + 1));
+        Recording behind = emitters.getFirst();
+        Recording close = emitters.getLast();
+
+        await(() -> behind.sent.size() == 1 && close.sent.size() == 2);
+        assertThat(behind.sent.peek()).contains("event:reset");
+        assertThat(close.sent).allMatch(s -> s.contains("event:alert"));
+    }
+
+    private static void await(BooleanSupplier condition) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+
+    /** Records what was sent; optionally blocks every send until the latch opens. */
+    private static final class Recording extends SseEmitter {
+        private final CountDownLatch gate;
+        private final Queue<String> sent = new ConcurrentLinkedQueue<>();
+        private volatile boolean completed;
+
+        Recording(CountDownLatch gate) {
+            this.gate = gate;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            if (gate != null) {
+                try {
+                    gate.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new IllegalStateException("interrupted");
+                }
+            }
+            StringBuilder text = new StringBuilder();
+            builder.build().forEach(part -> text.append(part.getData()));
+            sent.add(text.toString());
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+    }
+}
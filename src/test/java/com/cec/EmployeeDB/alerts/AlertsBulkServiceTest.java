@@ -0,0 +1,90 @@
+package com.cec.EmployeeDB.alerts;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class AlertsBulkServiceTest {
+
+    @Mock
+    NamedParameterJdbcTemplate jdbc;
+    @Mock
+    TransactionTemplate tx;
+    @Mock
+    ApplicationEventPublisher events;
+
+    @InjectMocks
+    AlertsBulkService service;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        lenient().when(tx.execute(any())).thenAnswer(inv -> ((TransactionCallback<Integer>) inv.getArgument(0)).doInTransaction(null));
+    }
+
+    @Test
+    @SuppressWarnings("null")
+    void ids_are_deduplicated_and_updated_in_chunks() {
+        when(jdbc.update(anyString(), any(MapSqlParameterSource.class))).thenReturn(2, 1, 0);
+
+        Map<String, Object> out = service.ackIds(List.of(1L, 2L, 2L, 3L, 4L, 5L), "sup");
+
+        assertThat(out).containsEntry("requested", 5).containsEntry("acked", 3).containsEntry("chunks", 3);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbc, times(3)).update(sql.capture(), params.capture());
+        assertThat(sql.getValue()).contains("id IN (:ids)").contains("status='open'");
+        assertThat(params.getAllValues()).extracting(p -> p.getValue("ids"))
+                .containsExactly(List.of(1L, 2L), List.of(3L, 4L), List.of(5L));
+        verify(events, times(2)).publishEvent(any(AlertsChangedEvent.class));
+    }
+
+    @Test
+    @SuppressWarnings("null")
+    void filter_updates_repeat_until_a_short_chunk() {
+        when(jdbc.update(anyString(), any(MapSqlParameterSource.class))).thenReturn(2, 2, 1);
+
+        Map<String, Object> out = service.resolveMatching(new AlertsBulkService.Filter(
+                List.of("NO_HOURS_LAST_WEEK"), LocalDate.of(2024, 1, 1), null, null, "EE1"));
+
+        assertThat(out).containsEntry("resolved", 5).containsEntry("chunks", 3);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(jdbc, times(3)).update(sql.capture(), any(MapSqlParameterSource.class));
+        assertThat(sql.getValue()).contains("type IN (:types)").contains("emp_code = :empCode")
+                .endsWith("ORDER BY id LIMIT :limit");
+    }
+
+    @Test
+    @SuppressWarnings("null")
+    void an_empty_filter_is_rejected() {
+        assertThatThrownBy(() -> service.ackMatching(new AlertsBulkService.Filter(List.of(), null, null, null, " "), "x"))
+                .isInstanceOf(IllegalArgumentException.class);
+        verify(jdbc, never()).update(anyString(), any(MapSqlParameterSource.class));
+    }
+}
@@ -35,6 +35,12 @@ class AlertsControllerTest {
     private NoHoursAlertBatch noHoursAlertBatch;
     @org.mockito.Mock
     private MissedPunchAlertBatch missedPunchAlertBatch;
+    @org.mockito.Mock
+    private ImportAlertRefresher importAlertRefresher;
+    @org.mockito.Mock
+    private AlertEventStream alertEventStream;
+    @org.mockito.Mock
+    private AlertsBulkService alertsBulkService;
 
     @Test
     void ack_skips_in_smoke_mode() throws Exception {
@@ -128,9 +134,8 @@ class AlertsControllerTest {
 
     @Test
     void refresh_triggers_all_batches() throws Exception {
-        when(noHoursAlertBatch.upsertNoHoursThisWeek()).thenReturn(2);
-        when(noHoursAlertBatch.upsertNoHoursLastWeek()).thenReturn(1);
-        when(missedPunchAlertBatch.upsertMissedPunchForPrevBusinessDay()).thenReturn(5);
+        when(importAlertRefresher.refreshAll()).thenReturn(new java.util.LinkedHashMap<>(java.util.Map.of(
+                "noHoursThisWeek", 2, "noHoursLastWeek", 1, "missedPunchUpserts", 5)));
 
         mockMvc.perform(post("/api/v1/alerts/refresh"))
                 .andExpect(status().isOk())
@@ -139,9 +144,7 @@ class AlertsControllerTest {
                 .andExpect(jsonPath("$.missedPunchUpserts").value(5))
                 .andExpect(jsonPath("$.refreshedAt").exists());
 
-        verify(noHoursAlertBatch).upsertNoHoursThisWeek();
-        verify(noHoursAlertBatch).upsertNoHoursLastWeek();
-        verify(missedPunchAlertBatch).upsertMissedPunchForPrevBusinessDay();
+        verify(importAlertRefresher).refreshAll();
     }
 
     @Test
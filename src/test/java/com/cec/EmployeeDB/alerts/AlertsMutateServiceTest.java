@@ -6,13 +6,18 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
+import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class AlertsMutateServiceTest {
@@ -20,6 +25,9 @@ class AlertsMutateServiceTest {
     @Mock
     NamedParameterJdbcTemplate jdbc;
 
+    @Mock
+    ApplicationEventPublisher events;
+
     @InjectMocks
     AlertsMutateService service;
 
@@ -43,4 +51,16 @@ class AlertsMutateServiceTest {
         verify(jdbc).update(anyString(), params.capture());
         assertThat(params.getValue()).containsEntry("id", 7L);
     }
+
+    @SuppressWarnings({ "unchecked", "null" })
+    @Test
+    void changes_are_published_for_the_stream_only_when_a_row_changed() {
+        when(jdbc.update(anyString(), any(Map.class))).thenReturn(1, 0);
+
+        service.resolve(7);
+        service.resolve(8);
+
+        verify(events).publishEvent(AlertsChangedEvent.resolved(List.of(7L), 1));
+        verifyNoMoreInteractions(events);
+    }
 }
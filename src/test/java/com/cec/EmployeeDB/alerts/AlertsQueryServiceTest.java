@@ -1,18 +1,22 @@
 package com.cec.EmployeeDB.alerts;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
+import java.sql.ResultSet;
 import java.util.List;
 import java.util.Map;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -36,7 +40,7 @@ class AlertsQueryServiceTest {
                 "status", "OPEN",
                 "details", Map.of("emp_code", "EE1"));
 
-        when(jdbc.query(anyString(), any(Map.class), any(org.springframework.jdbc.core.RowMapper.class)))
+        when(jdbc.query(anyString(), any(Map.class), any(RowMapper.class)))
                 .thenReturn(List.of(row));
 
         var result = service.find("OPEN", 5);
@@ -54,4 +58,20 @@ class AlertsQueryServiceTest {
         int result = service.count("OPEN");
         assertThat(result).isZero();
     }
+
+    @Test
+    @SuppressWarnings({"unchecked", "null"})
+    void find_writes_details_json_through_unparsed() throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("details")).thenReturn("{\"emp_code\":\"EE1\",\"n\":1.50}");
+        when(rs.getString("type")).thenReturn("NO_HOURS");
+        when(rs.getString("severity")).thenReturn("WARN");
+        when(rs.getString("status")).thenReturn("open");
+        when(jdbc.query(anyString(), any(Map.class), any(RowMapper.class)))
+                .thenAnswer(inv -> List.of(((RowMapper<?>) inv.getArgument(2)).mapRow(rs, 0)));
+
+        String json = new ObjectMapper().writeValueAsString(service.find("open", 5).get(0));
+
+        assertThat(json).contains("\"details\":{\"emp_code\":\"EE1\",\"n\":1.50}");
+    }
 }
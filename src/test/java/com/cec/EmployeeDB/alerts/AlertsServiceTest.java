@@ -47,4 +47,21 @@ class AlertsServiceTest {
         assertThat(params.getValue().getValue("employeeId")).isEqualTo(123);
         assertThat(params.getValue().getValue("empCode")).isEqualTo("EE1");
     }
+
+    @Test
+    @SuppressWarnings({"unchecked", "null"})
+    void list_continues_after_cursor_with_indexed_filters() {
+        when(jdbc.query(anyString(), any(MapSqlParameterSource.class), any(RowMapper.class)))
+                .thenReturn(Collections.emptyList());
+
+        service.list(null, null, null, "EE1", null, null, AlertsService.Cursor.parse("2024-01-31_42"), 50);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<MapSqlParameterSource> params = ArgumentCaptor.forClass(MapSqlParameterSource.class);
+        verify(jdbc).query(sql.capture(), params.capture(), any(RowMapper.class));
+        assertThat(sql.getValue()).contains("emp_code = :empCode").doesNotContain("JSON_EXTRACT")
+                .contains("id < :afterId").endsWith("ORDER BY occurred_on DESC, id DESC LIMIT :limit");
+        assertThat(params.getValue().getValue("afterOn")).isEqualTo(LocalDate.of(2024, 1, 31));
+        assertThat(params.getValue().getValue("afterId")).isEqualTo(42L);
+    }
 }
@@ -0,0 +1,134 @@
+package com.cec.EmployeeDB.alerts;
+
+import com.cec.EmployeeDB.Service.TimecardsImportedEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.sql.ResultSet;
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class EmployeeActivityBitmapsTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 10, 12);
+
+    @Mock
+    private NamedParameterJdbcTemplate jdbc;
+
+    private EmployeeActivityBitmaps bitmaps;
+
+    @BeforeEach
+    void setUp() {
+        bitmaps = new EmployeeActivityBitmaps(jdbc);
+        ReflectionTestUtils.setField(bitmaps, "ttlMinutes", 10L);
+        rows("FROM `field`", new Object[][] {{1, "e1"}, {2, " E2 "}, {3, "E3"}, {4, "E4"}, {5, null}});
+        rows("FROM `inactive`", new Object[][] {{"e3"}});
+        rows("FROM `terminated`", new Object[][] {{"E4 "}});
+        lenient().doAnswer(inv -> {
+            RowCallbackHandler h = inv.getArgument(2);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString("ee_code")).thenReturn("E1");
+            h.processRow(rs);
+            return null;
+        }).when(jdbc).query(contains("BETWEEN :weekStart AND :weekEnd"), any(SqlParameterSource.class),
+                any(RowCallbackHandler.class));
+    }
+
+    @Test
+    void candidates_are_field_minus_inactive_terminated_and_active() {
+        assertThat(bitmaps.noHoursCandidates(MONDAY)).isEqualTo(bits(2, 5));
+    }
+
+    @Test
+    void imports_mark_their_employees_active_in_loaded_weeks() {
+        bitmaps.noHoursCandidates(MONDAY);
+        doAnswer(inv -> {
+            RowCallbackHandler h = inv.getArgument(2);
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getObject("week_start", LocalDate.class)).thenReturn(MONDAY);
+            when(rs.getString("ee_code")).thenReturn("E2");
+            h.processRow(rs);
+            return null;
+        }).when(jdbc).query(contains("import_batch_id"), any(SqlParameterSource.class), any(RowCallbackHandler.class));
+
+        bitmaps.onTimecardsImported(new TimecardsImportedEvent(7L, Set.of("E2"), MONDAY, MONDAY, false));
+
+        assertThat(bitmaps.noHoursCandidates(MONDAY)).isEqualTo(bits(5));
+    }
+
+    @Test
+    void week_loaded_while_an_import_lands_is_reloaded_instead_of_cached() {
+        TimecardsImportedEvent imported = new TimecardsImportedEvent(8L, Set.of("E2"), MONDAY, MONDAY, false);
+        AtomicInteger loads = new AtomicInteger();
+        doAnswer(inv -> {
+            RowCallbackHandler h = inv.getArgument(2);
+            if (loads.incrementAndGet() == 1) {
+                // the import commits after this load's query ran, so E2 is missing here
+                bitmaps.onTimecardsImported(imported);
+                feedCodes(h, "E1");
+            } else {
+                feedCodes(h, "E1", "E2");
+            }
+            return null;
+        }).when(jdbc).query(contains("BETWEEN :weekStart AND :weekEnd"), any(SqlParameterSource.class),
+                any(RowCallbackHandler.class));
+
+        assertThat(bitmaps.noHoursCandidates(MONDAY)).isEqualTo(bits(5));
+        assertThat(bitmaps.noHoursCandidates(MONDAY)).isEqualTo(bits(5));
+        assertThat(loads).hasValue(2);
+    }
+
+    private static void feedCodes(RowCallbackHandler h, String... codes) throws Exception {
+        for (String code : codes) {
+            ResultSet rs = mock(ResultSet.class);
+            when(rs.getString("ee_code")).thenReturn(code);
+            h.processRow(rs);
+        }
+    }
+
+    private void rows(String table, Object[][] data) {
+        doAnswer(inv -> {
+            feed(inv.getArgument(1), data);
+            return null;
+        }).when(jdbc).query(contains(table), any(RowCallbackHandler.class));
+    }
+
+    private static void feed(RowCallbackHandler h, Object[][] data) throws Exception {
+        for (Object[] row : data) {
+            ResultSet rs = mock(ResultSet.class);
+            if (row.length == 2) {
+                when(rs.getInt("emp_id")).thenReturn((Integer) row[0]);
+                when(rs.getString("employee_code")).thenReturn((String) row[1]);
+            } else {
+                when(rs.getString(1)).thenReturn((String) row[0]);
+            }
+            h.processRow(rs);
+        }
+    }
+
+    private static BitSet bits(int... ids) {
+        BitSet b = new BitSet();
+        for (int id : ids) {
+            b.set(id);
+        }
+        return b;
+    }
+}
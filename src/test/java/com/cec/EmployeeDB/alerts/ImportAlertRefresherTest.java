@@ -0,0 +1,89 @@
+package com.cec.EmployeeDB.alerts;
+
+import com.cec.EmployeeDB.Service.TimecardsImportedEvent;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ImportAlertRefresherTest {
+
+    @Mock
+    NamedParameterJdbcTemplate jdbc;
+    @Mock
+    NoHoursAlertBatch noHours;
+    @Mock
+    MissedPunchAlertBatch missedPunch;
+    @Mock
+    PlatformTransactionManager txManager;
+
+    @InjectMocks
+    ImportAlertRefresher refresher;
+
+    @Test
+    @SuppressWarnings("null")
+    void batches_resolve_no_hours_and_rescan_missed_punches_of_their_employees() {
+        LocalDate prevBizDay = MissedPunchAlertBatch.previousBusinessDayCT();
+        when(jdbc.queryForList(anyString(), any(MapSqlParameterSource.class), eq(String.class)))
+                .thenReturn(List.of("E1", "E2"));
+        when(noHours.resolvePunchedByBatches(List.of(7L))).thenReturn(3);
+        when(missedPunch.upsertMissedPunchFor(prevBizDay, List.of("E1", "E2"))).thenReturn(1);
+
+        Map<String, Object> out = refresher.refreshBatches(List.of(7L));
+
+        assertThat(out).containsEntry("noHoursResolved", 3).containsEntry("missedPunchUpserts", 1);
+        verify(noHours, never()).upsertNoHoursThisWeek();
+        verify(noHours, never()).upsertNoHoursLastWeek();
+    }
+
+    @Test
+    void replace_all_imports_get_the_full_refresh_in_their_own_transaction_off_the_import_thread() {
+        Thread importThread = Thread.currentThread();
+        Thread[] ranOn = new Thread[1];
+        when(noHours.upsertNoHoursThisWeek()).thenAnswer(inv -> {
+            ranOn[0] = Thread.currentThread();
+            return 0;
+        });
+
+        refresher.onTimecardsImported(new TimecardsImportedEvent(9L, Set.of(), null, null, true));
+
+        verify(missedPunch, timeout(2000)).upsertMissedPunchForPrevBusinessDay();
+        verify(noHours).upsertNoHoursLastWeek();
+        verify(txManager).getTransaction(argThat(d ->
+                d.getPropagationBehavior() == TransactionDefinition.PROPAGATION_REQUIRES_NEW));
+        assertThat(ranOn[0]).isNotNull().isNotSameAs(importThread);
+        verifyNoInteractions(jdbc);
+    }
+
+    @Test
+    void a_failed_refresh_is_logged_not_thrown() {
+        when(noHours.upsertNoHoursThisWeek()).thenThrow(new IllegalStateException("deadlock"));
+
+        refresher.refreshAfterImport(new TimecardsImportedEvent(9L, Set.of(), null, null, true));
+
+        verify(txManager).rollback(any());
+        verify(missedPunch, never()).upsertMissedPunchForPrevBusinessDay();
+    }
+}
@@ -1,16 +1,25 @@
 package com.cec.EmployeeDB.alerts;
 
+import com.cec.EmployeeDB.Service.TimecardPunchDeletedEvent;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
 import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
 
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
@@ -21,12 +30,16 @@ class OrphanPunchServiceTest {
     private NamedParameterJdbcTemplate jdbc;
     @Mock
     private AlertsService alertsService;
+    @Mock
+    private EmployeeActivityBitmaps activity;
+    @Mock
+    private ApplicationEventPublisher events;
 
     @SuppressWarnings("null")
     @Test
     void delete_invokes_resolve_when_row_deleted_and_alert_id_present() {
         when(jdbc.update(eq("DELETE FROM paycom_time_report WHERE id=:id"), any(MapSqlParameterSource.class))).thenReturn(1);
-        OrphanPunchService service = new OrphanPunchService(jdbc, alertsService);
+        OrphanPunchService service = new OrphanPunchService(jdbc, alertsService, activity, events);
 
         service.delete(9L, 15L);
 
@@ -38,7 +51,7 @@ class OrphanPunchServiceTest {
     @Test
     void delete_does_not_resolve_when_no_rows_deleted() {
         when(jdbc.update(eq("DELETE FROM paycom_time_report WHERE id=:id"), any(MapSqlParameterSource.class))).thenReturn(0);
-        OrphanPunchService service = new OrphanPunchService(jdbc, alertsService);
+        OrphanPunchService service = new OrphanPunchService(jdbc, alertsService, activity, events);
 
         service.delete(9L, 15L);
 
@@ -49,10 +62,37 @@ class OrphanPunchServiceTest {
     @Test
     void delete_does_not_resolve_when_alert_id_missing() {
         when(jdbc.update(eq("DELETE FROM paycom_time_report WHERE id=:id"), any(MapSqlParameterSource.class))).thenReturn(1);
-        OrphanPunchService service = new OrphanPunchService(jdbc, alertsService);
+        OrphanPunchService service = new OrphanPunchService(jdbc, alertsService, activity, events);
 
         service.delete(9L, null);
 
         verify(alertsService, never()).resolve(anyLong());
     }
+
+    @SuppressWarnings({"null", "unchecked"})
+    @Test
+    void delete_publishes_the_deleted_punch_employee_and_day() {
+        var punch = new TimecardPunchDeletedEvent(9L, "E1", LocalDate.of(2026, 10, 14));
+        when(jdbc.query(eq("SELECT ee_code, work_date FROM paycom_time_report WHERE id=:id"),
+                any(MapSqlParameterSource.class), any(RowMapper.class))).thenReturn(List.of(punch));
+        when(jdbc.update(eq("DELETE FROM paycom_time_report WHERE id=:id"), any(MapSqlParameterSource.class))).thenReturn(1);
+        OrphanPunchService service = new OrphanPunchService(jdbc, alertsService, activity, events);
+
+        service.delete(9L, null);
+
+        ArgumentCaptor<Object> published = ArgumentCaptor.forClass(Object.class);
+        verify(events).publishEvent(published.capture());
+        assertThat(published.getValue()).isEqualTo(punch);
+    }
+
+    @SuppressWarnings("null")
+    @Test
+    void delete_publishes_nothing_when_no_rows_deleted() {
+        when(jdbc.update(eq("DELETE FROM paycom_time_report WHERE id=:id"), any(MapSqlParameterSource.class))).thenReturn(0);
+        OrphanPunchService service = new OrphanPunchService(jdbc, alertsService, activity, events);
+
+        service.delete(9L, null);
+
+        verifyNoInteractions(events);
+    }
 }
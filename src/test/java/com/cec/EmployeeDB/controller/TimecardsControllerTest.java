@@ -1,6 +1,8 @@
 package com.cec.EmployeeDB.controller;
 
 import com.cec.EmployeeDB.Dto.CurrentAssignmentDTO;
+import com.cec.EmployeeDB.Dto.EmpCodeBatchRequest;
+import com.cec.EmployeeDB.Service.JobProjectResolver;
 import com.cec.EmployeeDB.Service.TimecardCacheService;
 import com.cec.EmployeeDB.Service.TimecardImportService;
 import com.cec.EmployeeDB.Service.TimecardPredictionService;
@@ -15,16 +17,22 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.http.MediaType;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowMapper;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.sql.ResultSet;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -49,6 +57,8 @@ class TimecardsControllerTest {
     private TimecardsService timecardsService;
     @Mock
     private JdbcTemplate jdbcTemplate;
+    @Mock
+    private JobProjectResolver jobProjects;
 
     @InjectMocks
     private TimecardsController timecardsController;
@@ -148,6 +158,32 @@ class TimecardsControllerTest {
         assertThat(daysCaptor.getValue()).isEqualTo(60);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    void current_assignments_by_emp_fallback_resolves_projects_like_the_service() throws Exception {
+        when(timecardsService.currentAssignmentsFor(anyList(), anyInt())).thenThrow(new IllegalStateException("down"));
+        when(jobProjects.projectForJob("J1")).thenReturn("Project A");
+        when(jdbcTemplate.query(anyString(), any(PreparedStatementSetter.class), any(RowMapper.class)))
+                .thenAnswer(inv -> {
+                    RowMapper<Map<String, Object>> mapper = inv.getArgument(2);
+                    return List.of(mapper.mapRow(row("AA", "J1"), 0), mapper.mapRow(row("BB", "J9"), 1));
+                });
+
+        var body = timecardsController.currentAssignmentsByEmp(new EmpCodeBatchRequest(List.of("aa", "bb")), 45)
+                .getBody();
+
+        List<Map<String, Object>> items = (List<Map<String, Object>>) body.get("items");
+        assertThat(items).extracting(r -> r.get("employeeCode") + "=" + r.get("project"))
+                .containsExactlyInAnyOrder("AA=Project A", "BB=J9");
+    }
+
+    private static ResultSet row(String emp, String job) throws Exception {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getString("employee_code")).thenReturn(emp);
+        when(rs.getString("job_number")).thenReturn(job);
+        return rs;
+    }
+
     @Test
     void week_detail_requires_params() throws Exception {
         mockMvc.perform(get("/api/v1/timecards/week-detail"))
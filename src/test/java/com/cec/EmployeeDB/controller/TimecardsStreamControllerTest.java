@@ -0,0 +1,44 @@
+package com.cec.EmployeeDB.controller;
+
+import com.cec.EmployeeDB.Service.ReactiveTimecardReader;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.LocalDate;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class TimecardsStreamControllerTest {
+
+    private final ReactiveTimecardReader reader = mock(ReactiveTimecardReader.class);
+    private final TimecardsStreamController controller = new TimecardsStreamController(reader);
+
+    @Test
+    void range_defaults_to_the_last_twelve_months_and_clamps_the_limit() {
+        when(reader.range(any(), any(), anyInt())).thenReturn(Flux.empty());
+        LocalDate today = LocalDate.now();
+
+        controller.range(null, "", 6000);
+        controller.range("2026-01-01", "2026-01-31", 500_000);
+        controller.range("2026-01-01", "2026-01-31", 0);
+
+        verify(reader).range(today.minusMonths(12), today, 6000);
+        verify(reader).range(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), 200_000);
+        verify(reader).range(LocalDate.of(2026, 1, 1), LocalDate.of(2026, 1, 31), 1);
+    }
+
+    @Test
+    void spans_pass_the_employee_through_and_keep_the_limit_between_100_and_200k() {
+        when(reader.spans(any(), any(), any(), anyInt())).thenReturn(Flux.empty());
+
+        controller.spans("2026-10-01", "2026-10-31", "E1", 5);
+        controller.spans("2026-10-01", "2026-10-31", null, 1_000_000);
+
+        verify(reader).spans(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 31), "E1", 100);
+        verify(reader).spans(LocalDate.of(2026, 10, 1), LocalDate.of(2026, 10, 31), null, 200_000);
+    }
+}
@@ -0,0 +1,55 @@
+package com.cec.EmployeeDB.controller;
+
+import com.cec.EmployeeDB.Dto.EmpCodeBatchRequest;
+import com.cec.EmployeeDB.Service.TimecardQueryService;
+import com.cec.EmployeeDB.Service.TimecardRowQueryService;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+class TimecardsV2ControllerTest {
+
+    private final TimecardRowQueryService rowQueryService = mock(TimecardRowQueryService.class);
+    private final TimecardQueryService timecardQueryService = mock(TimecardQueryService.class);
+    private final TimecardsV2Controller controller = new TimecardsV2Controller(rowQueryService, timecardQueryService);
+
+    @Test
+    void punches_default_to_the_last_30_days_and_clamp_the_limit() {
+        LocalDate today = LocalDate.now();
+
+        controller.punches("EE1", null, null, 10_000);
+        controller.punches("EE1", "2024-01-01", "2024-01-31", -5);
+
+        verify(rowQueryService).punches("EE1", today.minusDays(30), today, 5000);
+        verify(rowQueryService).punches("EE1", LocalDate.of(2024, 1, 1), LocalDate.of(2024, 1, 31), 1);
+    }
+
+    @Test
+    void blank_employee_or_week_is_a_bad_request() {
+        assertThat(controller.punches(" ", null, null, 10).getStatusCode().value()).isEqualTo(400);
+        assertThat(controller.weekDetail("EE1", "", null).getStatusCode().value()).isEqualTo(400);
+        verifyNoInteractions(rowQueryService);
+    }
+
+    @Test
+    void week_detail_trims_the_project_and_treats_blank_as_all() {
+        controller.weekDetail("EE1", "2024-01-07", " J1 ");
+        controller.weekDetail("EE1", "2024-01-14", "  ");
+
+        verify(rowQueryService).weekDetail("EE1", LocalDate.of(2024, 1, 7), "J1");
+        verify(rowQueryService).weekDetail("EE1", LocalDate.of(2024, 1, 14), null);
+    }
+
+    @Test
+    void latest_by_emp_treats_missing_codes_as_empty() {
+        controller.latestByEmp(new EmpCodeBatchRequest(null), 90);
+
+        verify(timecardQueryService).latestByEmpCodes(List.of(), 90);
+    }
+}
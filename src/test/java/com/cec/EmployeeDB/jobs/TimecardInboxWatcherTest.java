@@ -0,0 +1,131 @@
+package com.cec.EmployeeDB.jobs;
+
+import com.cec.EmployeeDB.Dto.ImportResultDTO;
+import com.cec.EmployeeDB.Service.TimecardCacheService;
+import com.cec.EmployeeDB.Service.TimecardImportService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.core.io.InputStreamSource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class TimecardInboxWatcherTest {
+
+    @TempDir
+    Path inbox;
+
+    private final TimecardImportService importService = mock(TimecardImportService.class);
+    private final TimecardCacheService cacheService = mock(TimecardCacheService.class);
+    private final JdbcTemplate jdbc = mock(JdbcTemplate.class);
+    private final TransactionTemplate tx = mock(TransactionTemplate.class);
+    private final TimecardInboxWatcher watcher = new TimecardInboxWatcher(importService, cacheService, jdbc, tx);
+    private boolean inTx;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        Files.createDirectories(inbox.resolve("done"));
+        Files.createDirectories(inbox.resolve("failed"));
+        when(tx.execute(any())).thenAnswer(inv -> {
+            inTx = true;
+            try {
+                return ((TransactionCallback<?>) inv.getArgument(0)).doInTransaction(null);
+            } finally {
+                inTx = false;
+            }
+        });
+    }
+
+    @Test
+    void imported_file_is_recorded_in_the_import_transaction_and_moved_to_done() throws Exception {
+        Path file = drop("week.csv", "ee_code\nE1\n");
+        when(importService.importSource(eq("week.csv"), any(InputStreamSource.class), eq(false)))
+                .thenReturn(ImportResultDTO.builder().batchId(4L).total(1).inserted(1).duplicates(0).build());
+        boolean[] recordedInTx = {false};
+        when(jdbc.update(contains("INSERT INTO timecard_import_file"), any(Object[].class))).thenAnswer(inv -> {
+            recordedInTx[0] = inTx;
+            return 1;
+        });
+
+        watcher.process(inbox, file);
+
+        assertThat(recordedInTx[0]).isTrue();
+        verify(jdbc).update(contains("INSERT INTO timecard_import_file"),
+                eq(TimecardInboxWatcher.sha256(inbox.resolve("done/week.csv"))), eq("week.csv"), eq(11L),
+                eq(4L), eq(1), eq(1), eq(0));
+        verify(cacheService).refreshForBatches(List.of(4L));
+        assertThat(file).doesNotExist();
+        assertThat(inbox.resolve("done/week.csv")).exists();
+        assertThat(inbox.resolve("done/week.csv.result.json")).content().contains("\"batchId\" : 4");
+    }
+
+    @Test
+    void file_with_a_known_checksum_is_skipped() throws Exception {
+        Path file = drop("again.csv", "ee_code\nE1\n");
+        when(jdbc.queryForObject(contains("FROM timecard_import_file"), eq(Integer.class), anyString())).thenReturn(1);
+
+        watcher.process(inbox, file);
+
+        verifyNoInteractions(importService, cacheService, tx);
+        assertThat(inbox.resolve("done/again.csv")).exists();
+        assertThat(inbox.resolve("done/again.csv.result.json")).content().contains("duplicate file");
+    }
+
+    @Test
+    void failed_import_moves_to_failed_without_a_checksum_row() throws Exception {
+        Path file = drop("broken.xlsx", "not a workbook");
+        when(importService.importSource(anyString(), any(InputStreamSource.class), anyBoolean()))
+                .thenThrow(new IOException("no sheet"));
+
+        watcher.process(inbox, file);
+
+        verify(jdbc, never()).update(contains("INSERT INTO timecard_import_file"), any(Object[].class));
+        verifyNoInteractions(cacheService);
+        assertThat(inbox.resolve("failed/broken.xlsx")).exists();
+        assertThat(inbox.resolve("failed/broken.xlsx.result.json")).content().contains("no sheet");
+    }
+
+    @Test
+    void started_watcher_sweeps_files_dropped_while_down_until_stopped() throws Exception {
+        drop("waiting.csv", "ee_code\nE1\n");
+        when(importService.importSource(eq("waiting.csv"), any(InputStreamSource.class), eq(false)))
+                .thenReturn(ImportResultDTO.builder().batchId(5L).total(1).inserted(1).duplicates(0).build());
+        ReflectionTestUtils.setField(watcher, "inboxDir", inbox.toString());
+        ReflectionTestUtils.setField(watcher, "settleMs", 0L);
+
+        watcher.start();
+        try {
+            assertThat(watcher.isRunning()).isTrue();
+            verify(cacheService, timeout(2000)).refreshForBatches(List.of(5L));
+        } finally {
+            watcher.stop();
+        }
+
+        assertThat(watcher.isRunning()).isFalse();
+        assertThat(inbox.resolve("done/waiting.csv")).exists();
+    }
+
+    private Path drop(String name, String body) throws Exception {
+        return Files.writeString(inbox.resolve(name), body);
+    }
+}